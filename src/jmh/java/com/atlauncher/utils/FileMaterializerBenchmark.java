@@ -0,0 +1,101 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares putting a real asset tree in place with each strategy on its own, and with the combinations the launcher
+ * uses. Run with ./gradlew jmh -PbenchmarkAssets=/path/to/assets/objects
+ *
+ * The target is made next to the assets, so it's on the same filesystem like it would be in the launcher folder.
+ * Strategies the filesystem doesn't support fail rather than being timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileMaterializerBenchmark {
+    @Param({ "HARD_LINK", "REFLINK", "COPY", "SHARED", "PRIVATE" })
+    public String materializer;
+
+    private FileMaterializer fileMaterializer;
+    private Path assets;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        String assetsProperty = System.getProperty("benchmark.assets", "");
+        if (assetsProperty.isEmpty()) {
+            throw new IllegalStateException("Set the assets to use with -PbenchmarkAssets=/path/to/assets/objects");
+        }
+
+        assets = Paths.get(assetsProperty);
+
+        if (materializer.equals("SHARED")) {
+            fileMaterializer = FileMaterializer.SHARED;
+        } else if (materializer.equals("PRIVATE")) {
+            fileMaterializer = FileMaterializer.PRIVATE;
+        } else {
+            fileMaterializer = new FileMaterializer(FileMaterializer.Strategy.valueOf(materializer));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws IOException {
+        target = Files.createTempDirectory(assets.getParent(), "materialized");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        try (Stream<Path> stream = Files.walk(target)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean materializeAssets() {
+        if (!fileMaterializer.materializeDirectory(assets, target)) {
+            throw new IllegalStateException(materializer + " isn't supported here");
+        }
+
+        return true;
+    }
+}
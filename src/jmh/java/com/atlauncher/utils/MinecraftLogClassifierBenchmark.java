@@ -0,0 +1,120 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.atlauncher.evnt.LogEvent.LogType;
+
+/**
+ * Compares the classifier against the chained checks it replaced on a captured log, such as the latest.log of a
+ * large modpack's startup. Run with ./gradlew jmh -PbenchmarkLog=/path/to/latest.log
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MinecraftLogClassifierBenchmark {
+    private static final String[] MARKERS = { "[INFO] [STDERR]", "[INFO]", "[WARNING]", "WARNING:", "INFO:",
+            "Exception", "[SEVERE]", "[Sound Library Loader/ERROR]", "[Sound Library Loader/WARN]",
+            "[Sound Library Loader/INFO]", "[MCO Availability Checker #1/ERROR]", "[MCO Availability Checker #1/WARN]",
+            "[MCO Availability Checker #1/INFO]", "[Client thread/ERROR]", "[Client thread/WARN]",
+            "[Client thread/INFO]", "[Server thread/ERROR]", "[Server thread/WARN]", "[Server thread/INFO]",
+            "[main/ERROR]", "[main/WARN]", "[main/INFO]" };
+    private static final LogType[] TYPES = { LogType.WARN, LogType.INFO, LogType.WARN, LogType.WARN, LogType.INFO,
+            LogType.ERROR, LogType.ERROR, LogType.ERROR, LogType.WARN, LogType.INFO, LogType.ERROR, LogType.WARN,
+            LogType.INFO, LogType.ERROR, LogType.WARN, LogType.INFO, LogType.ERROR, LogType.WARN, LogType.INFO,
+            LogType.ERROR, LogType.WARN, LogType.INFO };
+
+    private List<String> lines;
+
+    @Setup
+    public void setUp() throws IOException {
+        String logProperty = System.getProperty("benchmark.log", "");
+        if (logProperty.isEmpty()) {
+            throw new IllegalStateException("Set the log to use with -PbenchmarkLog=/path/to/latest.log");
+        }
+
+        lines = Files.readAllLines(Paths.get(logProperty), StandardCharsets.UTF_8);
+
+        for (String line : lines) {
+            if (!chainedChecks(line)[1].equals(MinecraftLogClassifier.classify(line).message)) {
+                throw new IllegalStateException("The classifier doesn't match the chained checks for " + line);
+            }
+        }
+    }
+
+    @Benchmark
+    public void classifier(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(MinecraftLogClassifier.classify(line));
+        }
+    }
+
+    @Benchmark
+    public void chained(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(chainedChecks(line));
+        }
+    }
+
+    // how lines were classified before, with a contains and indexOf for each marker in turn
+    private static Object[] chainedChecks(String text) {
+        for (int i = 0; i < MARKERS.length; i++) {
+            if (text.contains(MARKERS[i])) {
+                if (MARKERS[i].equals("Exception")) {
+                    return new Object[] { TYPES[i], text };
+                }
+
+                String message = text.substring(text.indexOf(MARKERS[i]));
+                LogType type = TYPES[i];
+
+                if (MARKERS[i].equals("[INFO]")) {
+                    if (message.contains("CONFLICT")) {
+                        type = LogType.ERROR;
+                    } else if (message.contains("overwriting existing item")) {
+                        type = LogType.WARN;
+                    }
+                }
+
+                return new Object[] { type, message };
+            }
+        }
+
+        return new Object[] { LogType.INFO, text };
+    }
+}
@@ -76,6 +76,7 @@ import com.atlauncher.themes.ATLauncherLaf;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
+import com.atlauncher.utils.javafinder.JavaInstallations;
 import com.formdev.flatlaf.extras.FlatInspector;
 import com.formdev.flatlaf.extras.FlatUIDefaultsInspector;
 
@@ -185,6 +186,14 @@ public class App {
      */
     public static boolean closeLauncher = false;
 
+    /**
+     * This will make the launcher fully rehash every downloaded file it checks,
+     * ignoring the verified file index. Useful for repairing broken installs.
+     * <p/>
+     * --deep-verify
+     */
+    public static boolean deepVerify = false;
+
     /**
      * Config overrides.
      */
@@ -337,6 +346,9 @@ public class App {
         SwingUtilities.invokeLater(() -> {
             new LauncherFrame(openLauncher);
             ss.close();
+
+            // queued after the launcher has been shown, so it doesn't hold it up
+            SwingUtilities.invokeLater(launcher::loadDeferred);
         });
     }
 
@@ -386,7 +398,7 @@ public class App {
                             .hash(ConfigManager.getConfigItem(bundledJreConfigNamespace + ".hash", ""))
                             .size(ConfigManager.getConfigItem(bundledJreConfigNamespace + ".size", 0))
                             .downloadTo(FileSystem.TEMP.resolve("updatedbundledjre.zip"))
-                            .unzipTo(newJreBundlePath).deleteAfterExtract();
+                            .unzipTo(newJreBundlePath).deleteAfterExtract().chunked();
 
                     progressDialog.setTotalBytes(ConfigManager.getConfigItem(bundledJreConfigNamespace + ".size", 0));
 
@@ -430,8 +442,8 @@ public class App {
         LogManager.info(String.format("JVM Arguments: %s",
                 Gsons.DEFAULT_SLIM.toJson(ManagementFactory.getRuntimeMXBean().getInputArguments())));
 
-        SwingUtilities.invokeLater(
-                () -> Java.getInstalledJavas().forEach(version -> LogManager.debug(Gsons.DEFAULT.toJson(version))));
+        JavaInstallations.refreshInBackground(
+                javas -> javas.forEach(version -> LogManager.debug(Gsons.DEFAULT.toJson(version))));
 
         LogManager.info("Java Version: "
                 + String.format("Java %d (%s)", Java.getLauncherJavaVersionNumber(), Java.getLauncherJavaVersion()));
@@ -892,6 +904,9 @@ public class App {
         parser.accepts("no-console", "If the console shouldn't be shown.").withOptionalArg().ofType(Boolean.class);
         parser.accepts("close-launcher", "If the launcher should be closed after launching an instance.")
                 .withOptionalArg().ofType(Boolean.class);
+        parser.accepts("deep-verify",
+                "If all downloaded files should be rehashed rather than trusting the verified file index.")
+                .withOptionalArg().ofType(Boolean.class);
         parser.accepts("debug", "If debug logging should be enabled.").withOptionalArg().ofType(Boolean.class);
         parser.accepts("debug-level", "The level of debug logging that should be logged.").withRequiredArg()
                 .ofType(Integer.class);
@@ -994,6 +1009,11 @@ public class App {
             LogManager.debug("Closing launcher once Minecraft is launched!");
         }
 
+        deepVerify = options.has("deep-verify");
+        if (deepVerify) {
+            LogManager.debug("Deep verifying all downloaded files!");
+        }
+
         if (options.has("proxy-type") && options.has("proxy-host") && options.has("proxy-port")) {
             String proxyType = String.valueOf(options.valueOf("proxy-type"));
             String proxyHost = String.valueOf(options.valueOf("proxy-host"));
@@ -26,7 +26,7 @@ import com.atlauncher.data.AbstractAccount;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.News;
 import com.atlauncher.data.minecraft.JavaRuntimes;
-import com.atlauncher.data.minecraft.VersionManifestVersion;
+import com.atlauncher.data.minecraft.MinecraftVersionIndex;
 
 public final class Data {
     public static final List<AbstractAccount> ACCOUNTS = new LinkedList<>();
@@ -39,6 +39,6 @@ public final class Data {
 
     public static final List<Instance> INSTANCES = new LinkedList<>();
 
-    public static final Map<String, VersionManifestVersion> MINECRAFT = new HashMap<>();
+    public static volatile MinecraftVersionIndex MINECRAFT = MinecraftVersionIndex.EMPTY;
     public static JavaRuntimes JAVA_RUNTIMES = null;
 }
@@ -39,6 +39,15 @@ public final class FileSystem {
     public static final Path CACHE = BASE_DIR.resolve("cache");
     public static final Path APOLLO_CACHE = CACHE.resolve("apolloCache");
     public static final Path REMOTE_IMAGE_CACHE = CACHE.resolve("remote_image");
+    public static final Path VERIFIED_FILES_INDEX = CACHE.resolve("verified_files.json");
+    public static final Path NATIVES_CACHE = CACHE.resolve("natives");
+    public static final Path INSTANCE_SUMMARIES = CACHE.resolve("instance_summaries.json");
+    public static final Path JAVA_INSTALLATIONS = CACHE.resolve("java_installations.json");
+    public static final Path MODCHECK_MOD_LIST = CACHE.resolve("modcheck_mod_list.json");
+    public static final Path MOD_METADATA = CACHE.resolve("mod_metadata.json");
+    public static final Path MODRINTH_CACHE = CACHE.resolve("modrinth_cache.json");
+    public static final Path MOD_STORE = BASE_DIR.resolve("modstore");
+    public static final Path MOD_STORE_INDEX = MOD_STORE.resolve("index.json");
     public static final Path LOADERS = BASE_DIR.resolve("loaders");
     public static final Path RUNTIMES = BASE_DIR.resolve("runtimes");
     public static final Path MINECRAFT_RUNTIMES = RUNTIMES.resolve("minecraft");
@@ -234,7 +243,9 @@ public final class FileSystem {
         FileUtils.createDirectory(BACKUPS);
         FileUtils.createDirectory(CACHE);
         FileUtils.createDirectory(REMOTE_IMAGE_CACHE);
+        FileUtils.createDirectory(NATIVES_CACHE);
         FileUtils.createDirectory(INSTANCES);
+        FileUtils.createDirectory(MOD_STORE);
         FileUtils.createDirectory(LIBRARIES);
         FileUtils.createDirectory(LOADERS);
         FileUtils.createDirectory(LOGS);
@@ -53,7 +53,10 @@ import com.atlauncher.managers.NewsManager;
 import com.atlauncher.managers.PerformanceManager;
 import com.atlauncher.network.Download;
 import com.atlauncher.network.DownloadPool;
+import com.atlauncher.thread.TaskGraph;
 import com.atlauncher.utils.Java;
+import com.atlauncher.utils.ModMetadataCache;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.OS;
 import com.google.gson.reflect.TypeToken;
 
@@ -77,32 +80,34 @@ public class Launcher {
 
     public void loadEverything() {
         PerformanceManager.start();
-        if (hasUpdatedFiles()) {
-            downloadUpdatedFiles(); // Downloads updated files on the server
-        }
-
-        checkForLauncherUpdate();
-
-        ConfigManager.loadConfig(); // Load the config
-
-        NewsManager.loadNews(); // Load the news
-
-        MinecraftManager.loadMinecraftVersions(); // Load info about the different Minecraft versions
-        MinecraftManager.loadJavaRuntimes(); // Load info about the different java runtimes
-        LWJGLManager.loadLWJGLVersions();
 
-        AccountManager.loadAccounts(); // Load the saved Accounts
+        // everything loaded from the launchers json files waits for any updated files to be downloaded first
+        new TaskGraph("Startup")
+                .add("updatedFiles", () -> {
+                    if (hasUpdatedFiles()) {
+                        downloadUpdatedFiles(); // Downloads updated files on the server
+                    }
+                })
+                .add("launcherUpdate", this::checkForLauncherUpdate)
+                .add("config", ConfigManager::loadConfig, "updatedFiles") // Load the config
+                .add("news", NewsManager::loadNews, "updatedFiles") // Load the news
+                // Load info about the different Minecraft versions
+                .add("minecraftVersions", MinecraftManager::loadMinecraftVersions, "updatedFiles")
+                // Load info about the different java runtimes
+                .add("javaRuntimes", MinecraftManager::loadJavaRuntimes, "updatedFiles")
+                .add("lwjglVersions", LWJGLManager::loadLWJGLVersions, "updatedFiles")
+                .add("accounts", AccountManager::loadAccounts) // Load the saved Accounts
+                // Start loading the users installed Instances
+                .add("instances", InstanceManager::loadInstancesInBackground, "accounts", "config",
+                        "minecraftVersions", "lwjglVersions")
+                .run();
 
         //PackManager.loadPacks(); // Load the Packs available in the Launcher
 
         //PackManager.loadUsers(); // Load the Testers and Allowed Players for the packs
 
-        InstanceManager.loadInstances(); // Load the users installed Instances
-
         //ServerManager.loadServers(); // Load the users installed servers
 
-        ModCheckManager.loadModList();
-
         if (OS.isWindows() && !Java.is64Bit() && OS.is64Bit()) {
             LogManager.warn("You're using 32 bit Java on a 64 bit Windows install!");
 
@@ -121,6 +126,17 @@ public class Launcher {
         PerformanceManager.end();
     }
 
+    /**
+     * Loads anything that needs to be fetched and isn't needed to show the launcher. This should be called once the
+     * launcher is showing, and anything needing what's loaded here will wait for it.
+     */
+    public void loadDeferred() {
+        ModCheckManager.loadModListInBackground();
+        ModStore.collectGarbageInBackground();
+        ModMetadataCache.pruneInBackground();
+        Download.deleteStalePartialDownloadsInBackground();
+    }
+
     public boolean launcherHasUpdate() {
         try {
             this.latestLauncherVersion = Download.build()
@@ -154,7 +170,8 @@ public class Launcher {
             progressDialog.addThread(new Thread(() -> {
                 com.atlauncher.network.Download download = com.atlauncher.network.Download.build()
                         .setUrl(getLatestLauncherURL().replace(".exe", "." + toget))
-                        .withHttpClient(Network.createProgressClient(progressDialog)).downloadTo(newFile.toPath());
+                        .withHttpClient(Network.createProgressClient(progressDialog)).downloadTo(newFile.toPath())
+                        .chunked();
 
                 progressDialog.setTotalBytes(download.getFilesize());
 
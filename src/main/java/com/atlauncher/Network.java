@@ -38,6 +38,8 @@ import com.atlauncher.constants.Constants;
 import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.listener.ProgressListener;
 import com.atlauncher.network.DebugLoggingInterceptor;
+import com.atlauncher.network.RateLimitInterceptor;
+import com.atlauncher.network.TokenBucket;
 import com.atlauncher.network.UserAgentInterceptor;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
@@ -55,8 +57,13 @@ public final class Network {
     private static List<Protocol> protocols = App.settings.dontUseHttp2 ? Collections.singletonList(Protocol.HTTP_1_1)
             : Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
 
+    // Modrinth allows 300 requests a minute, so allow bursts of 60 and then 4 a second after that
+    private static final TokenBucket MODRINTH_RATE_LIMIT = new TokenBucket(60, 4, 1, TimeUnit.SECONDS);
+
     public static OkHttpClient CLIENT = new OkHttpClient.Builder().protocols(protocols)
-            .addNetworkInterceptor(new UserAgentInterceptor()).addInterceptor(new DebugLoggingInterceptor())
+            .addNetworkInterceptor(new UserAgentInterceptor())
+            .addNetworkInterceptor(new RateLimitInterceptor(Constants.MODRINTH_HOST, MODRINTH_RATE_LIMIT))
+            .addInterceptor(new DebugLoggingInterceptor())
             .connectTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
             .readTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
             .writeTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS).build();
@@ -27,12 +27,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
-import org.joda.time.format.ISODateTimeFormat;
 import org.mini2Dx.gettext.GetText;
 
 import com.atlauncher.App;
-import com.atlauncher.data.minecraft.FabricMod;
-import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.data.modcheck.ModCheckManager;
 import com.atlauncher.data.modcheck.ModCheckProject;
 import com.atlauncher.data.modrinth.ModrinthProject;
@@ -40,6 +37,7 @@ import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.gui.dialogs.ModrinthVersionSelectorDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.ModMetadataCache;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.Pair;
 import com.atlauncher.utils.Utils;
@@ -302,15 +300,13 @@ public class DisableableMod implements Serializable {
                 }
 
                 Stream<ModrinthVersion> versionsStream = versions.stream()
-                        .sorted(Comparator.comparing((ModrinthVersion version) -> version.datePublished).reversed());
+                        .sorted(Comparator.comparingLong(ModrinthVersion::getDatePublishedMillis).reversed());
 
                 if (App.settings.addModRestriction == AddModRestriction.STRICT) {
                     versionsStream = versionsStream.filter(v -> v.gameVersions.contains(instance.id));
                 }
 
-                if (versionsStream.noneMatch(v -> ISODateTimeFormat.dateTimeParser().parseDateTime(v.datePublished)
-                        .minusSeconds(1)
-                        .isAfter(ISODateTimeFormat.dateTimeParser().parseDateTime(modrinthVersion.datePublished)))) {
+                if (versionsStream.noneMatch(this::isNewerModrinthVersion)) {
                     dialog.setReturnValue(null);
                     dialog.close();
                     return;
@@ -337,7 +333,7 @@ public class DisableableMod implements Serializable {
 
             ProgressDialog<?> dialog = new ProgressDialog<>(GetText.tr("Installing " + newProject.getName()));
             dialog.addThread(new Thread(() -> {
-                instance.addFileFromModCheck(newProject, false);
+                instance.addFileFromModCheck(newProject, false, dialog);
                 dialog.close();
             }));
             dialog.start();
@@ -346,6 +342,13 @@ public class DisableableMod implements Serializable {
         return true;
     }
 
+    /**
+     * Checks if the given version was published after the version of this mod that's installed.
+     */
+    public boolean isNewerModrinthVersion(ModrinthVersion version) {
+        return version.getDatePublishedMillis() - 1000 > modrinthVersion.getDatePublishedMillis();
+    }
+
     public boolean reinstall(Window parent, Instance instance) {
         return reinstall(parent, instance, null);
     }
@@ -378,23 +381,47 @@ public class DisableableMod implements Serializable {
         mod.file = file.getName();
         mod.type = type;
         mod.optional = true;
-        mod.name = file.getName();
-        mod.version = "Unknown";
-        mod.description = null;
-
-        MCMod mcMod = Utils.getMCModForFile(file);
-        if (mcMod != null) {
-            mod.name = Optional.ofNullable(mcMod.name).orElse(file.getName());
-            mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
-            mod.description = Optional.ofNullable(mcMod.description).orElse(null);
-        } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(file);
-            if (fabricMod != null) {
-                mod.name = Optional.ofNullable(fabricMod.name).orElse(file.getName());
-                mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
-                mod.description = Optional.ofNullable(fabricMod.description).orElse(null);
+        mod.readMetadataFromFile(file);
+        return mod;
+    }
+
+    /**
+     * Sets the name, version and description of this mod from the mcmod.info or fabric.mod.json in the given file,
+     * falling back to the file's name when it has neither. If the file is already known to be from Modrinth or
+     * ModCheck, that's set too.
+     */
+    public void readMetadataFromFile(File file) {
+        this.name = file.getName();
+        this.version = "Unknown";
+        this.description = null;
+
+        ModMetadata metadata = ModMetadataCache.get(file.toPath());
+        if (metadata == null) {
+            return;
+        }
+
+        if (metadata.mcMod != null) {
+            this.name = Optional.ofNullable(metadata.mcMod.name).orElse(file.getName());
+            this.version = Optional.ofNullable(metadata.mcMod.version).orElse("Unknown");
+            this.description = Optional.ofNullable(metadata.mcMod.description).orElse(null);
+        } else if (metadata.fabricMod != null) {
+            this.name = Optional.ofNullable(metadata.fabricMod.name).orElse(file.getName());
+            this.version = Optional.ofNullable(metadata.fabricMod.version).orElse("Unknown");
+            this.description = Optional.ofNullable(metadata.fabricMod.description).orElse(null);
+        }
+
+        if (metadata.modCheckProject != null) {
+            this.modCheckProject = metadata.modCheckProject;
+            this.name = metadata.modCheckProject.getName();
+            this.version = metadata.modCheckProject.getModFile().getVersion();
+        } else if (metadata.modrinthProject != null && metadata.modrinthVersion != null) {
+            this.modrinthProject = metadata.modrinthProject;
+            this.modrinthVersion = metadata.modrinthVersion;
+
+            if (App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
+                this.name = metadata.modrinthProject.title;
+                this.description = metadata.modrinthProject.description;
             }
         }
-        return mod;
     }
 }
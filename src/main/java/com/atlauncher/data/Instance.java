@@ -26,24 +26,16 @@ import java.awt.Window;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.net.URLConnection;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -52,7 +44,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
@@ -99,6 +90,7 @@ import com.atlauncher.data.minecraft.loaders.LoaderVersion;
 import com.atlauncher.data.minecraft.loaders.fabric.FabricLoader;
 import com.atlauncher.data.minecraft.loaders.legacyfabric.LegacyFabricLoader;
 import com.atlauncher.data.minecraft.loaders.quilt.QuiltLoader;
+import com.atlauncher.data.modcheck.ModCheckManager;
 import com.atlauncher.data.modcheck.ModCheckProject;
 import com.atlauncher.data.modrinth.ModrinthFile;
 import com.atlauncher.data.modrinth.ModrinthProject;
@@ -108,6 +100,7 @@ import com.atlauncher.exceptions.InvalidMinecraftVersion;
 import com.atlauncher.gui.LauncherFrame;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.gui.dialogs.RenameInstanceDialog;
+import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.managers.AccountManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.InstanceManager;
@@ -115,15 +108,21 @@ import com.atlauncher.managers.LWJGLManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
 import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.mclauncher.GameOutputProcessor;
 import com.atlauncher.mclauncher.MCLauncher;
 import com.atlauncher.network.DownloadPool;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.CommandExecutor;
+import com.atlauncher.utils.FileMaterializer;
 import com.atlauncher.utils.FileUtils;
-import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.JarMerger;
 import com.atlauncher.utils.Java;
+import com.atlauncher.utils.ModFileTracker;
+import com.atlauncher.utils.ModMetadataCache;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.ModrinthApi;
+import com.atlauncher.utils.NativesCache;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.utils.ZipNameMapper;
@@ -488,6 +487,15 @@ public class Instance extends MinecraftVersion {
 
         smallLibrariesPool.downloadAll();
 
+        if (smallLibrariesPool.hasFailedDownloads()) {
+            LogManager.error("Failed to download libraries needed to launch: " + smallLibrariesPool
+                    .getFailedDownloads().stream().map(com.atlauncher.network.Download::getPrintableFileName)
+                    .collect(Collectors.joining(", ")));
+            PerformanceManager.end("Downloading Libraries");
+            PerformanceManager.end();
+            return false;
+        }
+
         progressDialog.doneTask();
         PerformanceManager.end("Downloading Libraries");
 
@@ -600,6 +608,10 @@ public class Instance extends MinecraftVersion {
             PerformanceManager.start("Organising Resources 2");
             progressDialog.setLabel(GetText.tr("Organising Resources"));
 
+            // an instance's resources folder can be changed by the game or the user, so it must not share the files
+            // in the objects folder, while the legacy folder is only ever read
+            FileMaterializer materializer = index.mapToResources ? FileMaterializer.PRIVATE : FileMaterializer.SHARED;
+
             index.objects.forEach((key, object) -> {
                 String filename = object.hash.substring(0, 2) + "/" + object.hash;
 
@@ -608,7 +620,11 @@ public class Instance extends MinecraftVersion {
                         : FileSystem.RESOURCES_VIRTUAL_LEGACY.resolve(key);
 
                 if (!Files.exists(assetPath)) {
-                    FileUtils.copyFile(downloadedFile, assetPath, true);
+                    try {
+                        materializer.materialize(downloadedFile, assetPath);
+                    } catch (IOException e) {
+                        LogManager.logStackTrace("Failed to put asset " + key + " in place", e);
+                    }
                 }
             });
             PerformanceManager.end("Organising Resources 2");
@@ -635,30 +651,12 @@ public class Instance extends MinecraftVersion {
                             return;
                         }
 
-                        Path nativePath = FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path);
-
-                        ArchiveUtils.extract(nativePath, nativesTempDir, name -> {
-                            if (library.extract != null && library.extract.shouldExclude(name)) {
-                                return null;
-                            }
+                        com.atlauncher.data.minecraft.Download nativeDownload = library.getNativeDownloadForOS();
+                        Path nativePath = FileSystem.LIBRARIES.resolve(nativeDownload.path);
 
-                            // keep META-INF folder as per normal
-                            if (name.startsWith("META-INF")) {
-                                return name;
-                            }
-
-                            // don't extract folders
-                            if (name.endsWith("/")) {
-                                return null;
-                            }
-
-                            // if it has a / then extract just to root
-                            if (name.contains("/")) {
-                                return name.substring(name.lastIndexOf("/") + 1);
-                            }
-
-                            return name;
-                        });
+                        if (!NativesCache.extract(nativePath, nativeDownload.sha1, library.extract, nativesTempDir)) {
+                            LogManager.error("Failed to extract natives from " + nativePath);
+                        }
                     }
                 });
 
@@ -669,16 +667,19 @@ public class Instance extends MinecraftVersion {
             PerformanceManager.start("Creating custom minecraft.jar");
             progressDialog.setLabel(GetText.tr("Creating custom minecraft.jar"));
 
-            if (Files.exists(getCustomMinecraftJarLibraryPath())) {
-                FileUtils.delete(getCustomMinecraftJarLibraryPath());
-            }
+            File modpackJar = getRoot().resolve("bin/modpack.jar").toFile();
 
-            if (!Utils.combineJars(getMinecraftJar(), getRoot().resolve("bin/modpack.jar").toFile(),
-                    getCustomMinecraftJar())) {
-                LogManager.error("Failed to combine jars into custom minecraft.jar");
-                PerformanceManager.end("Creating custom minecraft.jar");
-                PerformanceManager.end();
-                return false;
+            // the merged jar is kept between launches and only rebuilt when either of the jars it's made from change
+            String key = JarMerger.createKey(getMinecraftJar(), modpackJar);
+            if (!key.equals(JarMerger.getKey(getCustomMinecraftJar()))) {
+                try {
+                    JarMerger.merge(getCustomMinecraftJar(), key, modpackJar, getMinecraftJar());
+                } catch (IOException e) {
+                    LogManager.logStackTrace("Failed to combine jars into custom minecraft.jar", e);
+                    PerformanceManager.end("Creating custom minecraft.jar");
+                    PerformanceManager.end();
+                    return false;
+                }
             }
             PerformanceManager.end("Creating custom minecraft.jar");
         }
@@ -870,75 +871,7 @@ public class Instance extends MinecraftVersion {
                 }
 
                 App.launcher.showKillMinecraft(process);
-                InputStream is = process.getInputStream();
-                InputStreamReader isr = new InputStreamReader(is);
-                StringBuilder sb = new StringBuilder();
-                BufferedReader br = new BufferedReader(isr);
-                String line;
-                int detectedError = 0;
-
-                String replaceUUID = account.uuid.replace("-", "");
-
-                while ((line = br.readLine()) != null) {
-                    if (line.contains("java.lang.OutOfMemoryError")
-                            || line.contains("There is insufficient memory for the Java Runtime Environment")) {
-                        detectedError = MinecraftError.OUT_OF_MEMORY;
-                    }
-
-                    if (line.contains("java.util.ConcurrentModificationException")
-                            && Utils.matchVersion(this.id, "1.6", true, true)) {
-                        detectedError = MinecraftError.CONCURRENT_MODIFICATION_ERROR_1_6;
-                    }
-
-                    if (line.contains(
-                            "has been compiled by a more recent version of the Java Runtime (class file version 60.0)")) {
-                        detectedError = MinecraftError.NEED_TO_USE_JAVA_16_OR_NEWER;
-                    }
-
-                    if (line.contains(
-                            "has been compiled by a more recent version of the Java Runtime (class file version 61.0)")) {
-                        detectedError = MinecraftError.NEED_TO_USE_JAVA_17_OR_NEWER;
-                    }
-
-                    if (line.contains(
-                            "class jdk.internal.loader.ClassLoaders$AppClassLoader cannot be cast to class")) {
-                        detectedError = MinecraftError.USING_NEWER_JAVA_THAN_8;
-                    }
-
-                    if (!LogManager.showDebug) {
-                        line = line.replace(account.minecraftUsername, "**MINECRAFTUSERNAME**");
-                        line = line.replace(account.username, "**MINECRAFTUSERNAME**");
-                        line = line.replace(account.uuid, "**UUID**");
-                        line = line.replace(replaceUUID, "**UUID**");
-                    }
-
-                    if (account.getAccessToken() != null) {
-                        line = line.replace(account.getAccessToken(), "**ACCESSTOKEN**");
-                    }
-
-                    if (line.contains("log4j:")) {
-                        try {
-                            // start of a new event so clear string builder
-                            if (line.contains("<log4j:Event>")) {
-                                sb.setLength(0);
-                            }
-
-                            sb.append(line);
-
-                            // end of the xml object so parse it
-                            if (line.contains("</log4j:Event>")) {
-                                LogManager.minecraftLog4j(sb.toString());
-                                sb.setLength(0);
-                            }
-
-                            continue;
-                        } catch (Exception e) {
-                            // ignored
-                        }
-                    }
-
-                    LogManager.minecraft(line);
-                }
+                int detectedError = new GameOutputProcessor(this, account).process(process.getInputStream());
                 App.launcher.hideKillMinecraft();
                 if (App.launcher.getParent() != null && App.settings.keepLauncherOpen) {
                     App.launcher.getParent().setVisible(true);
@@ -1000,9 +933,6 @@ public class Instance extends MinecraftVersion {
                 if (Files.isDirectory(lwjglNativesTempDir)) {
                     FileUtils.deleteDirectoryQuietly(lwjglNativesTempDir);
                 }
-                if (usesCustomMinecraftJar() && Files.exists(getCustomMinecraftJarLibraryPath())) {
-                    FileUtils.delete(getCustomMinecraftJarLibraryPath());
-                }
                 if (!App.settings.keepLauncherOpen) {
                     System.exit(0);
                 }
@@ -1047,23 +977,44 @@ public class Instance extends MinecraftVersion {
             ProgressDialog dialog) {
         ModrinthFile fileToDownload = Optional.ofNullable(file).orElse(version.getPrimaryFile());
 
-        Path downloadLocation = FileSystem.DOWNLOADS.resolve(fileToDownload.filename);
-        Path finalLocation = this.getRoot().resolve("mods").resolve(fileToDownload.filename);
-        com.atlauncher.network.Download download = com.atlauncher.network.Download.build().setUrl(fileToDownload.url)
-                .downloadTo(downloadLocation).copyTo(finalLocation)
-                .withHttpClient(Network.createProgressClient(dialog));
-
-        if (fileToDownload.hashes != null && fileToDownload.hashes.containsKey("sha512")) {
-            download = download.hash(fileToDownload.hashes.get("sha512"));
-        } else if (fileToDownload.hashes != null && fileToDownload.hashes.containsKey("sha1")) {
-            download = download.hash(fileToDownload.hashes.get("sha1"));
-        }
+        com.atlauncher.network.Download download = ModrinthApi.getDownload(fileToDownload,
+                Network.createProgressClient(dialog));
 
         if (fileToDownload.size != null && fileToDownload.size != 0) {
             dialog.setTotalBytes(fileToDownload.size);
-            download = download.size(fileToDownload.size);
         }
 
+        try {
+            download.downloadFile();
+        } catch (IOException e) {
+            LogManager.logStackTrace(e);
+        }
+
+        // the mod being replaced is only removed once the new file is ready
+        if (download.hasFailed() || !Files.exists(FileSystem.DOWNLOADS.resolve(fileToDownload.filename))) {
+            DialogManager.okDialog().setType(DialogManager.ERROR).setTitle("Failed to download")
+                    .setContent("Failed to download " + fileToDownload.filename + ". Please try again later.")
+                    .show();
+            return;
+        }
+
+        addDownloadedFileFromModrinth(mod, version, fileToDownload);
+        ModStore.save();
+
+        this.save();
+
+        // #. {0} is the name of a mod that was installed
+        App.TOASTER.pop(GetText.tr("{0} Installed", mod.title));
+    }
+
+    /**
+     * Puts the given file, which must already be in the downloads folder, into this instance, replacing any other file
+     * from the same project. A replaced mod that was disabled stays disabled. This doesn't save the instance, so many
+     * mods can be added at once.
+     */
+    public void addDownloadedFileFromModrinth(ModrinthProject mod, ModrinthVersion version, ModrinthFile file) {
+        Path finalLocation = this.getRoot().resolve("mods").resolve(file.filename);
+
         if (Files.exists(finalLocation)) {
             FileUtils.delete(finalLocation);
         }
@@ -1075,21 +1026,10 @@ public class Instance extends MinecraftVersion {
                 .collect(Collectors.toList());
 
         // delete mod files that are the same mod id
-        sameMods.forEach(disableableMod -> Utils.delete(disableableMod.getFile(this)));
+        sameMods.forEach(disableableMod -> Utils.delete(
+                disableableMod.isDisabled() ? disableableMod.getDisabledFile(this) : disableableMod.getFile(this)));
 
-        if (download.needToDownload()) {
-            try {
-                download.downloadFile();
-            } catch (IOException e) {
-                LogManager.logStackTrace(e);
-                DialogManager.okDialog().setType(DialogManager.ERROR).setTitle("Failed to download")
-                        .setContent("Failed to download " + fileToDownload.filename + ". Please try again later.")
-                        .show();
-                return;
-            }
-        } else {
-            download.copy();
-        }
+        ModStore.install(FileSystem.DOWNLOADS.resolve(file.filename), finalLocation);
 
         // remove any mods that are from the same mod from the master mod list
         this.launcher.mods = this.launcher.mods.stream().filter(
@@ -1098,16 +1038,33 @@ public class Instance extends MinecraftVersion {
                 .collect(Collectors.toList());
 
         // add this mod
-        this.launcher.mods.add(new DisableableMod(mod.title, version.name, true, fileToDownload.filename, Type.mods,
-                null, mod.description, false, true, true, false, mod, version));
+        DisableableMod disableableMod = new DisableableMod(mod.title, version.name, true, file.filename, Type.mods,
+                null, mod.description, false, true, true, false, mod, version);
+        this.launcher.mods.add(disableableMod);
 
-        this.save();
+        if (sameMods.stream().anyMatch(DisableableMod::isDisabled)) {
+            disableableMod.disable(this);
+        }
+    }
 
-        // #. {0} is the name of a mod that was installed
-        App.TOASTER.pop(GetText.tr("{0} Installed", mod.title));
+    public void addFileFromModCheck(ModCheckProject modCheckProject, boolean forceEnable,
+            NetworkProgressable progressable) {
+        if (!ModCheckManager.installMods(
+                Collections.singletonMap(this, Collections.singletonList(modCheckProject)), forceEnable,
+                progressable)) {
+            DialogManager.okDialog().setType(DialogManager.ERROR).setTitle("Failed to download")
+                .setContent("Failed to download " + modCheckProject.getName() + ". Please try again later.")
+                .show();
+        }
     }
 
-    public void addFileFromModCheck(ModCheckProject modCheckProject, boolean forceEnable) {
+    /**
+     * Puts the file for the given project, which must already be in the downloads folder, into this instance,
+     * replacing any other file from the same mod. This doesn't save the instance, so many mods can be added at once.
+     *
+     * @see ModCheckManager#installMods
+     */
+    public void addDownloadedFileFromModCheck(ModCheckProject modCheckProject, boolean forceEnable) {
         Path finalLocation = this.getRoot().resolve("mods").resolve(modCheckProject.getModFile().getName());
 
         if (Files.exists(finalLocation)) {
@@ -1123,25 +1080,10 @@ public class Instance extends MinecraftVersion {
         // delete mod files that are the same mod id
         sameMods.forEach(disableableMod -> Utils.delete(disableableMod.getFile(this)));
 
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            finalLocation.getParent().toFile().mkdirs();
-            URL url = new URL(modCheckProject.getModFile().getUrl());
+        ModStore.install(ModCheckManager.getDownloadLocation(modCheckProject), finalLocation);
 
-            URLConnection con = url.openConnection();
-            con.setRequestProperty("User-Agent", "ModCheck");
-
-            ReadableByteChannel rbc = Channels.newChannel(con.getInputStream());
-            try (FileOutputStream fos = new FileOutputStream(finalLocation.toFile())) {
-                fos.getChannel().transferFrom(rbc, 0, Long.MAX_VALUE);
-            }
-        } catch (IOException e) {
-            LogManager.logStackTrace(e);
-            DialogManager.okDialog().setType(DialogManager.ERROR).setTitle("Failed to download")
-                .setContent("Failed to download " + modCheckProject.getName() + ". Please try again later.")
-                .show();
-            return;
-        }
+        // remember where this file came from, so copies of it in other instances are known to be from ModCheck
+        ModMetadataCache.setModCheck(finalLocation, modCheckProject);
 
         // remove any mods that are from the same mod from the master mod list
         this.launcher.mods = this.launcher.mods.stream().filter(
@@ -1156,8 +1098,6 @@ public class Instance extends MinecraftVersion {
             true, modCheckProject.getModFile().getName(), modType, null, "", false, true, modCheckProject);
         this.launcher.mods.add(disableableMod);
         if (!forceEnable && ((sameMods.size() == 0 && !AUTO_ENABLE_MODS.contains(disableableMod.getName())) || sameMods.stream().anyMatch(DisableableMod::isDisabled))) disableableMod.disable(this);
-
-        this.save();
     }
 
     public boolean hasCustomMods() {
@@ -1230,6 +1170,7 @@ public class Instance extends MinecraftVersion {
     public boolean rename(String newName) {
         String oldName = this.launcher.name;
         File oldDir = getRoot().toFile();
+        ModFileTracker.stopTracking(getRoot());
         this.launcher.name = newName;
         this.ROOT = FileSystem.INSTANCES.resolve(this.getSafeName());
         File newDir = getRoot().toFile();
@@ -1828,33 +1769,41 @@ public class Instance extends MinecraftVersion {
         scanMissingMods(App.launcher.getParent());
     }
 
+    private boolean isTrackedFile(Map<String, Set<String>> filesOnDisk, Path file) {
+        Path directory = file.getParent();
+
+        return directory != null && directory.getParent() != null && directory.getParent().equals(ROOT)
+                && filesOnDisk.getOrDefault(directory.getFileName().toString(), Collections.emptySet())
+                        .contains(file.getFileName().toString());
+    }
+
     public void scanMissingMods(Window parent) {
         PerformanceManager.start("Instance::scanMissingMods - CheckForAddedMods");
 
         // files to scan
         List<Path> files = new ArrayList<>();
 
-        // find the mods that have been added by the user manually
-        for (Path path : Arrays.asList(ROOT.resolve("mods"), ROOT.resolve("disabledmods"),
-                ROOT.resolve("resourcepacks"), ROOT.resolve("jarmods"))) {
-            if (!Files.exists(path)) {
-                continue;
-            }
+        // what's in the mod folders is kept track of as it changes, so they don't need to be listed again
+        Map<String, Set<String>> filesOnDisk = ModFileTracker.getFiles(ROOT);
+
+        // the mods already known by their type and file name, so each file only needs one lookup
+        Set<String> knownMods = launcher.mods.stream().map(mod -> mod.type + "/" + mod.file)
+                .collect(Collectors.toSet());
 
-            com.atlauncher.data.Type fileType = path.equals(ROOT.resolve("resourcepacks"))
+        // find the mods that have been added by the user manually
+        for (String directory : ModFileTracker.DIRECTORIES) {
+            com.atlauncher.data.Type fileType = directory.equals("resourcepacks")
                     ? com.atlauncher.data.Type.resourcepack
-                    : (path.equals(ROOT.resolve("jarmods")) ? com.atlauncher.data.Type.jar
+                    : (directory.equals("jarmods") ? com.atlauncher.data.Type.jar
                             : com.atlauncher.data.Type.mods);
 
-            try (Stream<Path> stream = Files.list(path)) {
-                files.addAll(stream
-                        .filter(file -> !Files.isDirectory(file) && Utils.isAcceptedModFile(file)).filter(
-                                file -> launcher.mods.stream()
-                                        .noneMatch(mod -> mod.type == fileType
-                                                && mod.file.equals(file.getFileName().toString())))
-                        .collect(Collectors.toList()));
-            } catch (IOException e) {
-                LogManager.logStackTrace("Error scanning missing mods", e);
+            for (String name : filesOnDisk.getOrDefault(directory, Collections.emptySet())) {
+                Path file = ROOT.resolve(directory).resolve(name);
+
+                if (!knownMods.contains(fileType + "/" + name) && Utils.isAcceptedModFile(file)
+                        && Files.isRegularFile(file)) {
+                    files.add(file);
+                }
             }
         }
 
@@ -1877,66 +1826,31 @@ public class Instance extends MinecraftVersion {
 
 
                 if (!App.settings.dontCheckModsOnModrinth) {
-                    Map<String, DisableableMod> sha1Hashes = new HashMap<>();
-
-                    mods.stream()
-                            .filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
-                            .filter(dm -> dm.getFile(ROOT, id) != null).forEach(dm -> {
-                                try {
-                                    sha1Hashes.put(Hashing
-                                            .sha1(dm.disabled ? dm.getDisabledFile(this).toPath()
-                                                    : dm
-                                                            .getFile(ROOT, id).toPath())
-                                            .toString(), dm);
-                                } catch (Throwable t) {
-                                    LogManager.logStackTrace(t);
-                                }
-                            });
-
-                    if (sha1Hashes.size() != 0) {
-                        Set<String> keys = sha1Hashes.keySet();
-                        Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                                .getVersionsFromSha1Hashes(keys.toArray(new String[keys.size()]));
-
-                        if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                            String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                                    .toArray(String[]::new);
-
-                            if (projectIdsFound.length != 0) {
-                                Map<String, ModrinthProject> foundProjects = ModrinthApi
-                                        .getProjectsAsMap(projectIdsFound);
-
-                                if (foundProjects != null) {
-                                    for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                                        ModrinthVersion version = entry.getValue();
-                                        ModrinthProject project = foundProjects.get(version.projectId);
-
-                                        if (project != null) {
-                                            DisableableMod dm = sha1Hashes.get(entry.getKey());
-
-                                            // add Modrinth information
-                                            dm.modrinthProject = project;
-                                            dm.modrinthVersion = version;
-
-                                            if (App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
-                                                dm.name = project.title;
-                                                dm.description = project.description;
-                                            }
-
-                                            LogManager.debug(String.format(
-                                                    "Found matching mod from Modrinth called %s with file %s",
-                                                    project.title, version.name));
-                                        }
-                                    }
-                                }
-                            }
+                    Map<Path, DisableableMod> modsToFind = new HashMap<>();
+
+                    mods.stream().filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
+                            .filter(dm -> dm.getFile(ROOT, id) != null)
+                            .forEach(dm -> modsToFind.put(dm.disabled ? dm.getDisabledFile(this).toPath()
+                                    : dm.getFile(ROOT, id).toPath(), dm));
+
+                    ModrinthApi.findFiles(modsToFind.keySet()).forEach((path, found) -> {
+                        DisableableMod dm = modsToFind.get(path);
+
+                        // add Modrinth information
+                        dm.modrinthProject = found.left();
+                        dm.modrinthVersion = found.right();
+
+                        if (App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
+                            dm.name = found.left().title;
+                            dm.description = found.left().description;
                         }
-                    }
+                    });
                 }
 
                 mods.forEach(mod -> LogManager.info("Found extra mod with name of " + mod.file));
                 launcher.mods.addAll(mods);
                 save();
+                ModMetadataCache.save();
                 progressDialog.close();
             }));
 
@@ -1946,16 +1860,16 @@ public class Instance extends MinecraftVersion {
 
         PerformanceManager.start("Instance::scanMissingMods - CheckForRemovedMods");
         // next remove any mods that the no longer exist in the filesystem
-        List<DisableableMod> removedMods = launcher.mods.parallelStream().filter(mod -> {
-            if (!mod.wasSelected || mod.skipped || mod.type != com.atlauncher.data.Type.mods) {
+        List<DisableableMod> removedMods = launcher.mods.stream().filter(mod -> {
+            if (!mod.wasSelected || mod.skipped || mod.type != com.atlauncher.data.Type.mods
+                    || mod.getFile(this) == null) {
                 return false;
             }
 
-            if (mod.disabled) {
-                return (mod.getFile(this) != null && !mod.getDisabledFile(this).exists());
-            } else {
-                return (mod.getFile(this) != null && !mod.getFile(this).exists());
-            }
+            Path file = (mod.disabled ? mod.getDisabledFile(this) : mod.getFile(this)).toPath();
+
+            // the tracked files may not have caught up with a change yet, so anything missing is checked on disk
+            return !isTrackedFile(filesOnDisk, file) && !Files.exists(file);
         }).collect(Collectors.toList());
 
         if (removedMods.size() != 0) {
@@ -0,0 +1,86 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import com.atlauncher.FileSystem;
+
+/**
+ * The basic details of an instance which are needed to show it in the instances tab, cached so they can be shown
+ * before all the instances have been fully loaded.
+ */
+public class InstanceSummary {
+    public String folder;
+
+    // the last modified time and size of the instance.json this was made from, to tell if it's still valid
+    public long modified;
+    public long size;
+
+    public String name;
+    public String pack;
+    public String version;
+    public String minecraftVersion;
+    public long lastPlayed;
+    public String image;
+
+    public static InstanceSummary of(Instance instance, BasicFileAttributes attributes) {
+        InstanceSummary summary = new InstanceSummary();
+        summary.folder = instance.getRoot().getFileName().toString();
+        summary.modified = attributes.lastModifiedTime().toMillis();
+        summary.size = attributes.size();
+        summary.name = instance.launcher.name;
+        summary.pack = instance.launcher.pack;
+        summary.version = instance.launcher.version;
+        summary.minecraftVersion = instance.id;
+        summary.lastPlayed = instance.getLastPlayedOrEpoch().toEpochMilli();
+
+        Path customImage = instance.getRoot().resolve("instance.png");
+        if (Files.exists(customImage)) {
+            summary.image = customImage.toString();
+        } else if (instance.getPack() != null) {
+            Path packImage = FileSystem.IMAGES.resolve(instance.getSafePackName().toLowerCase() + ".png");
+
+            if (Files.exists(packImage)) {
+                summary.image = packImage.toString();
+            }
+        }
+
+        return summary;
+    }
+
+    public Path getInstanceJson() {
+        return FileSystem.INSTANCES.resolve(folder).resolve("instance.json");
+    }
+
+    /**
+     * Checks that the instance.json hasn't changed since this summary was made.
+     */
+    public boolean isValid() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(getInstanceJson(), BasicFileAttributes.class);
+
+            return attributes.lastModifiedTime().toMillis() == modified && attributes.size() == size;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import com.atlauncher.data.minecraft.FabricMod;
+import com.atlauncher.data.minecraft.MCMod;
+import com.atlauncher.data.modcheck.ModCheckProject;
+import com.atlauncher.data.modrinth.ModrinthProject;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+
+/**
+ * What's known about a mod file, worked out once from the file's contents and shared by every copy of the same file.
+ *
+ * @see com.atlauncher.utils.ModMetadataCache
+ */
+public class ModMetadata {
+    public String sha1;
+    public String sha512;
+    public MCMod mcMod;
+    public FabricMod fabricMod;
+
+    // what the file was found to be on Modrinth/ModCheck, if anything
+    public volatile ModrinthProject modrinthProject;
+    public volatile ModrinthVersion modrinthVersion;
+    public volatile ModCheckProject modCheckProject;
+}
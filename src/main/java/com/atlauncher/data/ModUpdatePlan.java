@@ -0,0 +1,169 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.atlauncher.Network;
+import com.atlauncher.data.modcheck.ModCheckManager;
+import com.atlauncher.data.modcheck.ModCheckProject;
+import com.atlauncher.data.modrinth.ModrinthFile;
+import com.atlauncher.data.modrinth.ModrinthProject;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.interfaces.NetworkProgressable;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.network.Download;
+import com.atlauncher.network.DownloadPool;
+import com.atlauncher.utils.ModMetadataCache;
+import com.atlauncher.utils.ModStore;
+import com.atlauncher.utils.ModUpdateResolver;
+import com.atlauncher.utils.ModrinthApi;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * The updates found for mods in one or more instances, which can all be applied at once.
+ *
+ * @see ModUpdateResolver
+ */
+public class ModUpdatePlan {
+    private final List<Update> updates;
+
+    public ModUpdatePlan(List<Update> updates) {
+        this.updates = Collections.unmodifiableList(new ArrayList<>(updates));
+    }
+
+    public List<Update> getUpdates() {
+        return updates;
+    }
+
+    public boolean isEmpty() {
+        return updates.isEmpty();
+    }
+
+    /**
+     * Applies every update in the plan. The files for all of them are downloaded in one go, each only once no matter
+     * how many instances it's going into, and then the instances are updated concurrently.
+     *
+     * @param progressable what to report the download progress to, or null
+     * @return if every update was applied
+     */
+    public boolean apply(NetworkProgressable progressable) {
+        OkHttpClient httpClient = progressable == null ? Network.CLIENT : Network.createProgressClient(progressable);
+
+        Map<String, Download> downloadsByUrl = new LinkedHashMap<>();
+        Map<Update, Download> downloads = new IdentityHashMap<>();
+        for (Update update : updates) {
+            downloads.put(update, downloadsByUrl.computeIfAbsent(update.getUrl(),
+                    url -> update.isFromModrinth() ? ModrinthApi.getDownload(update.getModrinthFile(), httpClient)
+                            : ModCheckManager.getDownload(update.modCheckProject, httpClient)));
+        }
+
+        DownloadPool pool = new DownloadPool();
+        pool.addAll(downloadsByUrl.values());
+        DownloadPool smallPool = pool.downsize();
+
+        if (progressable != null) {
+            progressable.setTotalBytes(smallPool.totalSize());
+        }
+
+        smallPool.downloadAll();
+
+        // downloads are compared by their files, which may not exist for failed ones, so these are looked up by identity
+        Set<Download> failedDownloads = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedDownloads.addAll(smallPool.getFailedDownloads());
+
+        Map<Instance, List<Update>> updatesByInstance = updates.stream()
+                .filter(update -> !failedDownloads.contains(downloads.get(update)))
+                .collect(Collectors.groupingBy(update -> update.instance, LinkedHashMap::new, Collectors.toList()));
+
+        updatesByInstance.entrySet().parallelStream().forEach(entry -> {
+            Instance instance = entry.getKey();
+
+            for (Update update : entry.getValue()) {
+                if (update.isFromModrinth()) {
+                    instance.addDownloadedFileFromModrinth(update.modrinthProject, update.modrinthVersion,
+                            update.getModrinthFile());
+                } else {
+                    instance.addDownloadedFileFromModCheck(update.modCheckProject, false);
+                }
+            }
+
+            instance.save();
+        });
+
+        ModMetadataCache.save();
+        ModStore.save();
+
+        updates.stream().filter(update -> failedDownloads.contains(downloads.get(update))).forEach(update -> LogManager
+                .error("Failed to download update for " + update.mod.getName() + " from " + update.getUrl()));
+
+        return failedDownloads.isEmpty();
+    }
+
+    /**
+     * A newer version of a mod in an instance, from either Modrinth or ModCheck.
+     */
+    public static class Update {
+        public final Instance instance;
+        public final DisableableMod mod;
+        public final ModrinthProject modrinthProject;
+        public final ModrinthVersion modrinthVersion;
+        public final ModCheckProject modCheckProject;
+
+        public Update(Instance instance, DisableableMod mod, ModrinthProject modrinthProject,
+                ModrinthVersion modrinthVersion) {
+            this.instance = instance;
+            this.mod = mod;
+            this.modrinthProject = modrinthProject;
+            this.modrinthVersion = modrinthVersion;
+            this.modCheckProject = null;
+        }
+
+        public Update(Instance instance, DisableableMod mod, ModCheckProject modCheckProject) {
+            this.instance = instance;
+            this.mod = mod;
+            this.modrinthProject = null;
+            this.modrinthVersion = null;
+            this.modCheckProject = modCheckProject;
+        }
+
+        public boolean isFromModrinth() {
+            return modrinthVersion != null;
+        }
+
+        public ModrinthFile getModrinthFile() {
+            return modrinthVersion.getPrimaryFile();
+        }
+
+        public String getUrl() {
+            return isFromModrinth() ? getModrinthFile().url : modCheckProject.getModFile().getUrl();
+        }
+
+        public String getNewVersion() {
+            return isFromModrinth() ? modrinthVersion.name : modCheckProject.getModFile().getVersion();
+        }
+    }
+}
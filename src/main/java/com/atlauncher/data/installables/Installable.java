@@ -24,10 +24,12 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import javax.swing.JDialog;
 import javax.swing.JLabel;
@@ -402,14 +404,11 @@ public abstract class Installable {
         if (ret == DialogManager.YES_OPTION) {ProgressDialog<?> legalModsDialog = new ProgressDialog<>(GetText.tr("Installing Mods"));
             legalModsDialog.addThread(new Thread(() -> {
                 try {
-                    List<ModCheckProject> modList = ModCheckManager.getAvailableMods(targetInstance.getMinecraftVersion());
-                    int index = 0;
-                    for (ModCheckProject availableMod : modList) {
-                        legalModsDialog.setSubProgress(index++ / (modList.size() * 1.0) * 100, "Downloading " + availableMod.getName());
-                        if (!availableMod.getName().equalsIgnoreCase("speedrunigt")) {
-                            targetInstance.addFileFromModCheck(availableMod, false);
-                        }
-                    }
+                    List<ModCheckProject> modList = ModCheckManager.getAvailableMods(targetInstance.getMinecraftVersion())
+                        .stream().filter(availableMod -> !availableMod.getName().equalsIgnoreCase("speedrunigt"))
+                        .collect(Collectors.toList());
+                    ModCheckManager.installMods(Collections.singletonMap(targetInstance, modList), false,
+                        legalModsDialog);
                     legalModsDialog.close();
                 } catch (Exception e) {
                     LogManager.logStackTrace(e);
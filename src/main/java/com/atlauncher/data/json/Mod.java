@@ -20,6 +20,7 @@ package com.atlauncher.data.json;
 import java.awt.Color;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.mini2Dx.gettext.GetText;
@@ -34,6 +35,7 @@ import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.workers.InstanceInstaller;
@@ -657,19 +659,19 @@ public class Mod {
         switch (thisType) {
             case jar:
             case forge:
-                Utils.copyFile(fileLocation, installer.root.resolve("jarmods").toFile());
+                installFile(fileLocation, installer.root.resolve("jarmods"));
                 break;
             case texturepack:
                 if (!installer.root.resolve("texturepacks").toFile().exists()) {
                     installer.root.resolve("texturepacks").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("texturepacks").toFile());
+                installFile(fileLocation, installer.root.resolve("texturepacks"));
                 break;
             case resourcepack:
                 if (!installer.root.resolve("resourcepacks").toFile().exists()) {
                     installer.root.resolve("resourcepacks").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("resourcepacks").toFile());
+                installFile(fileLocation, installer.root.resolve("resourcepacks"));
                 break;
             case texturepackextract:
                 if (!installer.root.resolve("texturepacks").toFile().exists()) {
@@ -703,53 +705,53 @@ public class Mod {
                         installer.root.resolve(path).toFile().mkdirs();
                     }
 
-                    Utils.copyFile(fileLocation, installer.root.resolve(path).toFile());
+                    installFile(fileLocation, installer.root.resolve(path));
                 } else {
-                    Utils.copyFile(fileLocation, installer.root.resolve("mods").toFile());
+                    installFile(fileLocation, installer.root.resolve("mods"));
                 }
                 break;
             case ic2lib:
                 if (!installer.root.resolve("mods/ic2").toFile().exists()) {
                     installer.root.resolve("mods/ic2").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("mods/ic2").toFile());
+                installFile(fileLocation, installer.root.resolve("mods/ic2"));
                 break;
             case flan:
                 if (!installer.root.resolve("Flan").toFile().exists()) {
                     installer.root.resolve("Flan").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("Flan").toFile());
+                installFile(fileLocation, installer.root.resolve("Flan"));
                 break;
             case denlib:
                 if (!installer.root.resolve("mods/denlib").toFile().exists()) {
                     installer.root.resolve("mods/denlib").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("mods/denlib").toFile());
+                installFile(fileLocation, installer.root.resolve("mods/denlib"));
                 break;
             case depandency:
             case dependency:
                 if (!installer.root.resolve("mods/" + installer.minecraftVersion.id).toFile().exists()) {
                     installer.root.resolve("mods/" + installer.minecraftVersion.id).toFile().mkdirs();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("mods/" + installer.minecraftVersion.id).toFile());
+                installFile(fileLocation, installer.root.resolve("mods/" + installer.minecraftVersion.id));
                 break;
             case plugins:
                 if (!installer.root.resolve("plugins").toFile().exists()) {
                     installer.root.resolve("plugins").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("plugins").toFile());
+                installFile(fileLocation, installer.root.resolve("plugins"));
                 break;
             case coremods:
                 if (!installer.root.resolve("coremods").toFile().exists()) {
                     installer.root.resolve("coremods").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("coremods").toFile());
+                installFile(fileLocation, installer.root.resolve("coremods"));
                 break;
             case shaderpack:
                 if (!installer.root.resolve("shaderpacks").toFile().exists()) {
                     installer.root.resolve("shaderpacks").toFile().mkdir();
                 }
-                Utils.copyFile(fileLocation, installer.root.resolve("shaderpacks").toFile());
+                installFile(fileLocation, installer.root.resolve("shaderpacks"));
                 break;
             case extract:
                 File tempDirExtract = FileSystem.TEMP.resolve(getSafeName()).toFile();
@@ -832,6 +834,14 @@ public class Mod {
         }
     }
 
+    /**
+     * Puts the downloaded file into the given directory through the mod store, so instances with the same file share
+     * it rather than each having a copy.
+     */
+    private void installFile(File fileLocation, Path directory) {
+        ModStore.install(fileLocation.toPath(), directory.resolve(fileLocation.getName()));
+    }
+
     public File getInstalledFile(InstanceInstaller installer) {
         ModType thisType = this.type;
         String file = getFile();
@@ -0,0 +1,112 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Minecraft versions from the version manifest, indexed for the lookups the launcher does. Release times are parsed
+ * once when the index is made, and versions are kept sorted newest first, both overall and per type, so listing them
+ * doesn't need any sorting. Releases are also grouped by their major version (1.19, 1.18...).
+ *
+ * Indexes are never changed once made, so are safe to read from any thread while a new one is being made.
+ */
+public class MinecraftVersionIndex {
+    public static final MinecraftVersionIndex EMPTY = new MinecraftVersionIndex(Collections.emptyList());
+
+    private final Map<String, VersionManifestVersion> versions = new HashMap<>();
+    private final List<VersionManifestVersion> newestFirst;
+    private final Map<VersionManifestVersionType, List<VersionManifestVersion>> newestFirstByType = new EnumMap<>(
+            VersionManifestVersionType.class);
+    private final Map<String, List<VersionManifestVersion>> releasesByMajorVersion = new LinkedHashMap<>();
+
+    public MinecraftVersionIndex(List<VersionManifestVersion> manifestVersions) {
+        List<VersionManifestVersion> sorted = new ArrayList<>(manifestVersions);
+        sorted.forEach(VersionManifestVersion::getReleaseTimeMillis);
+        sorted.sort(Comparator.comparingLong(VersionManifestVersion::getReleaseTimeMillis).reversed());
+
+        for (VersionManifestVersion version : sorted) {
+            versions.put(version.id, version);
+
+            if (version.type == null) {
+                continue;
+            }
+
+            newestFirstByType.computeIfAbsent(version.type, type -> new ArrayList<>()).add(version);
+
+            if (version.type == VersionManifestVersionType.RELEASE) {
+                releasesByMajorVersion.computeIfAbsent(getMajorVersion(version.id), major -> new ArrayList<>())
+                        .add(version);
+            }
+        }
+
+        this.newestFirst = Collections.unmodifiableList(sorted);
+        newestFirstByType.replaceAll((type, typeVersions) -> Collections.unmodifiableList(typeVersions));
+        releasesByMajorVersion.replaceAll((major, majorVersions) -> Collections.unmodifiableList(majorVersions));
+    }
+
+    /**
+     * Gets the major version of a release, which is the first two parts of it (1.19.2 is 1.19).
+     */
+    public static String getMajorVersion(String version) {
+        int firstDot = version.indexOf('.');
+        int secondDot = firstDot == -1 ? -1 : version.indexOf('.', firstDot + 1);
+
+        return secondDot == -1 ? version : version.substring(0, secondDot);
+    }
+
+    public boolean contains(String id) {
+        return versions.containsKey(id);
+    }
+
+    public VersionManifestVersion get(String id) {
+        return versions.get(id);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * @return all versions, newest first
+     */
+    public List<VersionManifestVersion> getVersions() {
+        return newestFirst;
+    }
+
+    /**
+     * @return all versions of the given type, newest first
+     */
+    public List<VersionManifestVersion> getVersions(VersionManifestVersionType type) {
+        return newestFirstByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * @return all releases with the given major version, newest first
+     */
+    public List<VersionManifestVersion> getReleasesForMajorVersion(String majorVersion) {
+        return releasesByMajorVersion.getOrDefault(majorVersion, Collections.emptyList());
+    }
+}
@@ -35,6 +35,9 @@ public class VersionManifestVersion {
     public String releaseTime;
     public List<String> lwjglVersions;
 
+    // parsed when first needed, as parsing the date is far slower than comparing it
+    private transient Long releaseTimeMillis = null;
+
     public static DateTime release_1_2_5 = ISODateTimeFormat.dateTimeParser()
             .parseDateTime("2012-03-29T22:00:00+00:00");
     public static DateTime release_18w48a = ISODateTimeFormat.dateTimeParser()
@@ -55,6 +58,14 @@ public class VersionManifestVersion {
     public static DateTime release_1_18_1 = ISODateTimeFormat.dateTimeParser()
             .parseDateTime("2021-12-10T08:23:00+00:00");
 
+    public long getReleaseTimeMillis() {
+        if (releaseTimeMillis == null) {
+            releaseTimeMillis = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime).getMillis();
+        }
+
+        return releaseTimeMillis;
+    }
+
     private boolean isBeforeOrEqualDate(DateTime a, DateTime b) {
         return a.isBefore(b) || a.isEqual(b);
     }
@@ -64,35 +75,35 @@ public class VersionManifestVersion {
     }
 
     public boolean is1132OrOlder() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // check if the release is before or equal to 1.13.2 release time
         return isBeforeOrEqualDate(parsedReleaseTime, release_1_13_2);
     }
 
     public boolean hasServer() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // check if the release is after 1.2.5 release time
         return isAfterOrEqualDate(parsedReleaseTime, release_1_2_5);
     }
 
     public boolean hasInitSettings() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // check if the release is after 18w48a release time
         return isAfterOrEqualDate(parsedReleaseTime, release_18w48a);
     }
 
     public boolean isLog4ShellExploitable() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // check if the release is after 1.7 and before 1.18.1 release time
         return isAfterOrEqualDate(parsedReleaseTime, release_1_7) && parsedReleaseTime.isBefore(release_1_18_1);
     }
 
     public String getLog4JFile() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // 1.7 to 1.11.2
         if (isAfterOrEqualDate(parsedReleaseTime, release_1_7) && parsedReleaseTime.isBefore(release_1_11_2)) {
@@ -103,7 +114,7 @@ public class VersionManifestVersion {
     }
 
     public String getLog4JFileForge() {
-        DateTime parsedReleaseTime = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime);
+        DateTime parsedReleaseTime = new DateTime(getReleaseTimeMillis());
 
         // 1.7 to 1.12
         if (isAfterOrEqualDate(parsedReleaseTime, release_1_7) && parsedReleaseTime.isBefore(release_1_12)) {
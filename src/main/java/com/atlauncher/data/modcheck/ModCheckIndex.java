@@ -0,0 +1,101 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.modcheck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonObject;
+import com.pistacium.modcheck.mod.MCVersion;
+import com.pistacium.modcheck.mod.ModFile;
+import com.pistacium.modcheck.mod.ModInfo;
+import com.pistacium.modcheck.mod.RuleIndicator;
+
+/**
+ * The mods available from ModCheck, indexed by name, with the file each mod has for a Minecraft version worked out
+ * once per version rather than on every lookup.
+ *
+ * Files are only worked out with the one rule (the OS and category) the launcher uses, so the rule is part of the index
+ * rather than each lookup.
+ */
+public class ModCheckIndex {
+    public static final ModCheckIndex EMPTY = new ModCheckIndex(Collections.emptyList(), null);
+
+    private final List<ModInfo> mods;
+    private final Map<String, Integer> modIndexesByName = new HashMap<>();
+    private final RuleIndicator rule;
+    private final Map<String, List<ModFile>> filesByVersion = new ConcurrentHashMap<>();
+
+    public ModCheckIndex(List<ModInfo> mods, RuleIndicator rule) {
+        this.mods = Collections.unmodifiableList(mods);
+        this.rule = rule;
+
+        for (int i = 0; i < mods.size(); i++) {
+            modIndexesByName.putIfAbsent(mods.get(i).getName(), i);
+        }
+    }
+
+    public List<ModInfo> getMods() {
+        return mods;
+    }
+
+    public ModInfo getMod(String name) {
+        Integer index = modIndexesByName.get(name);
+
+        return index == null ? null : mods.get(index);
+    }
+
+    /**
+     * Gets the file each mod has for the given Minecraft version, in the same order as the mods. Mods without a file
+     * for the version have null.
+     */
+    public List<ModFile> getFiles(String version) {
+        return filesByVersion.computeIfAbsent(version, v -> {
+            MCVersion mcVersion = createMCVersion(v);
+
+            List<ModFile> files = new ArrayList<>(mods.size());
+            for (ModInfo mod : mods) {
+                files.add(mod.getFileFromVersion(mcVersion, rule));
+            }
+
+            return Collections.unmodifiableList(files);
+        });
+    }
+
+    /**
+     * Gets the file the named mod has for the given Minecraft version, or null if it has none.
+     */
+    public ModFile getFile(String version, String name) {
+        Integer index = modIndexesByName.get(name);
+
+        return index == null ? null : getFiles(version).get(index);
+    }
+
+    private static MCVersion createMCVersion(String version) {
+        // MCVersion has no way to set its values other than through Gson
+        JsonObject object = new JsonObject();
+        object.addProperty("name", version);
+        object.addProperty("value", version);
+
+        return ModCheckManager.GSON.fromJson(object, MCVersion.class);
+    }
+}
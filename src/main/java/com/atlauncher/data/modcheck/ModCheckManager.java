@@ -17,68 +17,324 @@
  */
 package com.atlauncher.data.modcheck;
 
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.Network;
+import com.atlauncher.data.Instance;
+import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.network.Download;
+import com.atlauncher.network.DownloadPool;
+import com.atlauncher.utils.ModMetadataCache;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.OS;
 import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
-import com.pistacium.modcheck.mod.MCVersion;
+import com.pistacium.modcheck.mod.ModFile;
 import com.pistacium.modcheck.mod.ModInfo;
 import com.pistacium.modcheck.mod.RuleIndicator;
-import com.pistacium.modcheck.util.ModCheckUtils;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
 public class ModCheckManager {
+    private static final String FILES_URL = "https://redlime.github.io/MCSRMods/meta/v4/files.json";
 
-    private static final List<ModInfo> AVAILABLE_MODS = Lists.newArrayList();
+    // replaced as a whole once loaded, so it can be read while being reloaded
+    private static volatile ModCheckIndex index = ModCheckIndex.EMPTY;
+    private static volatile CompletableFuture<Void> loading = null;
     public static final Gson GSON = new GsonBuilder().serializeNulls().create();
     private static final RuleIndicator DEFAULT_RULE = new RuleIndicator(OS.getLWJGLClassifier().split("-")[0], "rsg", true);
 
+    /**
+     * Loads the mod list. The copy saved from last time is used straight away if there isn't one loaded yet, and is
+     * then refreshed if it's changed, so this works without a network connection as long as it's worked once before.
+     */
     public static void loadModList() {
         PerformanceManager.start();
         LogManager.debug("Loading ModCheck");
 
-        try {
-            JsonElement modElement = JsonParser.parseString(Objects.requireNonNull(ModCheckUtils.getUrlRequest("https://redlime.github.io/MCSRMods/meta/v4/files.json")));
-            for (JsonElement jsonElement : modElement.getAsJsonArray()) {
-                try {
-                    ModInfo modInfo = GSON.fromJson(jsonElement, ModInfo.class);
-                    if (modInfo.getType().equals("fabric_mod")) AVAILABLE_MODS.add(modInfo);
-                } catch (Throwable e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
-        } catch (Exception e) {
-            LogManager.logStackTrace(e);
+        SavedModList saved = readSavedModList();
+        if (saved != null && index == ModCheckIndex.EMPTY) {
+            index = createIndex(saved.files);
+        }
+
+        SavedModList fetched = fetchModList(saved);
+        if (fetched != null) {
+            index = createIndex(fetched.files);
+            saveModList(fetched);
         }
 
         LogManager.debug("Done with load ModCheck");
         PerformanceManager.end();
     }
 
+    /**
+     * Starts loading the mod list in the background, as it may need to be fetched and shouldn't hold up the launcher
+     * opening. Anything needing the mod list will wait for it if there's no copy of it loaded yet.
+     */
+    public static synchronized void loadModListInBackground() {
+        if (loading != null && !loading.isDone()) {
+            return;
+        }
+
+        loading = CompletableFuture.runAsync(ModCheckManager::loadModList, runnable -> {
+            Thread thread = new Thread(runnable, "ModCheckLoader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private static ModCheckIndex getIndex() {
+        if (loading == null) {
+            loadModListInBackground();
+        }
+
+        if (index == ModCheckIndex.EMPTY) {
+            try {
+                loading.join();
+            } catch (CompletionException | CancellationException e) {
+                LogManager.logStackTrace("Failed to load ModCheck", e);
+            }
+        }
+
+        return index;
+    }
+
+    private static ModCheckIndex createIndex(JsonArray files) {
+        List<ModInfo> mods = Lists.newArrayList();
+
+        for (JsonElement jsonElement : files) {
+            try {
+                ModInfo modInfo = GSON.fromJson(jsonElement, ModInfo.class);
+                if (modInfo.getType().equals("fabric_mod")) mods.add(modInfo);
+            } catch (Throwable e) {
+                LogManager.logStackTrace(e);
+            }
+        }
+
+        return new ModCheckIndex(mods, DEFAULT_RULE);
+    }
+
+    private static SavedModList readSavedModList() {
+        if (!Files.exists(FileSystem.MODCHECK_MOD_LIST)) {
+            return null;
+        }
+
+        try (FileReader fileReader = new FileReader(FileSystem.MODCHECK_MOD_LIST.toFile())) {
+            SavedModList saved = Gsons.DEFAULT_SLIM.fromJson(fileReader, SavedModList.class);
+
+            return saved == null || saved.files == null ? null : saved;
+        } catch (JsonParseException | IOException e) {
+            LogManager.logStackTrace("Failed to read saved ModCheck mod list", e, false);
+            return null;
+        }
+    }
+
+    private static void saveModList(SavedModList modList) {
+        try (FileWriter fileWriter = new FileWriter(FileSystem.MODCHECK_MOD_LIST.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(modList, fileWriter);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save ModCheck mod list", e, false);
+        }
+    }
+
+    /**
+     * Fetches the mod list if it's changed since the saved copy was fetched.
+     *
+     * @return the fetched mod list, or null if it hasn't changed or couldn't be fetched
+     */
+    private static SavedModList fetchModList(SavedModList saved) {
+        Request.Builder request = new Request.Builder().url(FILES_URL).get();
+
+        if (saved != null) {
+            if (saved.etag != null) {
+                request.header("If-None-Match", saved.etag);
+            }
+
+            if (saved.lastModified != null) {
+                request.header("If-Modified-Since", saved.lastModified);
+            }
+        }
+
+        try (Response response = Network.CACHED_CLIENT.newCall(request.build()).execute()) {
+            if (response.code() == 304) {
+                LogManager.debug("ModCheck mod list hasn't changed");
+                return null;
+            }
+
+            if (!response.isSuccessful() || response.body() == null) {
+                LogManager.error("Failed to fetch ModCheck mod list, got response code " + response.code());
+                return null;
+            }
+
+            SavedModList fetched = new SavedModList();
+            fetched.etag = response.header("ETag");
+            fetched.lastModified = response.header("Last-Modified");
+            fetched.files = JsonParser.parseString(response.body().string()).getAsJsonArray();
+
+            return fetched;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            LogManager.logStackTrace(saved == null ? "Failed to fetch ModCheck mod list"
+                    : "Failed to refresh ModCheck mod list, using the saved copy", e, false);
+            return null;
+        }
+    }
+
     public static List<ModCheckProject> getAvailableMods(String version) {
+        ModCheckIndex index = getIndex();
+        List<ModInfo> mods = index.getMods();
+        List<ModFile> files = index.getFiles(version);
+
         List<ModCheckProject> modResourceList = Lists.newArrayList();
-        MCVersion mcVersion = GSON.fromJson("{\"name\":\"" + version + "\",\"value\":\"" + version + "\"}", MCVersion.class);
-        for (ModInfo modInfo : AVAILABLE_MODS) {
-            ModCheckProject project = new ModCheckProject(modInfo, modInfo.getFileFromVersion(mcVersion, DEFAULT_RULE));
+        for (int i = 0; i < mods.size(); i++) {
+            ModCheckProject project = new ModCheckProject(mods.get(i), files.get(i));
             if (project.isAvailable() && project.getModFile() != null) modResourceList.add(project);
         }
         return modResourceList;
     }
 
     public static ModCheckProject getUpdatedProject(String version, ModCheckProject project) {
-        MCVersion mcVersion = GSON.fromJson("{\"name\":\"" + version + "\",\"value\":\"" + version + "\"}", MCVersion.class);
-        for (ModInfo modInfo : AVAILABLE_MODS) {
-            if (Objects.equals(project.getName(), modInfo.getName())) {
-                ModCheckProject newProject = new ModCheckProject(modInfo, modInfo.getFileFromVersion(mcVersion, DEFAULT_RULE));
-                if (project.isAvailable() && project.getModFile() != null) return newProject;
-            }
+        if (!project.isAvailable() || project.getModFile() == null) {
+            return null;
+        }
+
+        ModCheckIndex index = getIndex();
+        ModInfo modInfo = index.getMod(project.getName());
+        if (modInfo == null) {
+            return null;
+        }
+
+        return new ModCheckProject(modInfo, index.getFile(version, project.getName()));
+    }
+
+    /**
+     * Gets where the file for the given project is downloaded to before being put into instances.
+     */
+    public static Path getDownloadLocation(ModCheckProject project) {
+        return FileSystem.DOWNLOADS.resolve(project.getModFile().getName());
+    }
+
+    /**
+     * Downloads the files for the given projects into the downloads folder, fetching each file only once. Files already
+     * there which match the hash (or the size, when the mod list has no hash) from the mod list aren't fetched again.
+     *
+     * @param projects     the projects to download the files of
+     * @param progressable what to report the download progress to, or null
+     * @return the projects whose file couldn't be downloaded
+     */
+    public static Set<ModCheckProject> downloadMods(Collection<ModCheckProject> projects,
+            NetworkProgressable progressable) {
+        OkHttpClient httpClient = progressable == null ? Network.CLIENT : Network.createProgressClient(progressable);
+
+        // many projects (such as the same mod going into many instances) can share a file
+        Map<String, Download> downloadsByUrl = new LinkedHashMap<>();
+        for (ModCheckProject project : projects) {
+            downloadsByUrl.computeIfAbsent(project.getModFile().getUrl(),
+                    url -> getDownload(project, httpClient));
+        }
+
+        DownloadPool pool = new DownloadPool();
+        pool.addAll(downloadsByUrl.values());
+        DownloadPool smallPool = pool.downsize();
+
+        if (progressable != null) {
+            progressable.setTotalBytes(smallPool.totalSize());
         }
-        return null;
+
+        smallPool.downloadAll();
+
+        // downloads are compared by their files, which may not exist for failed ones, so these are looked up by identity
+        Set<Download> failedDownloads = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedDownloads.addAll(smallPool.getFailedDownloads());
+
+        return projects.stream()
+                .filter(project -> failedDownloads.contains(downloadsByUrl.get(project.getModFile().getUrl())))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Installs the given projects into each of the instances. Every file is downloaded once no matter how many
+     * instances it's going into, then the instances are installed into concurrently through the mod store.
+     *
+     * @param modsByInstance the projects to install into each instance
+     * @param forceEnable    if the mods should be enabled even if they'd normally start disabled
+     * @param progressable   what to report the download progress to, or null
+     * @return if every project was installed
+     */
+    public static boolean installMods(Map<Instance, ? extends Collection<ModCheckProject>> modsByInstance,
+            boolean forceEnable, NetworkProgressable progressable) {
+        List<ModCheckProject> allProjects = modsByInstance.values().stream().flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        Set<ModCheckProject> failed = downloadMods(allProjects, progressable);
+
+        modsByInstance.entrySet().parallelStream().forEach(entry -> {
+            Instance instance = entry.getKey();
+
+            entry.getValue().stream().filter(project -> !failed.contains(project))
+                    .forEach(project -> instance.addDownloadedFileFromModCheck(project, forceEnable));
+            instance.save();
+        });
+
+        ModMetadataCache.save();
+        ModStore.save();
+
+        failed.forEach(project -> LogManager
+                .error("Failed to download " + project.getName() + " from " + project.getModFile().getUrl()));
+
+        return failed.isEmpty();
+    }
+
+    /**
+     * Gets the download for the file of the given project into the downloads folder.
+     */
+    public static Download getDownload(ModCheckProject project, OkHttpClient httpClient) {
+        ModFile modFile = project.getModFile();
+        Download download = Download.build().setUrl(modFile.getUrl()).downloadTo(getDownloadLocation(project))
+                .withHttpClient(httpClient).withFriendlyFileName(project.getName());
+
+        if (modFile.getSha1() != null && !modFile.getSha1().isEmpty()) {
+            download = download.hash(modFile.getSha1());
+        }
+
+        if (modFile.getSize() > 0) {
+            download = download.size(modFile.getSize());
+        }
+
+        return download;
+    }
+
+    /**
+     * The mod list as saved to disk, along with what's needed to check if it's changed since.
+     */
+    private static class SavedModList {
+        public String etag;
+        public String lastModified;
+        public JsonArray files;
     }
 }
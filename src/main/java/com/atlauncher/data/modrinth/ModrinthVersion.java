@@ -19,6 +19,8 @@ package com.atlauncher.data.modrinth;
 
 import java.util.List;
 
+import org.joda.time.format.ISODateTimeFormat;
+
 import com.atlauncher.annot.ExcludeFromGsonSerialization;
 import com.google.gson.annotations.SerializedName;
 
@@ -61,6 +63,17 @@ public class ModrinthVersion {
 
     public List<String> loaders;
 
+    // parsed when first needed, as parsing the date is far slower than comparing it
+    private transient Long datePublishedMillis = null;
+
+    public long getDatePublishedMillis() {
+        if (datePublishedMillis == null) {
+            datePublishedMillis = ISODateTimeFormat.dateTimeParser().parseDateTime(datePublished).getMillis();
+        }
+
+        return datePublishedMillis;
+    }
+
     public ModrinthFile getPrimaryFile() {
         return files.stream().filter(f -> f.primary).findFirst().orElse(files.get(0));
     }
@@ -18,6 +18,9 @@
 package com.atlauncher.evnt;
 
 import java.awt.Color;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import javax.swing.UIManager;
 
@@ -35,6 +38,7 @@ public final class LogEvent {
     public final LogType type;
     public final String body;
     public final int meta;
+    public final long time = System.currentTimeMillis();
 
     public LogEvent(LogType type, String body) {
         this(type, body, CONSOLE | LOG4J);
@@ -57,38 +61,71 @@ public final class LogEvent {
     }
 
     public void post(Logger logger) {
-        if ((this.meta & CONSOLE) == CONSOLE) {
-            Console c = App.console.console;
-            c.setColor(this.type.color()).setBold(true).write("[" + Timestamper.now() + "] ");
-            c.setColor(UIManager.getColor("EditorPane.foreground")).setBold(false).write(this.body);
-        }
+        post(Collections.singletonList(this), logger);
+    }
 
-        if ((this.meta & LOG4J) == LOG4J) {
-            switch (type) {
-                case WARN: {
-                    logger.warn(body);
-                    break;
-                }
-                case ERROR: {
-                    logger.error(body);
-                    break;
-                }
-                case DEBUG: {
-                    logger.debug(body);
-                    break;
-                }
-                case INFO:
-                default: {
-                    logger.info(body);
-                    break;
+    /**
+     * Posts a batch of events, writing them to the console in a single update and merging runs of events with the
+     * same type into a single log4j call.
+     */
+    public static void post(List<LogEvent> events, Logger logger) {
+        Console.Batch consoleBatch = App.console == null ? null : App.console.console.batch();
+        Color foreground = UIManager.getColor("EditorPane.foreground");
+
+        StringBuilder log4jBody = new StringBuilder();
+        LogType log4jType = null;
+
+        for (LogEvent event : events) {
+            if (consoleBatch != null && (event.meta & CONSOLE) == CONSOLE) {
+                consoleBatch.write("[" + Timestamper.was(new Date(event.time)) + "] ", event.type.color(), true);
+                consoleBatch.write(event.body, foreground, false);
+            }
+
+            if ((event.meta & LOG4J) == LOG4J) {
+                if (log4jType != null && log4jType != event.type) {
+                    log(logger, log4jType, log4jBody.toString());
+                    log4jBody.setLength(0);
                 }
+
+                log4jType = event.type;
+                log4jBody.append(event.body);
+            }
+        }
+
+        if (log4jType != null) {
+            log(logger, log4jType, log4jBody.toString());
+        }
+
+        if (consoleBatch != null) {
+            consoleBatch.flush();
+        }
+    }
+
+    private static void log(Logger logger, LogType type, String body) {
+        switch (type) {
+            case WARN: {
+                logger.warn(body);
+                break;
+            }
+            case ERROR: {
+                logger.error(body);
+                break;
+            }
+            case DEBUG: {
+                logger.debug(body);
+                break;
+            }
+            case INFO:
+            default: {
+                logger.info(body);
+                break;
             }
         }
     }
 
     @Override
     public String toString() {
-        return "[" + Timestamper.now() + "] [" + this.type.name() + "]" + this.body;
+        return "[" + Timestamper.was(new Date(this.time)) + "] [" + this.type.name() + "]" + this.body;
     }
 
     public enum LogType {
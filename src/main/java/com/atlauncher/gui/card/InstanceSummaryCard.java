@@ -0,0 +1,72 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.gui.card;
+
+import java.awt.BorderLayout;
+import java.io.File;
+
+import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
+import javax.swing.JPanel;
+import javax.swing.JSplitPane;
+import javax.swing.JTextPane;
+import javax.swing.border.TitledBorder;
+
+import org.mini2Dx.gettext.GetText;
+
+import com.atlauncher.App;
+import com.atlauncher.builders.HTMLBuilder;
+import com.atlauncher.data.InstanceSummary;
+import com.atlauncher.gui.components.ImagePanel;
+import com.atlauncher.utils.Utils;
+
+/**
+ * Class for displaying an instance from its cached summary in the Instances Tab, while the instances are still
+ * loading.
+ */
+@SuppressWarnings("serial")
+public class InstanceSummaryCard extends JPanel {
+    public InstanceSummaryCard(InstanceSummary summary) {
+        super(new BorderLayout());
+
+        this.setBorder(new TitledBorder(null, summary.name, TitledBorder.DEFAULT_JUSTIFICATION,
+                TitledBorder.DEFAULT_POSITION, App.THEME.getBoldFont().deriveFont(15f)));
+
+        ImageIcon image = summary.image == null ? null : Utils.getIconImage(new File(summary.image));
+        if (image == null) {
+            image = Utils.getIconImage("/assets/image/default-image.png");
+        }
+
+        JTextPane details = new JTextPane();
+        details.setContentType("text/html");
+        details.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
+        details.setEditable(false);
+        details.setHighlighter(null);
+        details.setText(new HTMLBuilder().text((summary.pack == null ? "" : summary.pack + " ")
+                + (summary.version == null ? "" : summary.version) + "<br/>" + GetText.tr("Minecraft Version") + ": "
+                + summary.minecraftVersion + "<br/><br/>" + GetText.tr("Loading...")).build());
+
+        JSplitPane splitter = new JSplitPane();
+        splitter.setEnabled(false);
+        splitter.setLeftComponent(new ImagePanel(image.getImage()));
+        splitter.setRightComponent(details);
+        splitter.setBorder(BorderFactory.createEmptyBorder());
+
+        this.add(splitter, BorderLayout.CENTER);
+    }
+}
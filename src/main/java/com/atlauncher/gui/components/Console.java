@@ -18,13 +18,20 @@
 package com.atlauncher.gui.components;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.text.AbstractDocument;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.BoxView;
 import javax.swing.text.ComponentView;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.DefaultStyledDocument.ElementSpec;
+import javax.swing.text.Document;
 import javax.swing.text.Element;
 import javax.swing.text.IconView;
 import javax.swing.text.LabelView;
@@ -39,6 +46,8 @@ import com.atlauncher.App;
 
 @SuppressWarnings("serial")
 public final class Console extends JTextPane {
+    private static final char[] NEWLINE = { '\n' };
+
     private final SimpleAttributeSet attrs = new SimpleAttributeSet();
 
     public Console() {
@@ -62,6 +71,13 @@ public final class Console extends JTextPane {
         return true;
     }
 
+    /**
+     * Starts a batch of writes, which are all added to the console in one document update when flushed.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
     public void write(String str) {
         try {
             this.getDocument().insertString(this.getDocument().getLength(), str, this.attrs);
@@ -70,6 +86,69 @@ public final class Console extends JTextPane {
             ex.printStackTrace(System.err);
         }
     }
+
+    public final class Batch {
+        private final List<ElementSpec> specs = new ArrayList<>();
+        private final AttributeSet paragraphAttributes = getStyledDocument().getParagraphElement(0).getAttributes();
+
+        public Batch write(String str, Color color, boolean bold) {
+            SimpleAttributeSet attributes = new SimpleAttributeSet();
+            StyleConstants.setForeground(attributes, color);
+            StyleConstants.setBold(attributes, bold);
+
+            int start = 0;
+            int newline;
+            while ((newline = str.indexOf('\n', start)) != -1) {
+                if (newline != start) {
+                    specs.add(new ElementSpec(attributes, ElementSpec.ContentType, str.substring(start, newline)
+                            .toCharArray(), 0, newline - start));
+                }
+
+                // a new line ends the current paragraph and starts another
+                specs.add(new ElementSpec(attributes, ElementSpec.ContentType, NEWLINE, 0, 1));
+                specs.add(new ElementSpec(null, ElementSpec.EndTagType));
+                specs.add(new ElementSpec(paragraphAttributes, ElementSpec.StartTagType));
+
+                start = newline + 1;
+            }
+
+            if (start < str.length()) {
+                specs.add(new ElementSpec(attributes, ElementSpec.ContentType, str.substring(start).toCharArray(), 0,
+                        str.length() - start));
+            }
+
+            return this;
+        }
+
+        public void flush() {
+            if (specs.isEmpty()) {
+                return;
+            }
+
+            ElementSpec[] data = specs.toArray(new ElementSpec[0]);
+            specs.clear();
+
+            SwingUtilities.invokeLater(() -> {
+                try {
+                    ((ConsoleDocument) getDocument()).append(data);
+                    setCaretPosition(getDocument().getLength());
+                } catch (BadLocationException ex) {
+                    ex.printStackTrace(System.err);
+                }
+            });
+        }
+    }
+}
+
+/**
+ * A document which can have many differently styled runs of text appended to it in a single update, rather than
+ * firing events and relaying out for each one.
+ */
+@SuppressWarnings("serial")
+class ConsoleDocument extends DefaultStyledDocument {
+    public void append(ElementSpec[] data) throws BadLocationException {
+        insert(getLength(), data);
+    }
 }
 
 // https://stackoverflow.com/a/13375811
@@ -81,6 +160,11 @@ class WrapEditorKit extends StyledEditorKit {
         return defaultFactory;
     }
 
+    @Override
+    public Document createDefaultDocument() {
+        return new ConsoleDocument();
+    }
+
 }
 
 class WrapColumnFactory implements ViewFactory {
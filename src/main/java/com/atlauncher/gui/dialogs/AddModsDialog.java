@@ -272,7 +272,7 @@ public final class AddModsDialog extends JDialog {
 
                     ProgressDialog<?> dialog = new ProgressDialog<>(GetText.tr("Installing " + mod.getName()));
                     dialog.addThread(new Thread(() -> {
-                        instance.addFileFromModCheck(mod, true);
+                        instance.addFileFromModCheck(mod, true, dialog);
                         dialog.close();
                         DialogManager.okDialog().setTitle(GetText.tr("Done!", mod.getName()))
                             .setContent(GetText.tr("Successfully downloaded {0}!", mod.getName()))
@@ -25,13 +25,14 @@ import java.awt.event.ItemEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.swing.AbstractButton;
 import javax.swing.JButton;
@@ -51,9 +52,8 @@ import com.atlauncher.App;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.data.DisableableMod;
 import com.atlauncher.data.Instance;
+import com.atlauncher.data.ModUpdatePlan;
 import com.atlauncher.data.modcheck.ModCheckProject;
-import com.atlauncher.data.modrinth.ModrinthProject;
-import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.gui.components.ModsJCheckBox;
 import com.atlauncher.gui.handlers.ModsJCheckBoxTransferHandler;
 import com.atlauncher.gui.layouts.WrapLayout;
@@ -61,7 +61,7 @@ import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.FileUtils;
-import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.ModUpdateResolver;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.Utils;
 
@@ -407,26 +407,56 @@ public class EditModsDialog extends JDialog {
     }
 
     private void checkForUpdates() {
-        ArrayList<ModsJCheckBox> mods = new ArrayList<>();
-        mods.addAll(enabledMods);
-        mods.addAll(disabledMods);
+        List<DisableableMod> mods = Stream.concat(enabledMods.stream(), disabledMods.stream())
+                .filter(AbstractButton::isSelected).map(ModsJCheckBox::getDisableableMod)
+                .filter(DisableableMod::isUpdatable).collect(Collectors.toList());
 
-        ProgressDialog<?> progressDialog = new ProgressDialog<>(GetText.tr("Checking For Updates"), mods.size(),
-                GetText.tr("Checking For Updates"), this);
+        ProgressDialog<ModUpdatePlan> progressDialog = new ProgressDialog<>(GetText.tr("Checking For Updates"), 0,
+                GetText.tr("Checking For Updates"), "Cancelled checking for updates", this);
         progressDialog.addThread(new Thread(() -> {
-            for (ModsJCheckBox mod : mods) {
-                if (mod.isSelected() && mod.getDisableableMod().isUpdatable()) {
-                    mod.getDisableableMod().checkForUpdate(progressDialog, instance);
-                }
-                progressDialog.doneTask();
-            }
-
+            progressDialog.setReturnValue(ModUpdateResolver.resolve(instance, mods));
             progressDialog.close();
         }));
         progressDialog.start();
 
-        DialogManager.okDialog().setTitle(GetText.tr("Checking For Updates Complete"))
-                .setContent(GetText.tr("The selected mods have been updated (if available).")).show();
+        ModUpdatePlan plan = progressDialog.getReturnValue();
+
+        if (plan == null || plan.isEmpty()) {
+            DialogManager.okDialog().setTitle(GetText.tr("Checking For Updates Complete"))
+                    .setContent(GetText.tr("The selected mods are all up to date.")).show();
+            return;
+        }
+
+        String updates = plan.getUpdates().stream()
+                .map(update -> update.mod.getName() + " (" + update.getNewVersion() + ")")
+                .collect(Collectors.joining("<br/>"));
+
+        int ret = DialogManager.yesNoDialog().setTitle(GetText.tr("Updates Available"))
+                .setContent(new HTMLBuilder().center().text(GetText.tr(
+                        "Updates are available for the following mods:<br/><br/>{0}<br/><br/>Do you want to update them now?",
+                        updates)).build())
+                .setType(DialogManager.INFO).show();
+
+        if (ret != DialogManager.YES_OPTION) {
+            return;
+        }
+
+        ProgressDialog<Boolean> updateDialog = new ProgressDialog<>(GetText.tr("Updating Mods"), 0,
+                GetText.tr("Updating Mods"), "Cancelled updating mods", this);
+        updateDialog.addThread(new Thread(() -> {
+            updateDialog.setReturnValue(plan.apply(updateDialog));
+            updateDialog.close();
+        }));
+        updateDialog.start();
+
+        if (Boolean.TRUE.equals(updateDialog.getReturnValue())) {
+            DialogManager.okDialog().setTitle(GetText.tr("Checking For Updates Complete"))
+                    .setContent(GetText.tr("The selected mods have been updated.")).show();
+        } else {
+            DialogManager.okDialog().setTitle(GetText.tr("Checking For Updates Complete"))
+                    .setContent(GetText.tr("Some mods couldn't be updated. Please try again later."))
+                    .setType(DialogManager.ERROR).show();
+        }
 
         reloadPanels();
     }
@@ -516,58 +546,22 @@ public class EditModsDialog extends JDialog {
                             .collect(Collectors.toList()));
 
             if (!App.settings.dontCheckModsOnModrinth) {
-                Map<String, ModsJCheckBox> sha1Hashes = new HashMap<>();
+                Map<Path, ModsJCheckBox> modsToFind = new HashMap<>();
 
                 modsToRefresh.stream()
                         .filter(mjc -> mjc.getDisableableMod().getFile(instance.ROOT, instance.id) != null)
-                        .forEach(mjc -> {
-                            try {
-                                sha1Hashes.put(
-                                        Hashing.sha1(
-                                                mjc.getDisableableMod().getFile(instance.ROOT, instance.id).toPath())
-                                                .toString(),
-                                        mjc);
-                            } catch (Throwable t) {
-                                LogManager.logStackTrace(t);
-                            }
-                        });
-
-                if (sha1Hashes.size() != 0) {
-                    Set<String> keys = sha1Hashes.keySet();
-                    Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                            .getVersionsFromSha1Hashes(keys.toArray(new String[0]));
-
-                    if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                        String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                                .toArray(String[]::new);
-
-                        if (projectIdsFound.length != 0) {
-                            Map<String, ModrinthProject> foundProjects = ModrinthApi.getProjectsAsMap(projectIdsFound);
-
-                            if (foundProjects != null) {
-                                for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                                    ModrinthVersion version = entry.getValue();
-                                    ModrinthProject project = foundProjects.get(version.projectId);
-
-                                    if (project != null) {
-                                        DisableableMod dm = sha1Hashes.get(entry.getKey()).getDisableableMod();
-
-                                        // add Modrinth information
-                                        dm.modrinthProject = project;
-                                        dm.modrinthVersion = version;
-                                        dm.name = project.title;
-                                        dm.description = project.description;
-
-                                        LogManager
-                                                .debug(String.format(
-                                                        "Found matching mod from Modrinth called %s with file %s",
-                                                        project.title, version.name));
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+                        .forEach(mjc -> modsToFind
+                                .put(mjc.getDisableableMod().getFile(instance.ROOT, instance.id).toPath(), mjc));
+
+                ModrinthApi.findFiles(modsToFind.keySet()).forEach((path, found) -> {
+                    DisableableMod dm = modsToFind.get(path).getDisableableMod();
+
+                    // add Modrinth information
+                    dm.modrinthProject = found.left();
+                    dm.modrinthVersion = found.right();
+                    dm.name = found.left().title;
+                    dm.description = found.left().description;
+                });
             }
 
             instance.save();
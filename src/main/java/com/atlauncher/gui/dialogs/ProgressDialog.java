@@ -27,12 +27,14 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import org.mini2Dx.gettext.GetText;
 
 import com.atlauncher.App;
 import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.network.DownloadProgress;
 import com.atlauncher.utils.Utils;
 
 @SuppressWarnings("serial")
@@ -47,8 +49,8 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     private final JLabel label = new JLabel();
     private int tasksToDo;
     private int tasksDone;
-    private double totalBytes = 0; // Total number of bytes to download
-    private double downloadedBytes = 0; // Total number of bytes downloaded
+    private final DownloadProgress downloadProgress = new DownloadProgress(
+            progress -> SwingUtilities.invokeLater(() -> setSubProgress(progress.getPercent(), progress.getLabel())));
 
     public ProgressDialog(String title, int initMax, String initLabelText, String initClosedLogMessage,
             boolean showProgressBar, Window parent) {
@@ -154,6 +156,7 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     }
 
     public void close() {
+        downloadProgress.stop();
         setVisible(false); // Remove the dialog
         dispose(); // Dispose the dialog
     }
@@ -162,22 +165,6 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
         this.label.setText(text);
     }
 
-    private void updateProgressBar() {
-        double progress;
-        if (this.totalBytes > 0) {
-            progress = (this.downloadedBytes / this.totalBytes) * 100.0;
-        } else {
-            progress = 0.0;
-        }
-        double done = this.downloadedBytes / 1024.0 / 1024.0;
-        double toDo = this.totalBytes / 1024.0 / 1024.0;
-        if (done > toDo) {
-            setSubProgress(100.0, String.format("%.2f MB", done));
-        } else {
-            setSubProgress(progress, String.format("%.2f MB / %.2f MB", done, toDo));
-        }
-    }
-
     public void setSubProgress(double percent, String label) {
         if (!subProgressBar.isVisible()) {
             subProgressBar.setVisible(true);
@@ -222,30 +209,29 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
 
     @Override
     public void setTotalBytes(long bytes) {
-        this.downloadedBytes = 0L;
-        this.totalBytes = bytes;
-
         subProgressBar.setVisible(bytes > 0L);
 
         if (bytes > 0L) {
-            this.updateProgressBar();
+            downloadProgress.reset(bytes);
+        } else {
+            downloadProgress.stop();
         }
     }
 
     @Override
     public void addDownloadedBytes(long bytes) {
-        this.downloadedBytes += bytes;
-        this.updateProgressBar();
+        downloadProgress.addDownloaded(bytes);
     }
 
     public void clearDownloadedBytes() {
-        this.downloadedBytes = 0L;
-        subProgressBar.setVisible(false);
+        downloadProgress.stop();
+
+        // progress updates are shown on the event thread, so hide it there too so it's not shown again after
+        SwingUtilities.invokeLater(() -> subProgressBar.setVisible(false));
     }
 
     @Override
     public void addBytesToDownload(long bytes) {
-        this.totalBytes += bytes;
-        this.updateProgressBar();
+        downloadProgress.addTotal(bytes);
     }
 }
@@ -21,12 +21,11 @@ import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 
 import javax.swing.JComponent;
 import javax.swing.TransferHandler;
@@ -38,16 +37,11 @@ import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.data.DisableableMod;
 import com.atlauncher.data.ModPlatform;
 import com.atlauncher.data.Type;
-import com.atlauncher.data.minecraft.FabricMod;
-import com.atlauncher.data.minecraft.MCMod;
-import com.atlauncher.data.modrinth.ModrinthProject;
-import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.gui.dialogs.EditModsDialog;
 import com.atlauncher.gui.dialogs.FileTypeDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.managers.DialogManager;
-import com.atlauncher.managers.LogManager;
-import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.ModMetadataCache;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.Utils;
 
@@ -150,23 +144,7 @@ public class ModsJCheckBoxTransferHandler extends TransferHandler {
                     mod.file = file.getName();
                     mod.type = type;
                     mod.optional = true;
-                    mod.name = file.getName();
-                    mod.version = "Unknown";
-                    mod.description = null;
-
-                    MCMod mcMod = Utils.getMCModForFile(file);
-                    if (mcMod != null) {
-                        mod.name = Optional.ofNullable(mcMod.name).orElse(file.getName());
-                        mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
-                        mod.description = Optional.ofNullable(mcMod.description).orElse(null);
-                    } else {
-                        FabricMod fabricMod = Utils.getFabricModForFile(file);
-                        if (fabricMod != null) {
-                            mod.name = Optional.ofNullable(fabricMod.name).orElse(file.getName());
-                            mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
-                            mod.description = Optional.ofNullable(fabricMod.description).orElse(null);
-                        }
-                    }
+                    mod.readMetadataFromFile(file);
 
                     if (!copyTo.exists()) {
                         copyTo.mkdirs();
@@ -178,65 +156,29 @@ public class ModsJCheckBoxTransferHandler extends TransferHandler {
                 }
 
                 if (!App.settings.dontCheckModsOnModrinth) {
-                    Map<String, DisableableMod> sha1Hashes = new HashMap<>();
-
-                    modsAdded.stream()
-                            .filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
-                            .filter(dm -> dm.getFile(dialog.instance.ROOT, dialog.instance.id) != null).forEach(dm -> {
-                                try {
-                                    sha1Hashes.put(Hashing
-                                            .sha1(dm.disabled ? dm.getDisabledFile(dialog.instance).toPath()
-                                                    : dm
-                                                            .getFile(dialog.instance.ROOT, dialog.instance.id).toPath())
-                                            .toString(), dm);
-                                } catch (Throwable t) {
-                                    LogManager.logStackTrace(t);
-                                }
-                            });
-
-                    if (sha1Hashes.size() != 0) {
-                        Set<String> keys = sha1Hashes.keySet();
-                        Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                                .getVersionsFromSha1Hashes(keys.toArray(new String[keys.size()]));
-
-                        if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                            String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                                    .toArray(String[]::new);
-
-                            if (projectIdsFound.length != 0) {
-                                Map<String, ModrinthProject> foundProjects = ModrinthApi
-                                        .getProjectsAsMap(projectIdsFound);
-
-                                if (foundProjects != null) {
-                                    for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                                        ModrinthVersion version = entry.getValue();
-                                        ModrinthProject project = foundProjects.get(version.projectId);
-
-                                        if (project != null) {
-                                            DisableableMod dm = sha1Hashes.get(entry.getKey());
-
-                                            // add Modrinth information
-                                            dm.modrinthProject = project;
-                                            dm.modrinthVersion = version;
-
-                                            if (App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
-                                                dm.name = project.title;
-                                                dm.description = project.description;
-                                            }
-
-                                            LogManager
-                                                    .debug(String.format(
-                                                            "Found matching mod from Modrinth called %s with file %s",
-                                                            project.title, version.name));
-                                        }
-                                    }
-                                }
-                            }
+                    Map<Path, DisableableMod> modsToFind = new HashMap<>();
+
+                    modsAdded.stream().filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
+                            .filter(dm -> dm.getFile(dialog.instance.ROOT, dialog.instance.id) != null)
+                            .forEach(dm -> modsToFind.put(dm.disabled ? dm.getDisabledFile(dialog.instance).toPath()
+                                    : dm.getFile(dialog.instance.ROOT, dialog.instance.id).toPath(), dm));
+
+                    ModrinthApi.findFiles(modsToFind.keySet()).forEach((path, found) -> {
+                        DisableableMod dm = modsToFind.get(path);
+
+                        // add Modrinth information
+                        dm.modrinthProject = found.left();
+                        dm.modrinthVersion = found.right();
+
+                        if (App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
+                            dm.name = found.left().title;
+                            dm.description = found.left().description;
                         }
-                    }
+                    });
                 }
 
                 dialog.instance.launcher.mods.addAll(modsAdded);
+                ModMetadataCache.save();
 
                 progressDialog.close();
             }));
@@ -53,7 +53,6 @@ import javax.swing.table.TableColumnModel;
 
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
-import org.joda.time.format.ISODateTimeFormat;
 import org.mini2Dx.gettext.GetText;
 
 import com.atlauncher.App;
@@ -426,7 +425,7 @@ public final class VanillaPacksTab extends JPanel implements Tab {
         DateTimeFormatter fmt = DateTimeFormat.forPattern(App.settings.dateFormat);
         minecraftVersions.stream().forEach(mv -> {
             minecraftVersionTableModel.addRow(new String[] { mv.id,
-                    fmt.print(ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime)), mv.type.toString() });
+                    fmt.print(mv.getReleaseTimeMillis()), mv.type.toString() });
         });
 
         if (minecraftVersionTable.getRowCount() >= 1) {
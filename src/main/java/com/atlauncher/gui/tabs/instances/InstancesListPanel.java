@@ -29,8 +29,10 @@ import com.atlauncher.constants.UIConstants;
 import com.atlauncher.evnt.listener.RelocalizationListener;
 import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.card.InstanceCard;
+import com.atlauncher.gui.card.InstanceSummaryCard;
 import com.atlauncher.gui.card.NilCard;
 import com.atlauncher.gui.tabs.InstancesTab;
+import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.viewmodel.base.IInstancesTabViewModel;
 
 public final class InstancesListPanel extends JPanel
@@ -68,6 +70,14 @@ public final class InstancesListPanel extends JPanel
                 gbc.gridy++;
             });
 
+            // show what we know about the instances until they've loaded
+            if (!InstanceManager.isLoaded()) {
+                InstanceManager.getInstanceSummaries().forEach(summary -> {
+                    this.add(new InstanceSummaryCard(summary), gbc);
+                    gbc.gridy++;
+                });
+            }
+
             if (this.getComponentCount() == 0) {
                 this.add(this.nilCard, gbc);
             }
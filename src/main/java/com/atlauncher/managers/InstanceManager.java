@@ -19,11 +19,21 @@ package com.atlauncher.managers;
 
 import java.io.File;
 import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 import javax.swing.SwingUtilities;
 
@@ -31,13 +41,20 @@ import com.atlauncher.Data;
 import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceSummary;
 import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.ModFileTracker;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.Utils;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 public class InstanceManager {
     private static final List<Listener> listeners = new LinkedList<>();
+    private static final Object LOAD_LOCK = new Object();
+
+    private static volatile CompletableFuture<Void> loading = CompletableFuture.completedFuture(null);
+    private static volatile List<InstanceSummary> summaries = new ArrayList<>();
 
     public static synchronized void addListener(Listener listener) {
         listeners.add(listener);
@@ -56,82 +73,176 @@ public class InstanceManager {
     }
 
     public static List<Instance> getInstances() {
+        awaitInstances();
         return Data.INSTANCES;
     }
 
     public static ArrayList<Instance> getInstancesSorted() {
+        awaitInstances();
         ArrayList<Instance> instances = new ArrayList<>(Data.INSTANCES);
         instances.sort(Comparator.comparing(i -> i.launcher.name));
         return instances;
     }
 
     /**
-     * Loads the user installed Instances
+     * @return if the instances have finished loading in the background
+     */
+    public static boolean isLoaded() {
+        return loading.isDone();
+    }
+
+    /**
+     * Waits for the instances to finish loading if they're loading in the background.
+     */
+    public static void awaitInstances() {
+        try {
+            loading.join();
+        } catch (CompletionException | CancellationException e) {
+            LogManager.logStackTrace("Failed to load instances", e);
+        }
+    }
+
+    /**
+     * Gets the cached summaries of the instances, which can be shown while the instances are still loading.
+     */
+    public static List<InstanceSummary> getInstanceSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Loads the cached instance summaries, and then starts loading the user installed Instances in the background.
+     * Anything needing the instances will wait for them to finish loading.
+     */
+    public static void loadInstancesInBackground() {
+        loadInstanceSummaries();
+
+        // on its own thread rather than a shared pool, so nothing waiting on it can hold up the loading
+        loading = CompletableFuture.runAsync(() -> {
+            loadInstances();
+            post();
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "InstanceLoader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private static void loadInstanceSummaries() {
+        if (!Files.exists(FileSystem.INSTANCE_SUMMARIES)) {
+            return;
+        }
+
+        try (FileReader fileReader = new FileReader(FileSystem.INSTANCE_SUMMARIES.toFile())) {
+            InstanceSummary[] cached = Gsons.DEFAULT_SLIM.fromJson(fileReader, InstanceSummary[].class);
+
+            if (cached != null) {
+                summaries = Arrays.stream(cached).filter(s -> s != null && s.folder != null && s.isValid())
+                        .sorted(Comparator.comparing(s -> s.name == null ? "" : s.name))
+                        .collect(Collectors.toList());
+            }
+        } catch (Exception e) {
+            LogManager.logStackTrace("Failed to read cached instance summaries", e, false);
+        }
+    }
+
+    private static void saveInstanceSummaries(List<InstanceSummary> instanceSummaries) {
+        try (FileWriter fileWriter = new FileWriter(FileSystem.INSTANCE_SUMMARIES.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(instanceSummaries, fileWriter);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save cached instance summaries", e, false);
+        }
+    }
+
+    /**
+     * Loads the user installed Instances, reading each instance.json in parallel
      */
     public static void loadInstances() {
-        PerformanceManager.start();
-        LogManager.debug("Loading instances");
-        Data.INSTANCES.clear();
-
-        for (String folder : Optional.of(FileSystem.INSTANCES.toFile().list(Utils.getInstanceFileFilter()))
-                .orElse(new String[0])) {
-            File instanceDir = FileSystem.INSTANCES.resolve(folder).toFile();
-
-            Instance instance = null;
-
-            try {
-                try (FileReader fileReader = new FileReader(new File(instanceDir, "instance.json"))) {
-                    instance = Gsons.MINECRAFT.fromJson(fileReader, Instance.class);
-                    instance.ROOT = instanceDir.toPath();
-                    LogManager.debug("Loaded instance from " + instanceDir);
-
-                    if (instance.launcher == null) {
-                        instance = null;
-                        throw new JsonSyntaxException("Error parsing instance.json as Instance");
-                    }
-                } catch (JsonIOException | JsonSyntaxException e) {
-                    LogManager.logStackTrace("Failed to load instance in the folder " + instanceDir, e);
-                    continue;
+        synchronized (LOAD_LOCK) {
+            PerformanceManager.start();
+            LogManager.debug("Loading instances");
+
+            String[] folders = Optional.ofNullable(FileSystem.INSTANCES.toFile().list(Utils.getInstanceFileFilter()))
+                    .orElse(new String[0]);
+
+            // ordered so the instances end up in the same order every time
+            List<Instance> instances = Arrays.stream(folders).parallel().map(InstanceManager::loadInstance)
+                    .filter(Objects::nonNull).collect(Collectors.toList());
+
+            Data.INSTANCES.clear();
+            Data.INSTANCES.addAll(instances);
+
+            List<InstanceSummary> instanceSummaries = instances.parallelStream().map(instance -> {
+                try {
+                    return InstanceSummary.of(instance, Files.readAttributes(
+                            instance.getRoot().resolve("instance.json"), BasicFileAttributes.class));
+                } catch (IOException e) {
+                    return null;
                 }
+            }).filter(Objects::nonNull).sorted(Comparator.comparing(s -> s.name)).collect(Collectors.toList());
 
-                if (instance.launcher.numPlays == null) {
-                    LogManager.info(String.format("Converting instance \"%s\" numPlays/lastPlayed",
-                            instance.launcher.name));
-                    instance.launcher.numPlays = instance.numPlays;
-                    instance.launcher.lastPlayed = instance.lastPlayed;
+            summaries = instanceSummaries;
+            saveInstanceSummaries(instanceSummaries);
 
-                    instance.save();
-                }
+            LogManager.debug("Finished loading instances");
+            PerformanceManager.end();
+        }
+    }
+
+    private static Instance loadInstance(String folder) {
+        File instanceDir = FileSystem.INSTANCES.resolve(folder).toFile();
+
+        Instance instance;
 
-                if (instance.launcher.account != null
-                        && !AccountManager.isAccountByName(instance.launcher.account)) {
-                    LogManager.warn(
-                            String.format("No account with name of %s, so setting instance account back to default",
-                                    instance.launcher.account));
-                    instance.launcher.account = null;
-                    instance.save();
+        try {
+            try (FileReader fileReader = new FileReader(new File(instanceDir, "instance.json"))) {
+                instance = Gsons.MINECRAFT.fromJson(fileReader, Instance.class);
+
+                if (instance == null || instance.launcher == null) {
+                    throw new JsonSyntaxException("Error parsing instance.json as Instance");
                 }
 
-                Data.INSTANCES.add(instance);
-            } catch (Exception e2) {
-                LogManager.logStackTrace("Failed to load instance in the folder " + instanceDir, e2);
-                continue;
+                instance.ROOT = instanceDir.toPath();
+                LogManager.debug("Loaded instance from " + instanceDir);
+            } catch (JsonIOException | JsonSyntaxException e) {
+                LogManager.logStackTrace("Failed to load instance in the folder " + instanceDir, e);
+                return null;
+            }
+
+            boolean needsSave = false;
+
+            if (instance.launcher.numPlays == null) {
+                LogManager.info(String.format("Converting instance \"%s\" numPlays/lastPlayed",
+                        instance.launcher.name));
+                instance.launcher.numPlays = instance.numPlays;
+                instance.launcher.lastPlayed = instance.lastPlayed;
+                needsSave = true;
+            }
+
+            if (instance.launcher.account != null && !AccountManager.isAccountByName(instance.launcher.account)) {
+                LogManager.warn(
+                        String.format("No account with name of %s, so setting instance account back to default",
+                                instance.launcher.account));
+                instance.launcher.account = null;
+                needsSave = true;
             }
-        }
 
-        // convert all old system instances into just a Vanilla instance
-        Data.INSTANCES.forEach(instance -> {
+            // convert all old system instances into just a Vanilla instance
             if (instance.getPack() != null && instance.getPack().system) {
                 instance.launcher.vanillaInstance = true;
                 instance.launcher.packId = 0;
                 instance.launcher.pack = "Minecraft";
+                needsSave = true;
+            }
 
+            if (needsSave) {
                 instance.save();
             }
-        });
 
-        LogManager.debug("Finished loading instances");
-        PerformanceManager.end();
+            return instance;
+        } catch (Exception e2) {
+            LogManager.logStackTrace("Failed to load instance in the folder " + instanceDir, e2);
+            return null;
+        }
     }
 
     public static void setInstanceVisbility(Instance instance, boolean collapsed) {
@@ -150,7 +261,10 @@ public class InstanceManager {
     }
 
     public static void removeInstance(Instance instance) {
+        awaitInstances();
+
         if (Data.INSTANCES.remove(instance)) {
+            ModFileTracker.stopTracking(instance.getRoot());
             FileUtils.delete(instance.getRoot(), true);
             post();
         }
@@ -163,6 +277,7 @@ public class InstanceManager {
      * @return True if there is an instance with the same name already
      */
     public static boolean isInstance(String name) {
+        awaitInstances();
         return Data.INSTANCES.stream()
                 .anyMatch(i -> i.getSafeName().equalsIgnoreCase(name.replaceAll("[^A-Za-z0-9]", "")));
     }
@@ -174,6 +289,7 @@ public class InstanceManager {
      * @return True if the instance is found from the name
      */
     public static boolean isInstanceByName(String name) {
+        awaitInstances();
         return Data.INSTANCES.stream().anyMatch(i -> i.launcher.name.equalsIgnoreCase(name));
     }
 
@@ -184,6 +300,7 @@ public class InstanceManager {
      * @return True if the instance is found from the name
      */
     public static boolean isInstanceBySafeName(String name) {
+        awaitInstances();
         return Data.INSTANCES.stream().anyMatch(i -> i.getSafeName().equalsIgnoreCase(name));
     }
 
@@ -194,6 +311,7 @@ public class InstanceManager {
      * @return Instance if the instance is found from the name
      */
     public static Instance getInstanceByName(String name) {
+        awaitInstances();
         return Data.INSTANCES.stream().filter(i -> i.launcher.name.equalsIgnoreCase(name)).findFirst().orElse(null);
     }
 
@@ -204,10 +322,13 @@ public class InstanceManager {
      * @return Instance if the instance is found from the name
      */
     public static Instance getInstanceBySafeName(String name) {
+        awaitInstances();
         return Data.INSTANCES.stream().filter(i -> i.getSafeName().equalsIgnoreCase(name)).findFirst().orElse(null);
     }
 
     public static void cloneInstance(Instance instance, String clonedName) {
+        awaitInstances();
+
         Instance clonedInstance = Gsons.MINECRAFT.fromJson(Gsons.MINECRAFT.toJson(instance), Instance.class);
 
         if (clonedInstance == null) {
@@ -216,7 +337,7 @@ public class InstanceManager {
             clonedInstance.launcher.name = clonedName;
             clonedInstance.ROOT = FileSystem.INSTANCES.resolve(clonedInstance.getSafeName());
             FileUtils.createDirectory(clonedInstance.getRoot());
-            Utils.copyDirectory(instance.getRoot().toFile(), clonedInstance.getRoot().toFile());
+            ModStore.cloneDirectory(instance.getRoot(), clonedInstance.getRoot());
             clonedInstance.save();
             Data.INSTANCES.add(clonedInstance);
             post();
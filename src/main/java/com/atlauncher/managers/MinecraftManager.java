@@ -19,18 +19,25 @@ package com.atlauncher.managers;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.joda.time.format.ISODateTimeFormat;
-
 import com.atlauncher.Data;
 import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.data.minecraft.JavaRuntimes;
+import com.atlauncher.data.minecraft.MinecraftVersionIndex;
 import com.atlauncher.data.minecraft.VersionManifest;
 import com.atlauncher.data.minecraft.VersionManifestVersion;
 import com.atlauncher.data.minecraft.VersionManifestVersionType;
@@ -39,25 +46,47 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 public class MinecraftManager {
+    // the modified time and size of the minecraft_versions.json the current index was made from
+    private static long loadedManifestModified = -1;
+    private static long loadedManifestSize = -1;
+
+    // the config the disabled versions were read from, which is replaced rather than changed when reloaded
+    private static Map<String, Object> disabledVersionsConfig = null;
+    private static Map<String, Object> disabledVersionsConfigOverrides = null;
+    private static final Map<VersionManifestVersionType, Set<String>> disabledVersions = new EnumMap<>(
+            VersionManifestVersionType.class);
 
     /**
-     * Loads info about the different Minecraft versions
+     * Loads info about the different Minecraft versions. This does nothing if minecraft_versions.json hasn't changed
+     * since it was last loaded.
      */
-    public static void loadMinecraftVersions() {
+    public static synchronized void loadMinecraftVersions() {
         PerformanceManager.start();
         LogManager.debug("Loading Minecraft versions");
 
-        Data.MINECRAFT.clear();
+        Path manifestPath = FileSystem.JSON.resolve("minecraft_versions.json");
 
         try {
-            Path manifestPath = FileSystem.JSON.resolve("minecraft_versions.json");
-            VersionManifest versionManifest = Gsons.DEFAULT.fromJson(
-                    new FileReader(manifestPath.toFile()), VersionManifest.class);
+            BasicFileAttributes attributes = Files.readAttributes(manifestPath, BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+
+            if (Data.MINECRAFT != MinecraftVersionIndex.EMPTY && modified == loadedManifestModified
+                    && attributes.size() == loadedManifestSize) {
+                LogManager.debug("Minecraft versions haven't changed since they were last loaded");
+                PerformanceManager.end();
+                return;
+            }
 
-            if (versionManifest != null) {
-                versionManifest.versions.forEach((version) -> Data.MINECRAFT.put(version.id, version));
+            try (FileReader fileReader = new FileReader(manifestPath.toFile())) {
+                VersionManifest versionManifest = Gsons.DEFAULT.fromJson(fileReader, VersionManifest.class);
+
+                if (versionManifest != null && versionManifest.versions != null) {
+                    Data.MINECRAFT = new MinecraftVersionIndex(versionManifest.versions);
+                    loadedManifestModified = modified;
+                    loadedManifestSize = attributes.size();
+                }
             }
-        } catch (JsonSyntaxException | FileNotFoundException | JsonIOException e) {
+        } catch (JsonSyntaxException | JsonIOException | IOException e) {
             LogManager.logStackTrace(e);
         }
 
@@ -85,15 +114,17 @@ public class MinecraftManager {
     }
 
     public static boolean isMinecraftVersion(String version) {
-        return Data.MINECRAFT.containsKey(version);
+        return Data.MINECRAFT.contains(version);
     }
 
     public static VersionManifestVersion getMinecraftVersion(String version) throws InvalidMinecraftVersion {
-        if (!Data.MINECRAFT.containsKey(version)) {
+        VersionManifestVersion minecraftVersion = Data.MINECRAFT.get(version);
+
+        if (minecraftVersion == null) {
             throw new InvalidMinecraftVersion("No Minecraft version found matching " + version);
         }
 
-        return Data.MINECRAFT.get(version);
+        return minecraftVersion;
     }
 
     public static List<VersionManifestVersion> getMajorMinecraftVersions(String version)
@@ -107,68 +138,50 @@ public class MinecraftManager {
             return singleList;
         }
 
-        return Data.MINECRAFT.entrySet().stream()
-                .filter(e -> {
-                    if (e.getValue().type != VersionManifestVersionType.RELEASE) {
-                        return false;
-                    }
-
-                    // no patch version (for instance 1.19, 1.18, etc)
-                    if (version.split("\\.").length == 2) {
-                        return e.getKey().startsWith(version);
-                    }
-
-                    return e.getKey().startsWith(version.substring(0, version.lastIndexOf(".")));
-                })
-                .map(e -> e.getValue()).collect(Collectors.toList());
+        return new ArrayList<>(
+                Data.MINECRAFT.getReleasesForMajorVersion(MinecraftVersionIndex.getMajorVersion(version)));
     }
 
-    public static List<VersionManifestVersion> getFilteredMinecraftVersions(
-            List<VersionManifestVersionType> filterTypes) {
-        List<String> disabledVersions = new ArrayList<>();
+    private static synchronized Set<String> getDisabledVersions(VersionManifestVersionType type) {
+        if (disabledVersionsConfig != Data.CONFIG || disabledVersionsConfigOverrides != Data.CONFIG_OVERRIDES) {
+            disabledVersions.clear();
+            disabledVersionsConfig = Data.CONFIG;
+            disabledVersionsConfigOverrides = Data.CONFIG_OVERRIDES;
+        }
 
-        filterTypes.forEach(ft -> {
-            disabledVersions.addAll(ConfigManager.getConfigItem(
-                    String.format("minecraft.%s.disabledVersions", ft.getValue()), new ArrayList<String>()));
-        });
+        return disabledVersions.computeIfAbsent(type, t -> new HashSet<>(ConfigManager.getConfigItem(
+                String.format("minecraft.%s.disabledVersions", t.getValue()), new ArrayList<String>())));
+    }
 
-        return Data.MINECRAFT.values().stream().filter(mv -> {
-            if (disabledVersions.contains(mv.id)) {
-                return false;
+    private static boolean isDisabled(VersionManifestVersion version,
+            Collection<VersionManifestVersionType> types) {
+        for (VersionManifestVersionType type : types) {
+            if (getDisabledVersions(type).contains(version.id)) {
+                return true;
             }
+        }
 
-            return filterTypes.contains(mv.type);
-        }).sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-            return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-        }).reversed()).collect(Collectors.toList());
+        return false;
     }
 
-    public static List<VersionManifestVersion> getFilteredMinecraftVersions(VersionManifestVersionType filterType) {
-        List<String> disabledVersions = ConfigManager.getConfigItem(
-                String.format("minecraft.%s.disabledVersions", filterType.getValue()), new ArrayList<String>());
+    public static List<VersionManifestVersion> getFilteredMinecraftVersions(
+            List<VersionManifestVersionType> filterTypes) {
+        return Data.MINECRAFT.getVersions().stream()
+                .filter(mv -> filterTypes.contains(mv.type) && !isDisabled(mv, filterTypes))
+                .collect(Collectors.toList());
+    }
 
-        return Data.MINECRAFT.values().stream().filter(mv -> {
-            if (disabledVersions.contains(mv.id)) {
-                return false;
-            }
+    public static List<VersionManifestVersion> getFilteredMinecraftVersions(VersionManifestVersionType filterType) {
+        Set<String> disabledVersions = getDisabledVersions(filterType);
 
-            return mv.type == filterType;
-        }).sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-            return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-        }).reversed()).collect(Collectors.toList());
+        return Data.MINECRAFT.getVersions(filterType).stream().filter(mv -> !disabledVersions.contains(mv.id))
+                .collect(Collectors.toList());
     }
 
     public static List<VersionManifestVersion> getMinecraftVersions() {
-        List<String> disabledVersions = new ArrayList<>();
-
-        for (VersionManifestVersionType vt : VersionManifestVersionType.values()) {
-            disabledVersions.addAll(ConfigManager.getConfigItem(
-                    String.format("minecraft.%s.disabledVersions", vt.getValue()), new ArrayList<String>()));
-        }
+        List<VersionManifestVersionType> allTypes = Arrays.asList(VersionManifestVersionType.values());
 
-        return Data.MINECRAFT.values().stream().filter(mv -> !disabledVersions.contains(mv.id))
-                .sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-                    return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-                }).reversed()).collect(Collectors.toList());
+        return Data.MINECRAFT.getVersions().stream().filter(mv -> !isDisabled(mv, allTypes))
+                .collect(Collectors.toList());
     }
 }
@@ -19,12 +19,13 @@ package com.atlauncher.managers;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PerformanceManager {
 
-    private static final Map<String, Instant> times = new HashMap<>();
+    // things are timed from more than one thread at once while the launcher starts
+    private static final Map<String, Instant> times = new ConcurrentHashMap<>();
 
     public static void start() {
         start(new Throwable().getStackTrace()[1].getMethodName());
@@ -41,11 +42,20 @@ public final class PerformanceManager {
     }
 
     public static void end(String name) {
-        if (LogManager.showDebug && times.containsKey(name)) {
-            long timeElapsed = Duration.between(times.get(name), Instant.now()).toMillis();
+        if (LogManager.showDebug) {
+            Instant start = times.remove(name);
 
-            times.remove(name);
+            if (start != null) {
+                log(name, Duration.between(start, Instant.now()).toMillis());
+            }
+        }
+    }
 
+    /**
+     * Logs how long something took that was timed elsewhere.
+     */
+    public static void log(String name, long timeElapsed) {
+        if (LogManager.showDebug) {
             LogManager.debug(name + " took " + timeElapsed + " ms", 5);
         }
     }
@@ -0,0 +1,93 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.MinecraftError;
+import com.atlauncher.utils.Utils;
+
+/**
+ * Looks for known problems in what the game outputs, so the user can be told what went wrong once the game exits.
+ *
+ * Detectors are checked against every line the game outputs, so should only look for plain text. Detectors that don't
+ * apply to an instance are left out before the game is launched.
+ */
+public class GameOutputDetector {
+    private static final List<GameOutputDetector> detectors = new ArrayList<>();
+
+    static {
+        register(new GameOutputDetector("Out of memory", MinecraftError.OUT_OF_MEMORY, "java.lang.OutOfMemoryError",
+                "There is insufficient memory for the Java Runtime Environment"));
+        register(new GameOutputDetector("1.6 concurrent modification", MinecraftError.CONCURRENT_MODIFICATION_ERROR_1_6,
+                instance -> Utils.matchVersion(instance.id, "1.6", true, true),
+                "java.util.ConcurrentModificationException"));
+        register(new GameOutputDetector("Needs Java 16", MinecraftError.NEED_TO_USE_JAVA_16_OR_NEWER,
+                "has been compiled by a more recent version of the Java Runtime (class file version 60.0)"));
+        register(new GameOutputDetector("Needs Java 17", MinecraftError.NEED_TO_USE_JAVA_17_OR_NEWER,
+                "has been compiled by a more recent version of the Java Runtime (class file version 61.0)"));
+        register(new GameOutputDetector("Needs Java 8", MinecraftError.USING_NEWER_JAVA_THAN_8,
+                "class jdk.internal.loader.ClassLoaders$AppClassLoader cannot be cast to class"));
+    }
+
+    public final String name;
+    public final int error;
+    public final String[] patterns;
+    private final Predicate<Instance> appliesTo;
+
+    public GameOutputDetector(String name, int error, String... patterns) {
+        this(name, error, instance -> true, patterns);
+    }
+
+    public GameOutputDetector(String name, int error, Predicate<Instance> appliesTo, String... patterns) {
+        this.name = name;
+        this.error = error;
+        this.appliesTo = appliesTo;
+        this.patterns = patterns;
+    }
+
+    public boolean appliesTo(Instance instance) {
+        return appliesTo.test(instance);
+    }
+
+    public boolean matches(String line) {
+        for (String pattern : patterns) {
+            if (line.contains(pattern)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds a detector to be used for every game launched after this. When a line matches more than one detector, the
+     * one registered last wins.
+     */
+    public static synchronized void register(GameOutputDetector detector) {
+        detectors.add(detector);
+    }
+
+    public static synchronized List<GameOutputDetector> getDetectors() {
+        return Collections.unmodifiableList(new ArrayList<>(detectors));
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.atlauncher.data.AbstractAccount;
+import com.atlauncher.data.Instance;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.AhoCorasick;
+
+/**
+ * Reads everything the game outputs, looking for known problems with the registered {@link GameOutputDetector}s,
+ * censoring the users details and then passing it on to the console.
+ *
+ * Output is read as bytes and split into lines without going through a Reader, and the lines of a log4j event are
+ * kept as bytes until the event ends, so only one string is made per event rather than one per line.
+ */
+public class GameOutputProcessor {
+    private static final byte[] LOG4J = "log4j:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LOG4J_EVENT_START = "<log4j:Event>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LOG4J_EVENT_END = "</log4j:Event>".getBytes(StandardCharsets.US_ASCII);
+
+    // timing every line costs more than some of the checks being timed, so only every 16th line is timed
+    private static final int TIMING_SAMPLE_MASK = 15;
+
+    private final Charset charset = Charset.defaultCharset();
+    private final List<GameOutputDetector> detectors;
+
+    private final String[] censored;
+    private final String[] censorReplacements;
+    private final AhoCorasick censor;
+
+    private int detectedError = 0;
+
+    private long lines = 0;
+    private long events = 0;
+    private long censoringNanos = 0;
+    private final long[] detectorNanos;
+    private final long[] detectorMatches;
+
+    public GameOutputProcessor(Instance instance, AbstractAccount account) {
+        this.detectors = GameOutputDetector.getDetectors().stream().filter(detector -> detector.appliesTo(instance))
+                .collect(Collectors.toList());
+        this.detectorNanos = new long[detectors.size()];
+        this.detectorMatches = new long[detectors.size()];
+
+        List<String> censored = new ArrayList<>();
+        List<String> replacements = new ArrayList<>();
+
+        if (!LogManager.showDebug) {
+            addCensor(censored, replacements, account.minecraftUsername, "**MINECRAFTUSERNAME**");
+            addCensor(censored, replacements, account.username, "**MINECRAFTUSERNAME**");
+            addCensor(censored, replacements, account.uuid, "**UUID**");
+            if (account.uuid != null) {
+                addCensor(censored, replacements, account.uuid.replace("-", ""), "**UUID**");
+            }
+        }
+
+        addCensor(censored, replacements, account.getAccessToken(), "**ACCESSTOKEN**");
+
+        this.censored = censored.toArray(new String[0]);
+        this.censorReplacements = replacements.toArray(new String[0]);
+
+        // the automaton only handles ASCII, which the users details should always be
+        this.censor = censored.stream().allMatch(value -> value.chars().allMatch(c -> c < 128))
+                ? new AhoCorasick(this.censored)
+                : null;
+    }
+
+    private static void addCensor(List<String> censored, List<String> replacements, String value,
+            String replacement) {
+        if (value != null && !value.isEmpty() && !censored.contains(value)) {
+            censored.add(value);
+            replacements.add(replacement);
+        }
+    }
+
+    /**
+     * Processes the games output until it closes.
+     *
+     * @return the error detected in the output that should be shown to the user, or 0 if there wasn't one
+     */
+    public int process(InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+
+        byte[] buffer = new byte[8192];
+        ByteLine line = new ByteLine();
+        ByteLine event = new ByteLine();
+        boolean lastWasCarriageReturn = false;
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            int lineStart = 0;
+
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+
+                if (b != '\n' && b != '\r') {
+                    lastWasCarriageReturn = false;
+                    continue;
+                }
+
+                // \r\n is one line ending, not two
+                if (!(lastWasCarriageReturn && b == '\n' && i == lineStart)) {
+                    line.append(buffer, lineStart, i - lineStart);
+                    processLine(line, event);
+                    line.length = 0;
+                }
+
+                lastWasCarriageReturn = b == '\r';
+                lineStart = i + 1;
+            }
+
+            line.append(buffer, lineStart, read - lineStart);
+        }
+
+        if (line.length != 0) {
+            processLine(line, event);
+        }
+
+        logStatistics(System.nanoTime() - start);
+
+        return detectedError;
+    }
+
+    private void processLine(ByteLine line, ByteLine event) {
+        lines++;
+
+        if (line.indexOf(LOG4J) != -1) {
+            // start of a new event so clear what's been collected
+            if (line.indexOf(LOG4J_EVENT_START) != -1) {
+                event.length = 0;
+            }
+
+            event.append(line.bytes, 0, line.length);
+
+            // end of the xml object so parse it
+            if (line.indexOf(LOG4J_EVENT_END) != -1) {
+                events++;
+
+                String text = prepare(event.toString(charset));
+                event.length = 0;
+
+                try {
+                    LogManager.minecraftLog4j(text);
+                } catch (Exception e) {
+                    LogManager.minecraft(text);
+                }
+            }
+
+            return;
+        }
+
+        LogManager.minecraft(prepare(line.toString(charset)));
+    }
+
+    private String prepare(String text) {
+        boolean timed = (lines & TIMING_SAMPLE_MASK) == 0;
+
+        for (int i = 0; i < detectors.size(); i++) {
+            long start = timed ? System.nanoTime() : 0;
+
+            if (detectors.get(i).matches(text)) {
+                detectorMatches[i]++;
+                detectedError = detectors.get(i).error;
+            }
+
+            if (timed) {
+                detectorNanos[i] += (System.nanoTime() - start) * (TIMING_SAMPLE_MASK + 1);
+            }
+        }
+
+        long start = timed ? System.nanoTime() : 0;
+        String censoredText = censor(text);
+        if (timed) {
+            censoringNanos += (System.nanoTime() - start) * (TIMING_SAMPLE_MASK + 1);
+        }
+
+        return censoredText;
+    }
+
+    private String censor(String text) {
+        // almost no lines have anything to censor, so check that first without making any new strings
+        boolean found = false;
+        for (String value : censored) {
+            if (text.contains(value)) {
+                found = true;
+                break;
+            }
+        }
+
+        if (!found) {
+            return text;
+        }
+
+        if (censor != null) {
+            return censor.replace(text, censorReplacements);
+        }
+
+        for (int i = 0; i < censored.length; i++) {
+            text = text.replace(censored[i], censorReplacements[i]);
+        }
+
+        return text;
+    }
+
+    private void logStatistics(long nanos) {
+        double seconds = Math.max(nanos, 1) / 1_000_000_000D;
+
+        StringBuilder statistics = new StringBuilder(String.format(
+                "Processed %d lines (%d log4j events) of game output over %.1fs (%.0f lines/sec), censoring took ~%dms",
+                lines, events, seconds, lines / seconds, TimeUnit.NANOSECONDS.toMillis(censoringNanos)));
+
+        for (int i = 0; i < detectors.size(); i++) {
+            statistics.append(String.format(", %s detector took ~%dms (%d matches)", detectors.get(i).name,
+                    TimeUnit.NANOSECONDS.toMillis(detectorNanos[i]), detectorMatches[i]));
+        }
+
+        LogManager.debug(statistics.toString());
+    }
+
+    /**
+     * A growable line of bytes that's reused between lines.
+     */
+    private static class ByteLine {
+        private byte[] bytes = new byte[1024];
+        private int length = 0;
+
+        private void append(byte[] source, int offset, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+
+            System.arraycopy(source, offset, bytes, length, count);
+            length += count;
+        }
+
+        private int indexOf(byte[] pattern) {
+            byte first = pattern[0];
+
+            outer: for (int i = 0; i <= length - pattern.length; i++) {
+                if (bytes[i] != first) {
+                    continue;
+                }
+
+                for (int j = 1; j < pattern.length; j++) {
+                    if (bytes[i + j] != pattern[j]) {
+                        continue outer;
+                    }
+                }
+
+                return i;
+            }
+
+            return -1;
+        }
+
+        private String toString(Charset charset) {
+            return new String(bytes, 0, length, charset);
+        }
+    }
+}
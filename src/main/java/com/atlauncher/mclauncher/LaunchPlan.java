@@ -0,0 +1,267 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.managers.LWJGLManager;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonIOException;
+
+/**
+ * Everything needed to build the launch arguments of an instance that doesn't change between launches: the resolved
+ * classpath and the JVM and game arguments with their placeholders already found.
+ *
+ * Plans are saved as launch_plan.json next to the instance.json, and are only used while the fingerprint of what went
+ * into them (the instance folder, the libraries and arguments of the instance, the jarmods and bin folders, the LWJGL
+ * libraries and the OS) still matches.
+ */
+public class LaunchPlan {
+    // bump this if the way plans are made changes, so old plans aren't used
+    private static final int PLAN_VERSION = 1;
+
+    private static final Set<String> PLACEHOLDERS = new LinkedHashSet<>(Arrays.asList("auth_player_name",
+            "profile_name", "user_properties", "version_name", "game_directory", "game_assets", "assets_root",
+            "assets_index_name", "auth_uuid", "auth_access_token", "version_type", "launcher_name", "launcher_version",
+            "natives_directory", "user_type", "auth_session", "library_directory", "classpath",
+            "classpath_separator"));
+
+    private static final Map<Path, LaunchPlan> plans = new ConcurrentHashMap<>();
+
+    public String fingerprint;
+    public String classpath;
+    public boolean hasCustomJarMods;
+    public List<String> customLibraries = new ArrayList<>();
+    public List<ArgumentTemplate> jvmArguments = new ArrayList<>();
+    public List<ArgumentTemplate> gameArguments = new ArrayList<>();
+
+    /**
+     * Gets the launch plan for the instance, only making a new one if what it depends on has changed.
+     */
+    public static LaunchPlan get(Instance instance) {
+        Path root = instance.getRoot();
+        String fingerprint = getFingerprint(instance);
+
+        LaunchPlan plan = plans.get(root);
+        if (plan != null && fingerprint.equals(plan.fingerprint)) {
+            return plan;
+        }
+
+        Path planPath = root.resolve("launch_plan.json");
+        if (Files.exists(planPath)) {
+            try (FileReader fileReader = new FileReader(planPath.toFile())) {
+                plan = Gsons.DEFAULT_SLIM.fromJson(fileReader, LaunchPlan.class);
+            } catch (Exception e) {
+                LogManager.logStackTrace("Failed to read launch plan, making a new one", e, false);
+                plan = null;
+            }
+        }
+
+        if (plan == null || !fingerprint.equals(plan.fingerprint)) {
+            plan = create(instance, fingerprint);
+
+            try (FileWriter fileWriter = new FileWriter(planPath.toFile())) {
+                Gsons.DEFAULT_SLIM.toJson(plan, fileWriter);
+            } catch (JsonIOException | IOException e) {
+                LogManager.logStackTrace("Failed to save launch plan", e, false);
+            }
+        }
+
+        plans.put(root, plan);
+        return plan;
+    }
+
+    private static String getFingerprint(Instance instance) {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(PLAN_VERSION).append('|');
+        fingerprint.append(System.getProperty("os.name")).append('|').append(System.getProperty("os.arch"))
+                .append('|').append(System.getProperty("os.version")).append('|');
+        fingerprint.append(FileSystem.BASE_DIR.toAbsolutePath()).append('|');
+        // the classpath has paths into the instance folder, which changes when the instance is renamed
+        fingerprint.append(instance.getRoot().toAbsolutePath()).append('|');
+        fingerprint.append(instance.usesLegacyLaunch()).append('|');
+
+        // instance.json is saved on every launch, so look at the parts of it that go into the plan rather than the file
+        fingerprint.append(instance.id).append('|').append(instance.getMainClass()).append('|');
+        fingerprint.append(Gsons.MINECRAFT.toJson(instance.libraries)).append('|');
+        fingerprint.append(Gsons.MINECRAFT.toJson(instance.arguments)).append('|');
+
+        // adding or removing files changes the modified time of the folder they're in
+        appendAttributes(fingerprint, instance.getJarModsDirectory().toPath());
+        appendAttributes(fingerprint, instance.getBinDirectory().toPath());
+
+        // these come from the launchers own data which can be updated, so look at what they resolve to
+        for (Library library : LWJGLManager.getLWJGLLibraries(instance.launcher.lwjglVersion)) {
+            fingerprint.append(library.downloads.artifact.path).append(',')
+                    .append(library.getNativeDownloadForOS().path).append('|');
+        }
+
+        return Hashing.md5(fingerprint.toString()).toString();
+    }
+
+    private static void appendAttributes(StringBuilder fingerprint, Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            fingerprint.append(attributes.lastModifiedTime().toMillis()).append(',').append(attributes.size());
+        } catch (IOException e) {
+            fingerprint.append("missing");
+        }
+
+        fingerprint.append('|');
+    }
+
+    private static LaunchPlan create(Instance instance, String fingerprint) {
+        LaunchPlan plan = new LaunchPlan();
+        plan.fingerprint = fingerprint;
+
+        // keeps the order things were added in, while ignoring anything added twice
+        Set<String> classpath = new LinkedHashSet<>();
+
+        File[] jarModFiles = instance.getJarModsDirectory().listFiles();
+        if (jarModFiles != null) {
+            for (File file : jarModFiles) {
+                plan.hasCustomJarMods = true;
+                classpath.add(file.getAbsolutePath());
+            }
+        }
+
+        instance.libraries.stream().filter(library -> library.shouldInstall() && library.downloads.artifact != null)
+                .filter(library -> library.downloads.artifact.path != null)
+                .forEach(library -> classpath.add(
+                        FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile().getAbsolutePath()));
+
+        instance.libraries.stream().filter(Library::hasNativeForOS).forEach(library -> classpath.add(
+                FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path).toFile().getAbsolutePath()));
+
+        LWJGLManager.getLWJGLLibraries(instance.launcher.lwjglVersion).forEach(library -> {
+            classpath.add(FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile().getAbsolutePath());
+            classpath.add(
+                    FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path).toFile().getAbsolutePath());
+        });
+
+        File[] libraryFiles = instance.getBinDirectory().listFiles();
+        if (libraryFiles != null) {
+            for (File file : libraryFiles) {
+                if (!file.getName().equalsIgnoreCase("minecraft.jar")
+                        && !file.getName().equalsIgnoreCase("modpack.jar")
+                        && (file.getName().endsWith(".jar") || file.getName().endsWith(".zip"))) {
+                    plan.customLibraries.add(file.getName());
+                    classpath.add(file.toString());
+                }
+            }
+        }
+
+        // add minecraft client jar last
+        if (instance.usesCustomMinecraftJar()) {
+            classpath.add(instance.getCustomMinecraftJar().getAbsolutePath());
+        } else {
+            classpath.add(instance.getMinecraftJar().getAbsolutePath());
+        }
+
+        if (instance.usesLegacyLaunch()) {
+            classpath.add(FileSystem.LIBRARIES.resolve("launcher/legacy-launch.jar").toAbsolutePath().toString());
+        }
+
+        plan.classpath = String.join(File.pathSeparator, classpath);
+
+        plan.jvmArguments = instance.arguments.jvmAsStringList().stream()
+                .filter(argument -> !MCLauncher.IGNORED_ARGUMENTS.contains(argument)).map(ArgumentTemplate::parse)
+                .collect(Collectors.toList());
+        plan.gameArguments = instance.arguments.gameAsStringList().stream()
+                .filter(argument -> !MCLauncher.IGNORED_ARGUMENTS.contains(argument)).map(ArgumentTemplate::parse)
+                .collect(Collectors.toList());
+
+        return plan;
+    }
+
+    /**
+     * An argument split into literal text and ${placeholder} parts, so filling it in is a single pass.
+     */
+    public static class ArgumentTemplate {
+        // literal text, with the placeholder names at odd indexes
+        public List<String> parts = new ArrayList<>();
+
+        public static ArgumentTemplate parse(String argument) {
+            ArgumentTemplate template = new ArgumentTemplate();
+            StringBuilder literal = new StringBuilder();
+
+            int index = 0;
+            while (index < argument.length()) {
+                int start = argument.indexOf("${", index);
+                int end = start == -1 ? -1 : argument.indexOf('}', start + 2);
+
+                if (end == -1) {
+                    literal.append(argument, index, argument.length());
+                    break;
+                }
+
+                String name = argument.substring(start + 2, end);
+                if (PLACEHOLDERS.contains(name)) {
+                    literal.append(argument, index, start);
+                    template.parts.add(literal.toString());
+                    template.parts.add(name);
+                    literal.setLength(0);
+                } else {
+                    // unknown placeholders are left as they are
+                    literal.append(argument, index, end + 1);
+                }
+
+                index = end + 1;
+            }
+
+            template.parts.add(literal.toString());
+            return template;
+        }
+
+        public String render(Map<String, String> values) {
+            if (parts.size() == 1) {
+                return parts.get(0);
+            }
+
+            StringBuilder argument = new StringBuilder();
+            for (int i = 0; i < parts.size(); i++) {
+                if (i % 2 == 0) {
+                    argument.append(parts.get(i));
+                } else {
+                    argument.append(values.get(parts.get(i)));
+                }
+            }
+
+            return argument.toString();
+        }
+    }
+}
@@ -24,8 +24,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.atlauncher.App;
@@ -35,10 +37,8 @@ import com.atlauncher.data.AbstractAccount;
 import com.atlauncher.data.DisableableMod;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.MicrosoftAccount;
-import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LoggingClient;
 import com.atlauncher.managers.ConfigManager;
-import com.atlauncher.managers.LWJGLManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
@@ -152,75 +152,15 @@ public class MCLauncher {
 
     private static List<String> getArguments(AbstractAccount account, Instance instance, String props,
             String nativesDir, Path lwjglNativesTempDir, String username) {
-        StringBuilder cpb = new StringBuilder();
-        boolean hasCustomJarMods = false;
+        LaunchPlan plan = LaunchPlan.get(instance);
 
         int maximumMemory = Optional.ofNullable(instance.launcher.maximumMemory).orElse(App.settings.maximumMemory);
         int permGen = Optional.ofNullable(instance.launcher.permGen).orElse(App.settings.metaspace);
         String javaArguments = Optional.ofNullable(instance.launcher.javaArguments).orElse(App.settings.javaParameters);
         String javaPath = instance.getJavaPath();
 
-        File jarMods = instance.getJarModsDirectory();
-        File[] jarModFiles = jarMods.listFiles();
-        if (jarMods.exists() && jarModFiles != null && jarModFiles.length != 0) {
-            for (File file : jarModFiles) {
-                hasCustomJarMods = true;
-                cpb.append(file.getAbsolutePath());
-                cpb.append(File.pathSeparator);
-            }
-        }
-
-        instance.libraries.stream().filter(
-                library -> library.shouldInstall() && library.downloads.artifact != null)
-                .filter(library -> library.downloads.artifact.path != null)
-                .forEach(library -> {
-                    String path = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile()
-                            .getAbsolutePath();
-
-                    if (cpb.indexOf(path) == -1) {
-                        cpb.append(path);
-                        cpb.append(File.pathSeparator);
-                    }
-                });
-
-        instance.libraries.stream().filter(Library::hasNativeForOS)
-                .forEach(library -> {
-                    com.atlauncher.data.minecraft.Download download = library.getNativeDownloadForOS();
-
-                    cpb.append(FileSystem.LIBRARIES.resolve(download.path).toFile().getAbsolutePath());
-                    cpb.append(File.pathSeparator);
-                });
-
-        LWJGLManager.getLWJGLLibraries(instance.launcher.lwjglVersion).forEach(library -> {
-            cpb.append(FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile().getAbsolutePath());
-            cpb.append(File.pathSeparator);
-
-            com.atlauncher.data.minecraft.Download download = library.getNativeDownloadForOS();
-
-            cpb.append(FileSystem.LIBRARIES.resolve(download.path).toFile().getAbsolutePath());
-            cpb.append(File.pathSeparator);
-        });
-
-        File binFolder = instance.getBinDirectory();
-        File[] libraryFiles = binFolder.listFiles();
-        if (binFolder.exists() && libraryFiles != null && libraryFiles.length != 0) {
-            for (File file : libraryFiles) {
-                if (!file.getName().equalsIgnoreCase("minecraft.jar")
-                    && !file.getName().equalsIgnoreCase("modpack.jar")
-                    && (file.getName().endsWith(".jar") || file.getName().endsWith(".zip"))) {
-                    LogManager.info("Added in custom library " + file.getName());
-
-                    cpb.append(file);
-                    cpb.append(File.pathSeparator);
-                }
-            }
-        }
-
-        // add minecraft client jar last
-        if (instance.usesCustomMinecraftJar()) {
-            cpb.append(instance.getCustomMinecraftJar().getAbsolutePath());
-        } else {
-            cpb.append(instance.getMinecraftJar().getAbsolutePath());
+        for (String library : plan.customLibraries) {
+            LogManager.info("Added in custom library " + library);
         }
 
         if (instance.usesLegacyLaunch()) {
@@ -233,9 +173,6 @@ public class MCLauncher {
             } catch (IOException e) {
                 LogManager.logStackTrace("Failed to copy legacy-launch.jar to libraries folder", e);
             }
-
-            cpb.append(File.pathSeparator);
-            cpb.append(legacyLaunchJarPath.toAbsolutePath().toString());
         }
 
         List<String> arguments = new ArrayList<>();
@@ -283,7 +220,7 @@ public class MCLauncher {
         arguments.add("-Duser.language=en");
         arguments.add("-Duser.country=US");
 
-        if (hasCustomJarMods) {
+        if (plan.hasCustomJarMods) {
             System.out.println("OH NOES! Avert your eyes!");
             arguments.add("-Dfml.ignorePatchDiscrepancies=true");
             arguments.add("-Dfml.ignoreInvalidMinecraftCertificates=true");
@@ -325,14 +262,11 @@ public class MCLauncher {
             }
         }
 
-        String classpath = cpb.toString();
-
-        for (String argument : instance.arguments.jvmAsStringList()) {
-            if (IGNORED_ARGUMENTS.contains(argument)) {
-                continue;
-            }
+        Map<String, String> argumentValues = getArgumentValues(instance, account, props, nativesDir, plan.classpath,
+                username);
 
-            arguments.add(replaceArgument(argument, instance, account, props, nativesDir, classpath, username));
+        for (LaunchPlan.ArgumentTemplate argument : plan.jvmArguments) {
+            arguments.add(argument.render(argumentValues));
         }
 
         if (OS.isWindows() && !arguments
@@ -353,7 +287,7 @@ public class MCLauncher {
         // if there's no classpath already, then add it (for older versions)
         if (!arguments.contains("-cp")) {
             arguments.add("-cp");
-            arguments.add(cpb.toString());
+            arguments.add(plan.classpath);
         }
 
         if (instance.usesLegacyLaunch()) {
@@ -375,12 +309,8 @@ public class MCLauncher {
         }
 
         if (!instance.usesLegacyLaunch()) {
-            for (String argument : instance.arguments.gameAsStringList()) {
-                if (IGNORED_ARGUMENTS.contains(argument)) {
-                    continue;
-                }
-
-                arguments.add(replaceArgument(argument, instance, account, props, nativesDir, classpath, username));
+            for (LaunchPlan.ArgumentTemplate argument : plan.gameArguments) {
+                arguments.add(argument.render(argumentValues));
             }
 
             if (App.settings.maximiseMinecraft) {
@@ -395,31 +325,31 @@ public class MCLauncher {
         return arguments;
     }
 
-    private static String replaceArgument(String incomingArgument, Instance instance, AbstractAccount account,
-            String props, String nativesDir, String classpath, String username) {
-        String argument = incomingArgument;
-
-        argument = argument.replace("${auth_player_name}", username);
-        argument = argument.replace("${profile_name}", instance.getName());
-        argument = argument.replace("${user_properties}", Optional.ofNullable(props).orElse("[]"));
-        argument = argument.replace("${version_name}", instance.getMinecraftVersion());
-        argument = argument.replace("${game_directory}", instance.getRootDirectory().getAbsolutePath());
-        argument = argument.replace("${game_assets}", instance.getAssetsDir().getAbsolutePath());
-        argument = argument.replace("${assets_root}", FileSystem.ASSETS.toAbsolutePath().toString());
-        argument = argument.replace("${assets_index_name}", instance.getAssets());
-        argument = argument.replace("${auth_uuid}", UUIDTypeAdapter.fromUUID(account.getRealUUID()));
-        argument = argument.replace("${auth_access_token}", account.getAccessToken());
-        argument = argument.replace("${version_type}", instance.type.getValue());
-        argument = argument.replace("${launcher_name}", Constants.LAUNCHER_NAME);
-        argument = argument.replace("${launcher_version}", Constants.VERSION.toStringForLogging());
-        argument = argument.replace("${natives_directory}", nativesDir);
-        argument = argument.replace("${user_type}", account.getUserType());
-        argument = argument.replace("${auth_session}", account.getSessionToken());
-        argument = argument.replace("${library_directory}", FileSystem.LIBRARIES.toAbsolutePath().toString());
-        argument = argument.replace("${classpath}", classpath);
-        argument = argument.replace("${classpath_separator}", File.pathSeparator);
-
-        return argument;
+    private static Map<String, String> getArgumentValues(Instance instance, AbstractAccount account, String props,
+            String nativesDir, String classpath, String username) {
+        Map<String, String> values = new HashMap<>();
+
+        values.put("auth_player_name", username);
+        values.put("profile_name", instance.getName());
+        values.put("user_properties", Optional.ofNullable(props).orElse("[]"));
+        values.put("version_name", instance.getMinecraftVersion());
+        values.put("game_directory", instance.getRootDirectory().getAbsolutePath());
+        values.put("game_assets", instance.getAssetsDir().getAbsolutePath());
+        values.put("assets_root", FileSystem.ASSETS.toAbsolutePath().toString());
+        values.put("assets_index_name", instance.getAssets());
+        values.put("auth_uuid", UUIDTypeAdapter.fromUUID(account.getRealUUID()));
+        values.put("auth_access_token", account.getAccessToken());
+        values.put("version_type", instance.type.getValue());
+        values.put("launcher_name", Constants.LAUNCHER_NAME);
+        values.put("launcher_version", Constants.VERSION.toStringForLogging());
+        values.put("natives_directory", nativesDir);
+        values.put("user_type", account.getUserType());
+        values.put("auth_session", account.getSessionToken());
+        values.put("library_directory", FileSystem.LIBRARIES.toAbsolutePath().toString());
+        values.put("classpath", classpath);
+        values.put("classpath_separator", File.pathSeparator);
+
+        return values;
     }
 
     private static String censorArguments(List<String> arguments, AbstractAccount account, String props,
@@ -17,17 +17,31 @@
  */
 package com.atlauncher.network;
 
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.lang.reflect.Type;
 import java.net.SocketTimeoutException;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.atlauncher.App;
 import com.atlauncher.FileSystem;
@@ -37,12 +51,17 @@ import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.FileUtils;
 import com.atlauncher.utils.Hashing;
-import com.atlauncher.utils.Utils;
+import com.atlauncher.utils.ModStore;
+import com.atlauncher.utils.VerifiedFileIndex;
 import com.atlauncher.workers.InstanceInstaller;
 import com.google.common.hash.HashCode;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
 import com.google.gson.Gson;
 
 import okhttp3.CacheControl;
+import okhttp3.Call;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -53,6 +72,15 @@ import okhttp3.Response;
 public final class Download {
     public static final int MAX_ATTEMPTS = 3;
 
+    // files at least this big will be fetched over several connections when chunked() is used
+    private static final long CHUNKED_MIN_SIZE = 16L * 1024 * 1024;
+    private static final int CHUNKED_CONNECTIONS = 4;
+
+    // only files at least this big are worth keeping a partial download of to resume, and ones not resumed within the
+    // max age are cleaned up
+    private static final long RESUMABLE_MIN_SIZE = 1024L * 1024;
+    private static final long PARTIAL_DOWNLOAD_MAX_AGE = TimeUnit.DAYS.toMillis(7);
+
     // pre request
     String url;
     private String friendlyFileName;
@@ -66,6 +94,8 @@ public final class Download {
     private Long fingerprint = null;
     public long size = -1L;
     private boolean executable = false;
+    private boolean deepVerify = false;
+    private boolean chunked = false;
     public InstanceInstaller instanceInstaller;
     private OkHttpClient httpClient = Network.CLIENT;
     private RequestBody post = null;
@@ -74,6 +104,11 @@ public final class Download {
 
     // generated on/after request
     public Response response;
+    private volatile Call call = null;
+    private final List<Call> chunkCalls = new ArrayList<>();
+    private long resumeFrom = 0L;
+    private HashCode downloadedHash = null;
+    private boolean failed = false;
 
     public Download() {
 
@@ -256,6 +291,22 @@ public final class Download {
         return this;
     }
 
+    public Download deepVerify() {
+        this.deepVerify = true;
+
+        return this;
+    }
+
+    /**
+     * Allows large files to be downloaded in several chunks at once when the server
+     * supports range requests.
+     */
+    public Download chunked() {
+        this.chunked = true;
+
+        return this;
+    }
+
     public Download copyTo(Path copyTo) {
         this.copyTo = copyTo;
 
@@ -298,11 +349,34 @@ public final class Download {
     }
 
     private void execute() throws IOException {
-        // connection is already open, so close it first
-        if (this.response != null) {
-            this.response.close();
+        execute(newRequestBuilder());
+        this.resumeFrom = 0L;
+    }
+
+    /**
+     * Opens the connection for downloading the file to disk. If a partial download
+     * from an earlier attempt can be resumed, only the rest of the file is
+     * requested, as long as the file on the server hasn't changed since.
+     */
+    private void executeForDownload() throws IOException {
+        Request.Builder builder = newRequestBuilder();
+        long resumeFrom = 0L;
+
+        PartialDownload partialDownload = getResumablePartialDownload();
+        if (partialDownload != null) {
+            resumeFrom = Files.size(getPartPath());
+
+            builder.header("Range", "bytes=" + resumeFrom + "-");
+            builder.header("If-Range", partialDownload.getValidator());
+
+            LogManager.debug("Resuming download of " + this.url + " from byte " + resumeFrom);
         }
 
+        execute(builder);
+        this.resumeFrom = resumeFrom;
+    }
+
+    private Request.Builder newRequestBuilder() {
         Request.Builder builder = new Request.Builder().url(this.url);
 
         if (this.post != null) {
@@ -317,13 +391,46 @@ public final class Download {
             builder.cacheControl(this.cacheControl);
         }
 
-        this.response = httpClient.newCall(builder.build()).execute();
+        return builder;
+    }
+
+    private void execute(Request.Builder builder) throws IOException {
+        // connection is already open, so close it first
+        if (this.response != null) {
+            this.response.close();
+        }
+
+        this.call = httpClient.newCall(builder.build());
+        this.response = this.call.execute();
 
         if (this.response == null || (!this.ignoreFailures && !this.response.isSuccessful())) {
             throw new DownloadException(this);
         }
     }
 
+    /**
+     * Cancels the request for this download if it's in flight, aborting any
+     * transfer that's currently happening.
+     */
+    public void cancel() {
+        Call call = this.call;
+
+        if (call != null) {
+            call.cancel();
+        }
+
+        synchronized (this.chunkCalls) {
+            this.chunkCalls.forEach(Call::cancel);
+        }
+    }
+
+    /**
+     * If the last attempt to download this file failed to produce a valid file.
+     */
+    public boolean hasFailed() {
+        return this.failed;
+    }
+
     public int code() {
         try {
             if (this.response == null) {
@@ -354,6 +461,82 @@ public final class Download {
         return this.hash != null && this.hash.length() == 128;
     }
 
+    private String hashAlgorithm() {
+        if (this.md5()) {
+            return "md5";
+        } else if (this.sha256()) {
+            return "sha256";
+        } else if (this.sha512()) {
+            return "sha512";
+        }
+
+        return "sha1";
+    }
+
+    private HashFunction hashFunction() {
+        if (this.md5()) {
+            return com.google.common.hash.Hashing.md5();
+        } else if (this.sha256()) {
+            return com.google.common.hash.Hashing.sha256();
+        } else if (this.sha512()) {
+            return com.google.common.hash.Hashing.sha512();
+        }
+
+        return com.google.common.hash.Hashing.sha1();
+    }
+
+    private HashCode computeHash(Path file) {
+        if (this.md5()) {
+            return Hashing.md5(file);
+        } else if (this.sha256()) {
+            return Hashing.sha256(file);
+        } else if (this.sha512()) {
+            return Hashing.sha512(file);
+        }
+
+        return Hashing.sha1(file);
+    }
+
+    /**
+     * Checks if the given file matches the expected fingerprint or hash, using the
+     * verified file index to skip rehashing files which haven't changed since they
+     * were last verified.
+     */
+    private boolean fileMatches(Path file) throws IOException {
+        if (this.fingerprint != null) {
+            String fingerprint = String.valueOf(this.fingerprint);
+
+            if (!this.deepVerify && VerifiedFileIndex.isVerified(file, "murmur", fingerprint)) {
+                return true;
+            }
+
+            if (Hashing.murmur(file) == this.fingerprint) {
+                VerifiedFileIndex.markVerified(file, "murmur", fingerprint);
+                return true;
+            }
+
+            return false;
+        }
+
+        String expected = this.getHash();
+        HashCode expectedHash = Hashing.toHashCode(expected);
+
+        if (expectedHash.equals(Hashing.EMPTY_HASH_CODE)) {
+            return computeHash(file).equals(expectedHash);
+        }
+
+        if (!this.deepVerify && VerifiedFileIndex.isVerified(file, hashAlgorithm(), expected)) {
+            return true;
+        }
+
+        if (computeHash(file).equals(expectedHash)) {
+            VerifiedFileIndex.markVerified(file, hashAlgorithm(), expected);
+            return true;
+        }
+
+        return false;
+    }
+
     public int getResponseCode() throws IOException {
         if (this.response == null) {
             this.execute();
@@ -425,22 +608,13 @@ public final class Download {
                 return false;
             }
 
-            if (this.fingerprint != null) {
-                try {
-                    if (Hashing.murmur(this.to) == this.fingerprint) {
-                        return false;
-                    }
-                } catch (IOException e) {
-                    LogManager.error("Error getting murmur hash");
+            try {
+                if (this.fileMatches(this.to)) {
                     return false;
                 }
-            } else if (this.md5() && Hashing.md5(this.to).equals(Hashing.toHashCode(this.getHash()))) {
-                return false;
-            } else if (this.sha256() && Hashing.sha256(this.to).equals(Hashing.toHashCode(this.getHash()))) {
-                return false;
-            } else if (this.sha512() && Hashing.sha512(this.to).equals(Hashing.toHashCode(this.getHash()))) {
-                return false;
-            } else if (Hashing.sha1(this.to).equals(Hashing.toHashCode(this.getHash()))) {
+            } catch (IOException e) {
+                LogManager.logStackTrace("Error getting " + (this.fingerprint != null ? "murmur" : hashAlgorithm())
+                        + " hash of " + this.to, e, false);
                 return false;
             }
 
@@ -454,38 +628,370 @@ public final class Download {
     }
 
     private void downloadDirect() {
+        Path partPath = this.getPartPath();
+        boolean resuming = this.isResumedResponse();
+        long offset = resuming ? this.resumeFrom : 0L;
+        boolean resumable;
+
         if (size == -1L) {
             size = this.getFilesize();
 
+            if (resuming && size > 0L) {
+                size += offset;
+            }
+
             if (instanceInstaller != null && size > 0L) {
                 instanceInstaller.addBytesToDownload(size);
             }
         }
-        try (FileChannel fc = FileChannel.open(this.to, Utils.WRITE);
-                ReadableByteChannel rbc = Channels.newChannel(this.response.body().byteStream())) {
-            fc.transferFrom(rbc, 0, Long.MAX_VALUE);
+
+        this.downloadedHash = null;
+
+        try {
+            if (resuming) {
+                // the bytes we already have won't come through the progress client
+                if (instanceInstaller != null) {
+                    instanceInstaller.addDownloadedBytes(offset);
+                }
+            } else {
+                Files.deleteIfExists(partPath);
+            }
+
+            resumable = this.isResumable();
+            if (resumable) {
+                this.savePartialDownload();
+            } else {
+                Files.deleteIfExists(this.getPartialDownloadPath());
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to prepare partial download " + partPath, e, false);
+            return;
+        }
+
+        // fingerprints need the whole file to be hashed, so only hash as we go for
+        // normal hashes
+        Hasher hasher = this.fingerprint == null ? this.hashFunction().newHasher() : null;
+        boolean completed = false;
+
+        try {
+            if (resuming && hasher != null) {
+                com.google.common.io.Files.asByteSource(partPath.toFile()).copyTo(Funnels.asOutputStream(hasher));
+            }
+
+            ReadableByteChannel responseChannel = Channels.newChannel(this.response.body().byteStream());
+            try (FileChannel fc = FileChannel.open(partPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    ReadableByteChannel rbc = hasher == null ? responseChannel
+                            : new HashingReadableByteChannel(responseChannel, hasher)) {
+                long written = fc.transferFrom(rbc, offset, Long.MAX_VALUE);
+                long expected = this.response.body().contentLength();
+
+                completed = expected == -1L || written == expected;
+            }
         } catch (Exception e) {
             LogManager.logStackTrace("Failed to download file " + this.to, e, false);
         }
+
+        if (!completed) {
+            if (resumable) {
+                LogManager.warn(
+                        "Download of " + this.to.getFileName() + " didn't complete, keeping partial file to resume");
+            } else {
+                LogManager.warn("Download of " + this.to.getFileName() + " didn't complete");
+                this.deletePartialDownload();
+            }
+            return;
+        }
+
+        if (hasher != null) {
+            this.downloadedHash = hasher.hash();
+        }
+
+        this.completePartialDownload();
+    }
+
+    /**
+     * Downloads the file over several connections at once, each fetching a range
+     * of the file. This is only done for large files from servers which support
+     * range requests, otherwise this returns false without touching the response.
+     *
+     * The other ranges are handed to the download pool's threads, so they only
+     * run at the same time when there are connections to spare, and this thread
+     * fetches any that haven't been picked up yet itself.
+     */
+    private boolean downloadChunked() {
+        long size = this.size;
+
+        if (size == -1L) {
+            try {
+                size = Long.parseLong(this.response.header("Content-Length", "-1"));
+            } catch (NumberFormatException e) {
+                size = -1L;
+            }
+        }
+
+        String validator = PartialDownload.getValidator(this.response.header("ETag"),
+                this.response.header("Last-Modified"));
+
+        if (this.post != null || this.resumeFrom != 0L || this.response.code() != 200 || size < CHUNKED_MIN_SIZE
+                || validator == null || !"bytes".equalsIgnoreCase(this.response.header("Accept-Ranges"))) {
+            return false;
+        }
+
+        if (this.size == -1L) {
+            this.size = size;
+
+            if (instanceInstaller != null) {
+                instanceInstaller.addBytesToDownload(size);
+            }
+        }
+
+        this.response.close();
+        this.downloadedHash = null;
+
+        Path partPath = this.getPartPath();
+        List<FutureTask<Boolean>> chunks = new ArrayList<>();
+        boolean success = false;
+
+        try {
+            Files.deleteIfExists(partPath);
+            Files.deleteIfExists(this.getPartialDownloadPath());
+
+            try (RandomAccessFile file = new RandomAccessFile(partPath.toFile(), "rw")) {
+                file.setLength(size);
+            }
+
+            long chunkSize = (size + CHUNKED_CONNECTIONS - 1) / CHUNKED_CONNECTIONS;
+            for (long start = 0L; start < size; start += chunkSize) {
+                final long chunkStart = start;
+                final long chunkEnd = Math.min(size, start + chunkSize) - 1;
+
+                chunks.add(new FutureTask<>(() -> downloadChunk(partPath, chunkStart, chunkEnd, validator)));
+            }
+
+            // a chunk only ever runs once, so whichever of this thread and the pool gets to it first fetches it
+            ThreadPoolExecutor executor = DownloadPool.getExecutor();
+            chunks.stream().skip(1).forEach(executor::execute);
+            chunks.forEach(FutureTask::run);
+
+            success = true;
+            for (FutureTask<Boolean> chunk : chunks) {
+                success &= chunk.get();
+            }
+        } catch (IOException | ExecutionException e) {
+            LogManager.logStackTrace("Failed to download file " + this.to + " in chunks", e, false);
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            this.cancel();
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this.chunkCalls) {
+                this.chunkCalls.clear();
+            }
+        }
+
+        if (success) {
+            this.completePartialDownload();
+        } else {
+            try {
+                Files.deleteIfExists(partPath);
+            } catch (IOException ignored) {
+            }
+        }
+
+        return true;
+    }
+
+    private boolean downloadChunk(Path partPath, long start, long end, String validator) {
+        Request request = this.newRequestBuilder().header("Range", "bytes=" + start + "-" + end)
+                .header("If-Range", validator).build();
+        Call call = this.httpClient.newCall(request);
+
+        synchronized (this.chunkCalls) {
+            this.chunkCalls.add(call);
+        }
+
+        try (Response response = call.execute();
+                FileChannel fc = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+            if (response.code() != 206) {
+                LogManager.warn("Expected partial response for chunk of " + this.url + " but got " + response.code());
+                return false;
+            }
+
+            long length = end - start + 1;
+            try (ReadableByteChannel rbc = Channels.newChannel(response.body().byteStream())) {
+                return fc.transferFrom(rbc, start, length) == length;
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to download chunk " + start + "-" + end + " of " + this.url, e, false);
+            return false;
+        }
+    }
+
+    private Path getPartPath() {
+        return this.to.resolveSibling(this.to.getFileName().toString() + ".part");
+    }
+
+    private Path getPartialDownloadPath() {
+        return this.to.resolveSibling(this.to.getFileName().toString() + ".part.json");
+    }
+
+    /**
+     * Checks if the current response is the remainder of a partial download we
+     * asked to resume, rather than the full file.
+     */
+    private boolean isResumedResponse() {
+        if (this.resumeFrom <= 0L || this.response == null || this.response.code() != 206) {
+            return false;
+        }
+
+        String contentRange = this.response.header("Content-Range");
+
+        try {
+            return contentRange != null && contentRange.startsWith("bytes " + this.resumeFrom + "-")
+                    && Files.size(this.getPartPath()) == this.resumeFrom;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the details of a partial download left by an earlier attempt, if it can
+     * be resumed.
+     */
+    private PartialDownload getResumablePartialDownload() {
+        Path partPath = this.getPartPath();
+        Path partialDownloadPath = this.getPartialDownloadPath();
+
+        if (this.post != null || !Files.exists(partPath) || !Files.exists(partialDownloadPath)) {
+            return null;
+        }
+
+        try (FileReader fileReader = new FileReader(partialDownloadPath.toFile())) {
+            PartialDownload partialDownload = Gsons.DEFAULT_SLIM.fromJson(fileReader, PartialDownload.class);
+            long partSize = Files.size(partPath);
+
+            if (partialDownload == null || !this.url.equals(partialDownload.url)
+                    || partialDownload.getValidator() == null || partSize == 0L
+                    || (partialDownload.size > 0L && partSize >= partialDownload.size)) {
+                return null;
+            }
+
+            return partialDownload;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a partial download of the current response would be worth keeping
+     * to resume. Small files are quicker to download again than to track, and
+     * without a validator there's no way to know the rest of the file is the same.
+     */
+    private boolean isResumable() {
+        return this.post == null && this.size >= RESUMABLE_MIN_SIZE && PartialDownload
+                .getValidator(this.response.header("ETag"), this.response.header("Last-Modified")) != null;
+    }
+
+    private void savePartialDownload() throws IOException {
+        PartialDownload partialDownload = new PartialDownload();
+        partialDownload.url = this.url;
+        partialDownload.etag = this.response.header("ETag");
+        partialDownload.lastModified = this.response.header("Last-Modified");
+        partialDownload.size = this.size;
+
+        try (FileWriter fileWriter = new FileWriter(this.getPartialDownloadPath().toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(partialDownload, fileWriter);
+        }
+    }
+
+    private void completePartialDownload() {
+        try {
+            Files.move(this.getPartPath(), this.to, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(this.getPartialDownloadPath());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to move downloaded file into place at " + this.to, e, false);
+        }
+    }
+
+    private void deletePartialDownload() {
+        try {
+            Files.deleteIfExists(this.getPartPath());
+            Files.deleteIfExists(this.getPartialDownloadPath());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete partial download of " + this.to, e, false);
+        }
+    }
+
+    /**
+     * Deletes partial downloads which haven't been resumed in a while, such as
+     * ones left behind when an install was cancelled and never tried again.
+     */
+    public static void deleteStalePartialDownloadsInBackground() {
+        Thread thread = new Thread(() -> {
+            Path[] directories = { FileSystem.DOWNLOADS, FileSystem.LIBRARIES, FileSystem.ASSETS, FileSystem.RUNTIMES,
+                    FileSystem.TEMP };
+
+            for (Path directory : directories) {
+                deleteStalePartialDownloads(directory);
+            }
+        }, "PartialDownloadCleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void deleteStalePartialDownloads(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - PARTIAL_DOWNLOAD_MAX_AGE;
+
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    String name = file.getFileName().toString();
+
+                    if ((name.endsWith(".part") || name.endsWith(".part.json"))
+                            && attrs.lastModifiedTime().toMillis() < cutoff) {
+                        LogManager.debug("Deleting stale partial download " + file);
+                        Files.deleteIfExists(file);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete stale partial downloads in " + directory, e, false);
+        }
     }
 
     private boolean hashMatches() {
+        // the file was just downloaded, so use the hash calculated while downloading
+        if (this.downloadedHash != null && Files.exists(this.to)) {
+            String expected = this.getHash();
+            HashCode expectedHash = Hashing.toHashCode(expected);
+
+            if (expectedHash.equals(Hashing.EMPTY_HASH_CODE) || !this.downloadedHash.equals(expectedHash)) {
+                return false;
+            }
+
+            VerifiedFileIndex.markVerified(this.to, this.hashAlgorithm(), expected);
+            return true;
+        }
+
         if (Files.exists(this.to)) {
-            if (this.fingerprint != null) {
-                try {
-                    return Hashing.murmur(this.to) == this.fingerprint;
-                } catch (IOException e) {
-                    LogManager.error("Error getting murmur hash");
-                    return false;
-                }
-            } else if (this.md5()) {
-                return Hashing.md5(this.to).equals(Hashing.toHashCode(this.getHash()));
-            } else if (this.sha256()) {
-                return Hashing.sha256(this.to).equals(Hashing.toHashCode(this.getHash()));
-            } else if (this.sha512()) {
-                return Hashing.sha512(this.to).equals(Hashing.toHashCode(this.getHash()));
-            } else {
-                return Hashing.sha1(this.to).equals(Hashing.toHashCode(this.getHash()));
+            try {
+                return this.fileMatches(this.to);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Error getting " + (this.fingerprint != null ? "murmur" : hashAlgorithm())
+                        + " hash of " + this.to, e, false);
+                return false;
             }
         }
 
@@ -499,13 +1005,16 @@ public final class Download {
 
         // if file exists, delete it
         if (Files.exists(this.to)) {
+            VerifiedFileIndex.invalidate(this.to);
             FileUtils.delete(this.to);
         }
 
-        // if already opened or not first attempt, open the connection
-        if (this.response == null || attempt != 1) {
+        // if already opened or not first attempt, open the connection. if there's a
+        // partial download to resume, open it again asking for just the rest
+        if (this.response == null || attempt != 1
+                || (this.resumeFrom == 0L && this.getResumablePartialDownload() != null)) {
             try {
-                this.execute();
+                this.executeForDownload();
             } catch (IOException e) {
                 LogManager.logStackTrace(e);
 
@@ -519,7 +1028,9 @@ public final class Download {
         }
 
         // download the file to disk
-        this.downloadDirect();
+        if (!this.chunked || attempt != 1 || !this.downloadChunked()) {
+            this.downloadDirect();
+        }
 
         boolean hashMatches = hashMatches();
 
@@ -545,8 +1056,11 @@ public final class Download {
     public void copy() {
         if (this.copyTo != null) {
             if (Files.exists(this.copyTo)) {
-                if (hashMatches()) {
-                    return;
+                try {
+                    if (this.fileMatches(this.copyTo)) {
+                        return;
+                    }
+                } catch (IOException ignored) {
                 }
 
                 FileUtils.delete(this.copyTo);
@@ -556,7 +1070,18 @@ public final class Download {
                 FileUtils.createDirectory(this.copyTo.getParent());
             }
 
-            FileUtils.copyFile(this.to, this.copyTo, true);
+            // files are only copied into instances, so they go through the mod store to be shared between them
+            ModStore.install(this.to, this.copyTo);
+
+            // a straight copy of a file we just verified has the same hash, so no need to
+            // hash it again next time
+            if (this.downloadedHash != null && this.fingerprint == null) {
+                String expected = this.getHash();
+
+                if (this.downloadedHash.equals(Hashing.toHashCode(expected))) {
+                    VerifiedFileIndex.markVerified(this.copyTo, this.hashAlgorithm(), expected);
+                }
+            }
         }
     }
 
@@ -565,37 +1090,15 @@ public final class Download {
     }
 
     public void downloadFile(int tries) throws IOException {
+        this.failed = false;
+
         if (this.instanceInstaller != null && this.instanceInstaller.isCancelled()) {
             return;
         }
 
         if (!this.needToDownload()) {
             if (this.copyTo != null) {
-                if (this.fingerprint != null) {
-                    try {
-                        if (Hashing.murmur(this.copyTo) != this.fingerprint) {
-                            this.copy();
-                        }
-                    } catch (IOException ignored) {
-                    }
-                } else {
-                    HashCode fileHash = Hashing.EMPTY_HASH_CODE;
-                    if (Files.exists(this.copyTo)) {
-                        if (this.md5()) {
-                            fileHash = Hashing.md5(this.copyTo);
-                        } else if (this.sha256()) {
-                            fileHash = Hashing.sha256(this.copyTo);
-                        } else if (this.sha512()) {
-                            fileHash = Hashing.sha512(this.copyTo);
-                        } else {
-                            fileHash = Hashing.sha1(this.copyTo);
-                        }
-                    }
-
-                    if (!fileHash.equals(Hashing.toHashCode(this.getHash()))) {
-                        this.copy();
-                    }
-                }
+                this.copy();
             }
 
             runPostProcessors();
@@ -605,13 +1108,13 @@ public final class Download {
         // open the connection if not already opened
         if (this.response == null) {
             try {
-                this.execute();
+                this.executeForDownload();
             } catch (IOException e) {
                 // if timeout, attempt to download again
                 if (e instanceof SocketTimeoutException && tries < 3) {
                     LogManager.warn(String.format("Failed to download %s from %s due to timeout. Attempting again.",
                             this.to.getFileName().toString(), this.url));
-                    downloadFile(tries++);
+                    downloadFile(tries + 1);
                     return;
                 }
 
@@ -652,6 +1155,9 @@ public final class Download {
             boolean downloaded = this.downloadRec(1);
 
             if (!downloaded) {
+                this.failed = true;
+                this.deletePartialDownload();
+
                 if (this.response != null && this.response.header("content-type").contains("text/html")) {
                     LogManager.error(
                             "The response from this request was a HTML response. This is usually caused by an antivirus or firewall software intercepting and rewriting the response. The response is below.");
@@ -670,9 +1176,7 @@ public final class Download {
                 } else {
                     LogManager.error("Error downloading " + this.to.getFileName() + " from " + this.url + ". Expected"
                             + " hash of " + expected.toString() + " (with size of " + this.size + ") but got "
-                            + (this.md5() ? Hashing.md5(this.to)
-                                    : (this.sha256() ? Hashing.sha256(this.to)
-                                            : (this.sha512() ? Hashing.sha512(this.to) : Hashing.sha1(this.to))))
+                            + (this.downloadedHash != null ? this.downloadedHash : this.computeHash(this.to))
                             + " (with size of " + (Files.exists(this.to) ? Files.size(this.to) : 0)
                             + ") instead. Copied to FailedDownloads folder & cancelling install! ("
                             + App.settings.connectionTimeout + "/" + App.settings.concurrentConnections + ")");
@@ -683,31 +1187,7 @@ public final class Download {
             }
 
             if (downloaded && this.copyTo != null) {
-                if (this.fingerprint != null) {
-                    try {
-                        if (Hashing.murmur(this.copyTo) != this.fingerprint) {
-                            this.copy();
-                        }
-                    } catch (IOException ignored) {
-                    }
-                } else {
-                    HashCode fileHash2 = Hashing.EMPTY_HASH_CODE;
-                    if (Files.exists(this.copyTo)) {
-                        if (this.md5()) {
-                            fileHash2 = Hashing.md5(this.copyTo);
-                        } else if (this.sha256()) {
-                            fileHash2 = Hashing.sha256(this.copyTo);
-                        } else if (this.sha512()) {
-                            fileHash2 = Hashing.sha512(this.copyTo);
-                        } else {
-                            fileHash2 = Hashing.sha1(this.copyTo);
-                        }
-                    }
-
-                    if (!fileHash2.equals(expected)) {
-                        this.copy();
-                    }
-                }
+                this.copy();
             }
         }
 
@@ -761,4 +1241,28 @@ public final class Download {
     public int hashCode() {
         return this.to.hashCode();
     }
+
+    /**
+     * Details about a partially downloaded file, stored next to the .part file so
+     * the download can be resumed if the file on the server hasn't changed.
+     */
+    private static final class PartialDownload {
+        public String url;
+        public String etag;
+        public String lastModified;
+        public long size = -1L;
+
+        private String getValidator() {
+            return getValidator(etag, lastModified);
+        }
+
+        private static String getValidator(String etag, String lastModified) {
+            // weak etags can't be used for range requests
+            if (etag != null && !etag.startsWith("W/")) {
+                return etag;
+            }
+
+            return lastModified;
+        }
+    }
 }
@@ -18,19 +18,38 @@
 package com.atlauncher.network;
 
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import com.atlauncher.App;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.VerifiedFileIndex;
+import com.atlauncher.workers.InstanceInstaller;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 @SuppressWarnings("serial")
 public final class DownloadPool extends LinkedList<Download> {
+    // how often to check if the install was cancelled while waiting for downloads
+    private static final long CANCEL_CHECK_INTERVAL_MS = 250L;
+
+    private static ThreadPoolExecutor executor = null;
+
     private final boolean wait;
+    private final List<Download> failedDownloads = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean cancelled = false;
 
     public DownloadPool(boolean wait) {
         this.wait = wait;
@@ -40,6 +59,30 @@ public final class DownloadPool extends LinkedList<Download> {
         this(true);
     }
 
+    /**
+     * Gets the shared executor all download pools run on, resizing it if the
+     * number of concurrent connections has changed since it was last used.
+     */
+    static synchronized ThreadPoolExecutor getExecutor() {
+        int threads = Math.max(1, App.settings.concurrentConnections);
+
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("DownloadPool-%d").setDaemon(true).build());
+            executor.allowCoreThreadTimeOut(true);
+        } else if (executor.getMaximumPoolSize() != threads) {
+            if (threads > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threads);
+                executor.setCorePoolSize(threads);
+            } else {
+                executor.setCorePoolSize(threads);
+                executor.setMaximumPoolSize(threads);
+            }
+        }
+
+        return executor;
+    }
+
     public void downloadAll() {
         for (Download dl : this) {
             if (!Files.isDirectory(dl.to.getParent())) {
@@ -47,15 +90,27 @@ public final class DownloadPool extends LinkedList<Download> {
             }
         }
 
-        ExecutorService executor = Executors.newFixedThreadPool(App.settings.concurrentConnections);
+        this.failedDownloads.clear();
+
+        List<Download> downloads;
         synchronized (this) {
-            for (Download dl : this) {
-                executor.execute(new Downloader(dl));
-            }
+            downloads = new ArrayList<>(this);
         }
-        executor.shutdown();
+
+        List<Future<?>> futures = new ArrayList<>(downloads.size());
+        for (Download dl : downloads) {
+            futures.add(getExecutor().submit(new Downloader(dl, this.failedDownloads)));
+        }
+
         if (this.wait) {
-            while (!executor.isTerminated()) {
+            await(futures, downloads);
+
+            VerifiedFileIndex.save();
+
+            if (!this.failedDownloads.isEmpty()) {
+                LogManager.error(this.failedDownloads.size() + " of " + downloads.size()
+                        + " downloads failed: " + this.failedDownloads.stream().map(Download::getPrintableFileName)
+                                .collect(Collectors.joining(", ")));
             }
         }
     }
@@ -76,9 +131,9 @@ public final class DownloadPool extends LinkedList<Download> {
         final DownloadPool pool = new DownloadPool(this.wait);
         final List<Download> downloads = this.stream().distinct().collect(Collectors.toList());
 
-        ExecutorService executor = Executors.newFixedThreadPool(App.settings.concurrentConnections);
+        List<Future<?>> futures = new ArrayList<>(downloads.size());
         for (final Download dl : downloads) {
-            executor.submit(() -> {
+            futures.add(getExecutor().submit(() -> {
                 if (dl.needToDownload()) {
                     synchronized (pool) {
                         pool.add(dl);
@@ -87,16 +142,76 @@ public final class DownloadPool extends LinkedList<Download> {
                     dl.copy();
                     dl.runPostProcessors();
                 }
-            });
+            }));
         }
 
-        executor.shutdown();
-        while (!executor.isTerminated()) {
-        }
+        await(futures, downloads);
+
+        VerifiedFileIndex.save();
 
         return pool;
     }
 
+    /**
+     * Blocks until all the given tasks have finished, cancelling any remaining
+     * ones (including in flight downloads) if this pool is cancelled, the install
+     * the downloads belong to is cancelled or the waiting thread is interrupted.
+     */
+    private void await(List<Future<?>> futures, List<Download> downloads) {
+        Set<InstanceInstaller> instanceInstallers = downloads.stream().map(dl -> dl.instanceInstaller)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        for (Future<?> future : futures) {
+            while (!future.isDone()) {
+                if (this.cancelled || instanceInstallers.stream().anyMatch(InstanceInstaller::isCancelled)) {
+                    cancelAll(futures, downloads);
+                    return;
+                }
+
+                try {
+                    future.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException | ExecutionException | CancellationException ignored) {
+                } catch (InterruptedException e) {
+                    cancelAll(futures, downloads);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void cancelAll(List<Future<?>> futures, List<Download> downloads) {
+        LogManager.debug("Cancelling remaining downloads");
+
+        futures.forEach(future -> future.cancel(true));
+        downloads.forEach(Download::cancel);
+    }
+
+    /**
+     * Cancels this pool, stopping any downloads which are still running or
+     * waiting to run.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Returns the downloads which failed in the last call to downloadAll.
+     */
+    public List<Download> getFailedDownloads() {
+        synchronized (this.failedDownloads) {
+            return new ArrayList<>(this.failedDownloads);
+        }
+    }
+
+    public boolean hasFailedDownloads() {
+        return !this.failedDownloads.isEmpty();
+    }
+
     public boolean any() {
         synchronized (this) {
             for (Download dl : this) {
@@ -111,9 +226,11 @@ public final class DownloadPool extends LinkedList<Download> {
 
     private static final class Downloader implements Runnable {
         private final Download dl;
+        private final List<Download> failedDownloads;
 
-        private Downloader(Download dl) {
+        private Downloader(Download dl, List<Download> failedDownloads) {
             this.dl = dl;
+            this.failedDownloads = failedDownloads;
         }
 
         @Override
@@ -124,7 +241,12 @@ public final class DownloadPool extends LinkedList<Download> {
                 } else {
                     this.dl.copy();
                 }
+
+                if (this.dl.hasFailed()) {
+                    this.failedDownloads.add(this.dl);
+                }
             } catch (Exception e) {
+                this.failedDownloads.add(this.dl);
                 LogManager.logStackTrace("Error trying to download " + this.dl.to.getFileName(), e);
             }
         }
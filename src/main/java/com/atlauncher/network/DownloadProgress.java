@@ -0,0 +1,188 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of how many bytes have been downloaded out of how many, for downloads happening on many threads at once.
+ *
+ * Adding downloaded bytes only bumps a counter, so it's safe and cheap to do from every download thread on every read.
+ * The listener is instead called from a ticker about 10 times a second (and only when something's changed), which is
+ * also when the download speed and time left are worked out.
+ */
+public final class DownloadProgress {
+    private static final long TICK_MILLIS = 100;
+
+    // how much each tick's speed counts towards the overall speed, so it doesn't jump around too much
+    private static final double SPEED_SMOOTHING = 0.3;
+
+    private static final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DownloadProgressTicker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder downloaded = new LongAdder();
+    private final AtomicLong total = new AtomicLong();
+    private final Consumer<DownloadProgress> listener;
+
+    private ScheduledFuture<?> tick = null;
+
+    // only changed when updating, but read from anywhere
+    private volatile double bytesPerSecond = -1;
+
+    private long lastUpdateBytes = -1;
+    private long lastUpdateTotal = -1;
+    private long lastUpdateNanos = -1;
+
+    /**
+     * @param listener called with this when the progress has changed, from the ticker's thread
+     */
+    public DownloadProgress(Consumer<DownloadProgress> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts tracking a new set of downloads, and starts the ticker if it isn't running.
+     */
+    public synchronized void reset(long totalBytes) {
+        downloaded.reset();
+        total.set(totalBytes);
+        bytesPerSecond = -1;
+        lastUpdateBytes = -1;
+        lastUpdateTotal = -1;
+        lastUpdateNanos = -1;
+
+        if (tick == null) {
+            tick = ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        update(System.nanoTime());
+    }
+
+    /**
+     * Stops the ticker, after letting the listener know of any progress since the last tick.
+     */
+    public synchronized void stop() {
+        if (tick != null) {
+            tick.cancel(false);
+            tick = null;
+            update(System.nanoTime());
+        }
+    }
+
+    public void addDownloaded(long bytes) {
+        downloaded.add(bytes);
+    }
+
+    public void addTotal(long bytes) {
+        total.addAndGet(bytes);
+    }
+
+    public long getDownloaded() {
+        return downloaded.sum();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Gets how far through the downloads are, from 0 to 100.
+     */
+    public double getPercent() {
+        long total = getTotal();
+
+        return total > 0 ? Math.min(100.0, getDownloaded() * 100.0 / total) : 0.0;
+    }
+
+    /**
+     * Gets how many bytes a second are being downloaded, or -1 if it's not known yet.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Gets how many seconds until the downloads are done at the current speed, or -1 if it's not known.
+     */
+    public long getSecondsLeft() {
+        double speed = bytesPerSecond;
+
+        if (speed <= 0) {
+            return -1;
+        }
+
+        return (long) Math.ceil(Math.max(0, getTotal() - getDownloaded()) / speed);
+    }
+
+    /**
+     * Gets the progress to show to the user, such as "1.50 MB / 3.00 MB (0.50 MB/s, 0:03)".
+     */
+    public String getLabel() {
+        double done = getDownloaded() / 1024.0 / 1024.0;
+        double toDo = getTotal() / 1024.0 / 1024.0;
+
+        if (done > toDo) {
+            return String.format("%.2f MB", done);
+        }
+
+        long secondsLeft = getSecondsLeft();
+        if (secondsLeft < 0) {
+            return String.format("%.2f MB / %.2f MB", done, toDo);
+        }
+
+        return String.format("%.2f MB / %.2f MB (%.2f MB/s, %d:%02d)", done, toDo, bytesPerSecond / 1024.0 / 1024.0,
+                secondsLeft / 60, secondsLeft % 60);
+    }
+
+    private synchronized void tick() {
+        update(System.nanoTime());
+    }
+
+    synchronized void update(long nanoTime) {
+        long bytes = getDownloaded();
+        long totalBytes = getTotal();
+
+        if (lastUpdateNanos != -1 && nanoTime > lastUpdateNanos) {
+            double speed = (bytes - lastUpdateBytes) / ((nanoTime - lastUpdateNanos) / 1_000_000_000.0);
+
+            if (speed >= 0) {
+                bytesPerSecond = bytesPerSecond < 0 ? speed
+                        : SPEED_SMOOTHING * speed + (1 - SPEED_SMOOTHING) * bytesPerSecond;
+            }
+        }
+
+        boolean changed = bytes != lastUpdateBytes || totalBytes != lastUpdateTotal;
+
+        lastUpdateBytes = bytes;
+        lastUpdateTotal = totalBytes;
+        lastUpdateNanos = nanoTime;
+
+        if (changed) {
+            listener.accept(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+
+/**
+ * A channel which hashes all the bytes read through it, so that a download can
+ * be verified as it comes off the network instead of reading the file back from
+ * disk afterwards.
+ */
+public final class HashingReadableByteChannel implements ReadableByteChannel {
+    private final ReadableByteChannel channel;
+    private final Hasher hasher;
+    private long bytesRead = 0L;
+
+    public HashingReadableByteChannel(ReadableByteChannel channel, HashFunction hashFunction) {
+        this(channel, hashFunction.newHasher());
+    }
+
+    /**
+     * Creates a channel which continues hashing into an existing hasher, such as
+     * one already fed the start of a resumed download.
+     */
+    public HashingReadableByteChannel(ReadableByteChannel channel, Hasher hasher) {
+        this.channel = channel;
+        this.hasher = hasher;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int read = channel.read(dst);
+
+        if (read > 0) {
+            ByteBuffer readBytes = dst.duplicate();
+            readBytes.flip();
+            readBytes.position(start);
+            hasher.putBytes(readBytes);
+            bytesRead += read;
+        }
+
+        return read;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Returns the hash of all the bytes read so far. This can only be called once.
+     */
+    public HashCode hash() {
+        return hasher.hash();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
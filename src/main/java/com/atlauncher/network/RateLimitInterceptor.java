@@ -0,0 +1,61 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Limits how many requests are made to a host. As a network interceptor, responses served from the cache aren't
+ * counted.
+ */
+public final class RateLimitInterceptor implements Interceptor {
+    private final String host;
+    private final TokenBucket bucket;
+
+    public RateLimitInterceptor(String host, TokenBucket bucket) {
+        this.host = host;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!chain.request().url().host().equals(host)) {
+            return chain.proceed(chain.request());
+        }
+
+        try {
+            bucket.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to make request to " + host);
+        }
+
+        Response response = chain.proceed(chain.request());
+
+        // we've been told we're going too fast, so hold off on anything else for a bit
+        if (response.code() == 429) {
+            bucket.drain();
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket for limiting how often something happens. The bucket starts full, each use takes a token, and tokens
+ * are put back at a steady rate up to the bucket's capacity, so short bursts are allowed while the average rate stays
+ * under the limit.
+ */
+public final class TokenBucket {
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param capacity the most tokens the bucket can hold, and so the largest burst allowed
+     * @param tokens   how many tokens are put back every period
+     * @param period   how often that many tokens are put back
+     * @param unit     the unit of the period
+     */
+    public TokenBucket(long capacity, long tokens, long period, TimeUnit unit) {
+        this(capacity, tokens, period, unit, System::nanoTime);
+    }
+
+    TokenBucket(long capacity, long tokens, long period, TimeUnit unit, LongSupplier nanoTime) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) tokens / unit.toNanos(period);
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.lastRefill = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a token, waiting for one to be put back if there's none left.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a token if there's one left.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until the next one is put back
+     */
+    public synchronized long tryAcquire() {
+        refill();
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    /**
+     * Empties the bucket, such as when told by a server to slow down, so nothing more happens until tokens are put
+     * back.
+     */
+    public synchronized void drain() {
+        refill();
+        tokens = 0;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock free queue for many producers and a single consumer, used to pass log events to the logging thread.
+ *
+ * When the buffer is full, producers wait for the consumer to make room for up to the given time, after which the
+ * element is dropped and counted, so a stalled consumer can never hang the threads that log.
+ */
+public final class LogRingBuffer<E> {
+    private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+
+    // the next sequence a producer will claim
+    private final AtomicLong tail = new AtomicLong();
+
+    // the next sequence the consumer will read, only written by the consumer
+    private final AtomicLong head = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread consumer;
+    private volatile boolean consumerWaiting = false;
+
+    /**
+     * @param capacity the number of elements the buffer can hold, rounded up to a power of two
+     */
+    public LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds the element if there is room for it, without waiting.
+     *
+     * @return if the element was added
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long sequence = tail.get();
+
+            if (sequence - head.get() >= capacity()) {
+                return false;
+            }
+
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                buffer.lazySet((int) sequence & mask, element);
+
+                if (consumerWaiting) {
+                    LockSupport.unpark(consumer);
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds the element, waiting up to the given time for room in the buffer if it's full. If there's still no room,
+     * the element is dropped and counted in {@link #getAndResetDropped()}.
+     *
+     * @return if the element was added
+     */
+    public boolean offer(E element, long timeout, TimeUnit unit) {
+        if (offer(element)) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+
+            if (offer(element)) {
+                return true;
+            }
+        }
+
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Counts an element as dropped without trying to add it.
+     */
+    public void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Moves up to the given number of elements into the list. Must only be called from the consumer thread.
+     *
+     * @return the number of elements drained
+     */
+    public int drainTo(List<? super E> list, int maxElements) {
+        long sequence = head.get();
+        int drained = 0;
+
+        while (drained < maxElements) {
+            int index = (int) sequence & mask;
+            E element = buffer.get(index);
+
+            // either empty, or a producer has claimed the slot but not yet published to it
+            if (element == null) {
+                break;
+            }
+
+            buffer.lazySet(index, null);
+            list.add(element);
+            sequence++;
+            drained++;
+        }
+
+        head.set(sequence);
+        return drained;
+    }
+
+    /**
+     * Waits until there might be elements to drain, or a short timeout passes. Must only be called from the consumer
+     * thread.
+     */
+    public void awaitElements() {
+        consumer = Thread.currentThread();
+        consumerWaiting = true;
+
+        try {
+            if (buffer.get((int) head.get() & mask) == null) {
+                LockSupport.parkNanos(this, CONSUMER_PARK_NANOS);
+            }
+        } finally {
+            consumerWaiting = false;
+        }
+    }
+
+    /**
+     * @return the number of elements dropped since this was last called
+     */
+    public long getAndResetDropped() {
+        return dropped.sumThenReset();
+    }
+}
@@ -17,34 +17,43 @@
  */
 package com.atlauncher.thread;
 
-import java.util.concurrent.BlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.Logger;
 
 import com.atlauncher.evnt.LogEvent;
 
 public final class LoggingThread extends Thread {
-    private final BlockingQueue<LogEvent> queue;
+    // the most events posted at once, so the console still updates regularly when flooded with logs
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final LogRingBuffer<LogEvent> queue;
     private static final Logger logger = org.apache.logging.log4j.LogManager.getLogger(LoggingThread.class);
 
-    public LoggingThread(BlockingQueue<LogEvent> queue) {
+    public LoggingThread(LogRingBuffer<LogEvent> queue) {
         this.queue = queue;
         this.setName("ATL-Logging-Thread");
     }
 
     @Override
     public void run() {
-        while (true) {
-            LogEvent next;
-            try {
-                next = this.queue.take();
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-                return;
+        List<LogEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            if (this.queue.drainTo(batch, MAX_BATCH_SIZE) == 0) {
+                this.queue.awaitElements();
+                continue;
             }
-            if (next != null) {
-                next.post(logger);
+
+            long dropped = this.queue.getAndResetDropped();
+            if (dropped != 0) {
+                batch.add(new LogEvent(LogEvent.LogType.WARN,
+                        dropped + " log messages were dropped as the logging thread couldn't keep up"));
             }
+
+            LogEvent.post(batch, logger);
+            batch.clear();
         }
     }
 
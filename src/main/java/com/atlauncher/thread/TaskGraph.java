@@ -0,0 +1,149 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.PerformanceManager;
+
+/**
+ * A set of named tasks with dependencies between them. When run, each task starts as soon as everything it depends on
+ * has finished, so tasks that don't depend on each other run at the same time.
+ *
+ * A task failing is logged, but doesn't stop the tasks depending on it from running, the same as if the tasks were run
+ * one after another.
+ */
+public final class TaskGraph {
+    private final String name;
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+
+    public TaskGraph(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a task to the graph. Tasks it depends on must have already been added.
+     */
+    public TaskGraph add(String taskName, Runnable runnable, String... dependsOn) {
+        if (tasks.containsKey(taskName)) {
+            throw new IllegalArgumentException("Task " + taskName + " has already been added");
+        }
+
+        for (String dependency : dependsOn) {
+            if (!tasks.containsKey(dependency)) {
+                throw new IllegalArgumentException("Task " + taskName + " depends on unknown task " + dependency);
+            }
+        }
+
+        tasks.put(taskName, new Task(taskName, runnable, Arrays.asList(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Runs all the tasks, waiting for them all to finish. The time each task took and the chain of tasks that decided
+     * how long it took overall are reported to the {@link PerformanceManager}.
+     */
+    public void run() {
+        // tasks mostly wait on disk or the network rather than use the cpu, so aren't limited to one thread per core
+        AtomicInteger threadCount = new AtomicInteger(0);
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long graphStart = System.nanoTime();
+
+        try {
+            Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+            for (Task task : tasks.values()) {
+                CompletableFuture<?>[] dependencies = task.dependsOn.stream().map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+
+                futures.put(task.name,
+                        CompletableFuture.allOf(dependencies).thenRunAsync(() -> task.run(graphStart), executor));
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        report(System.nanoTime() - graphStart);
+    }
+
+    private void report(long totalNanos) {
+        for (Task task : tasks.values()) {
+            PerformanceManager.log(name + " task " + task.name, TimeUnit.NANOSECONDS.toMillis(task.end - task.start));
+        }
+
+        // work back from the last task to finish, through whichever of its dependencies finished last
+        List<String> criticalPath = new ArrayList<>();
+        Task task = tasks.values().stream().max((a, b) -> Long.compare(a.end, b.end)).orElse(null);
+        while (task != null) {
+            criticalPath.add(String.format("%s (%d ms)", task.name,
+                    TimeUnit.NANOSECONDS.toMillis(task.end - task.start)));
+            task = task.dependsOn.stream().map(tasks::get).max((a, b) -> Long.compare(a.end, b.end))
+                    .orElse(null);
+        }
+        Collections.reverse(criticalPath);
+
+        PerformanceManager.log(name + " (critical path " + String.join(" -> ", criticalPath) + ")",
+                TimeUnit.NANOSECONDS.toMillis(totalNanos));
+    }
+
+    private static final class Task {
+        private final String name;
+        private final Runnable runnable;
+        private final List<String> dependsOn;
+
+        // relative to when the graph started running
+        private volatile long start;
+        private volatile long end;
+
+        private Task(String name, Runnable runnable, List<String> dependsOn) {
+            this.name = name;
+            this.runnable = runnable;
+            this.dependsOn = dependsOn;
+        }
+
+        private void run(long graphStart) {
+            start = System.nanoTime() - graphStart;
+
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                LogManager.logStackTrace("Task " + name + " failed", t);
+            } finally {
+                end = System.nanoTime() - graphStart;
+            }
+        }
+    }
+}
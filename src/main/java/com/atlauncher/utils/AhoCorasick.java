@@ -0,0 +1,288 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Finds any number of ASCII patterns in a string with a single pass over it, rather than one scan per pattern.
+ *
+ * The matcher is compiled into a state table up front, so matching is one array lookup per character and doesn't
+ * allocate anything other than the result, which callers matching many strings can reuse with
+ * {@link #match(String, Matches)}.
+ */
+public final class AhoCorasick {
+    private static final int ALPHABET = 128;
+
+    private final String[] patterns;
+
+    // next state for each state and character (at state * ALPHABET + character), with failure links already followed
+    private final int[] transitions;
+
+    // the patterns that end at each state, including those reached through failure links
+    private final int[][] outputs;
+    private final boolean[] hasOutput;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[1024]);
+
+    public AhoCorasick(String... patterns) {
+        this.patterns = patterns.clone();
+
+        List<int[]> gotos = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        gotos.add(newState());
+        stateOutputs.add(new ArrayList<>());
+
+        for (int i = 0; i < patterns.length; i++) {
+            int state = 0;
+
+            for (char c : patterns[i].toCharArray()) {
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Only ASCII patterns are supported: " + patterns[i]);
+                }
+
+                if (gotos.get(state)[c] == -1) {
+                    gotos.get(state)[c] = gotos.size();
+                    gotos.add(newState());
+                    stateOutputs.add(new ArrayList<>());
+                }
+
+                state = gotos.get(state)[c];
+            }
+
+            stateOutputs.get(state).add(i);
+        }
+
+        int[] failure = new int[gotos.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = gotos.get(0)[c];
+
+            if (next == -1) {
+                gotos.get(0)[c] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        // breadth first, so each states failure state is complete before it's used
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(failure[state]));
+
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = gotos.get(state)[c];
+
+                if (next == -1) {
+                    gotos.get(state)[c] = gotos.get(failure[state])[c];
+                } else {
+                    failure[next] = gotos.get(failure[state])[c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = new int[gotos.size() * ALPHABET];
+        for (int state = 0; state < gotos.size(); state++) {
+            System.arraycopy(gotos.get(state), 0, transitions, state * ALPHABET, ALPHABET);
+        }
+        this.outputs = new int[stateOutputs.size()][];
+        this.hasOutput = new boolean[stateOutputs.size()];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = stateOutputs.get(i).stream().mapToInt(Integer::intValue).toArray();
+            hasOutput[i] = outputs[i].length != 0;
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * Finds where each pattern first and last occurs in the text.
+     *
+     * @param text the text to search
+     * @return the matches in the text
+     */
+    public Matches match(String text) {
+        return match(text, newMatches());
+    }
+
+    /**
+     * Finds where each pattern first and last occurs in the text, reusing the given matches rather than making new
+     * ones.
+     *
+     * @param text    the text to search
+     * @param matches the matches to fill in, from {@link #newMatches()}. Anything already in them is cleared
+     * @return the given matches
+     */
+    public Matches match(String text, Matches matches) {
+        if (matches.first.length != patterns.length) {
+            throw new IllegalArgumentException("Matches are for a different number of patterns");
+        }
+
+        matches.clear();
+        int length = text.length();
+        char[] chars = getChars(text);
+
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+
+            // no pattern contains anything outside of ASCII, so this can't be part of a match
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+
+            if (!hasOutput[state]) {
+                continue;
+            }
+
+            for (int pattern : outputs[state]) {
+                int start = i - patterns[pattern].length() + 1;
+
+                if (matches.first[pattern] == -1) {
+                    matches.first[pattern] = start;
+                }
+                matches.last[pattern] = start;
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * @return empty matches for this matcher's patterns, to be passed to {@link #match(String, Matches)}
+     */
+    public Matches newMatches() {
+        return new Matches(patterns.length);
+    }
+
+    /**
+     * Replaces every occurrence of the patterns in the text in a single pass. Where matches overlap, the one starting
+     * first is replaced, and if they start at the same place the longest one is.
+     *
+     * @param text         the text to search
+     * @param replacements what to replace each pattern with, in the same order as the patterns
+     * @return the text with the patterns replaced, or the same string if none of them were found
+     */
+    public String replace(String text, String[] replacements) {
+        int length = text.length();
+        char[] chars = getChars(text);
+
+        // start and pattern of each match found, only made once something matches as most text won't have any
+        List<int[]> found = null;
+
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+
+            if (!hasOutput[state]) {
+                continue;
+            }
+
+            if (found == null) {
+                found = new ArrayList<>();
+            }
+
+            for (int pattern : outputs[state]) {
+                found.add(new int[] { i - patterns[pattern].length() + 1, pattern });
+            }
+        }
+
+        if (found == null) {
+            return text;
+        }
+
+        found.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0])
+                : Integer.compare(patterns[b[1]].length(), patterns[a[1]].length()));
+
+        StringBuilder replaced = new StringBuilder(length);
+        int copiedTo = 0;
+        for (int[] match : found) {
+            if (match[0] < copiedTo) {
+                continue;
+            }
+
+            replaced.append(chars, copiedTo, match[0] - copiedTo).append(replacements[match[1]]);
+            copiedTo = match[0] + patterns[match[1]].length();
+        }
+        replaced.append(chars, copiedTo, length - copiedTo);
+
+        return replaced.toString();
+    }
+
+    // scanning a copy of the characters is much faster than calling charAt for each one
+    private static char[] getChars(String text) {
+        int length = text.length();
+
+        char[] chars = BUFFER.get();
+        if (chars.length < length) {
+            chars = new char[length];
+            BUFFER.set(chars);
+        }
+        text.getChars(0, length, chars, 0);
+
+        return chars;
+    }
+
+    public static final class Matches {
+        private final int[] first;
+        private final int[] last;
+
+        private Matches(int patterns) {
+            first = new int[patterns];
+            last = new int[patterns];
+            clear();
+        }
+
+        private void clear() {
+            Arrays.fill(first, -1);
+            Arrays.fill(last, -1);
+        }
+
+        public boolean contains(int pattern) {
+            return first[pattern] != -1;
+        }
+
+        /**
+         * @return where the pattern first starts, or -1 if it wasn't found
+         */
+        public int indexOf(int pattern) {
+            return first[pattern];
+        }
+
+        /**
+         * @return where the pattern last starts, or -1 if it wasn't found
+         */
+        public int lastIndexOf(int pattern) {
+            return last[pattern];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.IOUtils;
+
+/**
+ * Reads entries out of a zip/jar by looking them up in the archive's central directory, so only the entries asked for
+ * are read rather than everything in the archive before them.
+ *
+ * Opening the archive only reads the central directory, so when more than one entry is needed from the same archive,
+ * they should all be read from the one reader.
+ */
+public class ArchiveReader implements Closeable {
+    private final ZipFile zipFile;
+
+    public ArchiveReader(Path archivePath) throws IOException {
+        // the local file headers aren't needed to read entries, so skip reading them all on open
+        this.zipFile = new ZipFile(archivePath.toFile(), "UTF8", true, true);
+    }
+
+    public boolean contains(String name) {
+        return zipFile.getEntry(name) != null;
+    }
+
+    /**
+     * Gets the contents of the given entry, or null if the archive doesn't have it.
+     */
+    public @Nullable byte[] getBytes(String name) throws IOException {
+        ZipArchiveEntry entry = zipFile.getEntry(name);
+
+        if (entry == null || entry.isDirectory() || !zipFile.canReadEntryData(entry)) {
+            return null;
+        }
+
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    /**
+     * Gets the contents of the given entry as a UTF-8 string, or null if the archive doesn't have it.
+     */
+    public @Nullable String getString(String name) throws IOException {
+        byte[] contents = getBytes(name);
+
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the contents of each of the given entries as UTF-8 strings. Entries the archive doesn't have are left out of
+     * the returned map.
+     */
+    public Map<String, String> getStrings(String... names) throws IOException {
+        Map<String, String> contents = new HashMap<>();
+
+        for (String name : names) {
+            String content = getString(name);
+
+            if (content != null) {
+                contents.put(name, content);
+            }
+        }
+
+        return contents;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+}
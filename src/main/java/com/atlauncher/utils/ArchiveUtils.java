@@ -22,12 +22,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -44,11 +50,13 @@ import com.atlauncher.managers.LogManager;
 
 public class ArchiveUtils {
     public static boolean archiveContainsFile(Path archivePath, String file) {
-        try {
-            return ZipUtil.containsEntry(archivePath.toFile(), file);
-        } catch (Throwable t) {
-            // allow this to fail as we can fallback to Apache Commons library
-            LogManager.error("Failed to check if archive contains file in " + archivePath.toAbsolutePath());
+        if (canUseArchiveReader(archivePath)) {
+            try (ArchiveReader reader = new ArchiveReader(archivePath)) {
+                return reader.contains(file);
+            } catch (Throwable t) {
+                // allow this to fail as we can fallback to reading through the whole archive
+                LogManager.error("Failed to check if archive contains file in " + archivePath.toAbsolutePath());
+            }
         }
 
         boolean found = false;
@@ -97,38 +105,42 @@ public class ArchiveUtils {
     }
 
     public static String getFile(Path archivePath, String file) {
-        try {
-            byte[] contents = ZipUtil.unpackEntry(createInputStream(archivePath), file);
+        return getFiles(archivePath, file).get(file);
+    }
 
-            if (contents != null) {
-                return new String(contents);
+    /**
+     * Gets the contents of each of the given files in the archive, opening the archive only once. Files the archive
+     * doesn't have are left out of the returned map.
+     *
+     * @param archivePath Path of the archive to read from.
+     * @param files       Names of the files to get.
+     * @return Map of file name to its contents
+     */
+    public static Map<String, String> getFiles(Path archivePath, String... files) {
+        if (canUseArchiveReader(archivePath)) {
+            try (ArchiveReader reader = new ArchiveReader(archivePath)) {
+                return reader.getStrings(files);
+            } catch (Throwable t) {
+                // allow this to fail as we can fallback to reading through the whole archive
+                LogManager.debug(
+                        "Failed to get contents of file in " + archivePath.toAbsolutePath() + ". Trying fallback method");
             }
-        } catch (Throwable t) {
-            LogManager.logStackTrace(t);
-            // allow this to fail as we can fallback to Apache Commons library
-            LogManager.debug(
-                    "Failed to get contents of file in " + archivePath.toAbsolutePath() + ". Trying fallback method");
         }
 
-        String contents = null;
+        Set<String> remaining = new HashSet<>(Arrays.asList(files));
+        Map<String, String> contents = new HashMap<>();
 
-        try {
-            InputStream is = createInputStream(archivePath);
-            try (
-                    ArchiveInputStream ais = new ArchiveStreamFactory().createArchiveInputStream("ZIP", is)) {
-                ArchiveEntry entry = null;
-                while ((entry = ais.getNextEntry()) != null) {
-                    if (!ais.canReadEntryData(entry)) {
-                        continue;
-                    }
+        try (InputStream is = createInputStream(archivePath);
+                ArchiveInputStream ais = new ArchiveStreamFactory().createArchiveInputStream("ZIP", is)) {
+            ArchiveEntry entry = null;
+            while (!remaining.isEmpty() && (entry = ais.getNextEntry()) != null) {
+                if (!ais.canReadEntryData(entry)) {
+                    continue;
+                }
 
-                    if (entry.getName().equals(file)) {
-                        contents = new String(IOUtils.toByteArray(ais));
-                        break;
-                    }
+                if (remaining.remove(entry.getName())) {
+                    contents.put(entry.getName(), new String(IOUtils.toByteArray(ais), StandardCharsets.UTF_8));
                 }
-            } catch (Exception e) {
-                LogManager.logStackTrace(e);
             }
         } catch (Exception e) {
             LogManager.logStackTrace(e);
@@ -137,6 +149,14 @@ public class ArchiveUtils {
         return contents;
     }
 
+    /**
+     * The central directory can only be used to look up entries when the archive is a file on disk, otherwise it has
+     * to be read through from the start.
+     */
+    private static boolean canUseArchiveReader(Path archivePath) {
+        return !archivePath.toString().startsWith("file:") && Files.isRegularFile(archivePath);
+    }
+
     public static boolean extract(Path archivePath, Path extractToPath) {
         return extract(archivePath, extractToPath, name -> name);
     }
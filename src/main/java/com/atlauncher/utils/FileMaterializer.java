@@ -0,0 +1,283 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.managers.LogManager;
+
+/**
+ * Puts copies of files in place, using the cheapest way the filesystem supports. Files can be hard linked (no extra
+ * space, but both paths share the same data), reflinked (copy on write, so no extra space until one of them is
+ * changed) or plainly copied.
+ *
+ * Which strategies are used depends on if the files may be changed in place afterwards. Hard links are only safe for
+ * files that never are, like assets in the objects folder, while anything in an instance could be edited by the user
+ * or the game, so those use {@link #PRIVATE}.
+ *
+ * Reflinks are made by running cp, so they're only used for files big enough that it's quicker than copying them,
+ * unless it's the last strategy left to try.
+ */
+public final class FileMaterializer {
+    public enum Strategy {
+        HARD_LINK, REFLINK, COPY
+    }
+
+    /**
+     * For files that are only ever read once put in place, such as assets and extracted natives.
+     */
+    public static final FileMaterializer SHARED = new FileMaterializer(Strategy.HARD_LINK, Strategy.REFLINK,
+            Strategy.COPY);
+
+    /**
+     * For files that may be changed after being put in place, such as the contents of an instance.
+     */
+    public static final FileMaterializer PRIVATE = new FileMaterializer(Strategy.REFLINK, Strategy.COPY);
+
+    // starting a cp process costs about as much as copying a file this size, so anything smaller is just copied
+    private static final long REFLINK_MIN_SIZE = 256L * 1024;
+
+    // if reflinks work from one file store to another, found out once per pair
+    private static final Map<List<FileStore>, Boolean> reflinkSupport = new ConcurrentHashMap<>();
+
+    private final List<Strategy> strategies;
+
+    // strategies which have failed between two file stores, so they're not tried again for every file
+    private final Map<List<FileStore>, Set<Strategy>> unsupported = new ConcurrentHashMap<>();
+
+    public FileMaterializer(Strategy... strategies) {
+        this.strategies = Collections.unmodifiableList(Arrays.asList(strategies));
+    }
+
+    public List<Strategy> getStrategies() {
+        return strategies;
+    }
+
+    /**
+     * Puts the source file at the target path, replacing anything already there.
+     *
+     * @param source the file to materialize
+     * @param target where the file should end up
+     * @return the strategy that was used
+     * @throws IOException if the file couldn't be put in place with any strategy
+     */
+    public Strategy materialize(Path source, Path target) throws IOException {
+        // check this up front, otherwise a missing file would mark the strategies as unsupported
+        if (!Files.isRegularFile(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+
+        Set<Strategy> unsupportedStrategies = getUnsupportedStrategies(source, target);
+        IOException lastException = null;
+        long size = Files.size(source);
+
+        for (int i = 0; i < strategies.size(); i++) {
+            Strategy strategy = strategies.get(i);
+
+            if (unsupportedStrategies != null && unsupportedStrategies.contains(strategy)) {
+                continue;
+            }
+
+            if (strategy == Strategy.REFLINK && size < REFLINK_MIN_SIZE && i != strategies.size() - 1) {
+                continue;
+            }
+
+            try {
+                Files.deleteIfExists(target);
+
+                if (apply(strategy, source, target)) {
+                    return strategy;
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                if (strategy == Strategy.COPY) {
+                    throw e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+
+                lastException = e instanceof IOException ? (IOException) e : new IOException(e);
+            }
+
+            if (unsupportedStrategies != null) {
+                LogManager.debug(strategy + " isn't supported between " + source.getParent() + " and "
+                        + target.getParent() + ", falling back");
+                unsupportedStrategies.add(strategy);
+            }
+        }
+
+        throw lastException == null ? new IOException("No strategy could materialize " + source + " to " + target)
+                : lastException;
+    }
+
+    /**
+     * Materializes every file in the source directory into the target directory, keeping the same structure.
+     *
+     * @param source the directory to materialize
+     * @param target the directory the files should end up in
+     * @return if every file was put in place
+     */
+    public boolean materializeDirectory(Path source, Path target) {
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    materialize(file, target.resolve(source.relativize(file).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to materialize " + source + " to " + target, e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if files can be reflinked from the source directory into the target directory. This is found out by
+     * reflinking a tiny file the first time each pair of file stores is seen, so callers can pick a cheaper approach up
+     * front on filesystems without reflinks (like ext4 and NTFS) rather than only finding out from a full copy.
+     *
+     * @param sourceDirectory the directory the files would come from
+     * @param targetDirectory the directory the files would go into, which is made if it doesn't exist
+     */
+    public static boolean canReflink(Path sourceDirectory, Path targetDirectory) {
+        try {
+            Files.createDirectories(sourceDirectory);
+            Files.createDirectories(targetDirectory);
+
+            List<FileStore> key = Arrays.asList(Files.getFileStore(sourceDirectory),
+                    Files.getFileStore(targetDirectory));
+
+            return reflinkSupport.computeIfAbsent(key, k -> probeReflink(sourceDirectory, targetDirectory));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean probeReflink(Path sourceDirectory, Path targetDirectory) {
+        Path source = null;
+        Path target = null;
+
+        try {
+            source = Files.createTempFile(sourceDirectory, "reflink", ".tmp");
+            Files.write(source, new byte[] { 0 });
+            target = targetDirectory.resolve(source.getFileName());
+
+            return reflink(source, target);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            try {
+                if (source != null) {
+                    Files.deleteIfExists(source);
+                }
+
+                if (target != null) {
+                    Files.deleteIfExists(target);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private Set<Strategy> getUnsupportedStrategies(Path source, Path target) {
+        try {
+            List<FileStore> key = Arrays.asList(Files.getFileStore(source), Files.getFileStore(target.getParent()));
+
+            return unsupported.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+        } catch (IOException | NullPointerException e) {
+            // can't tell which file store it's on, so just try everything each time
+            return null;
+        }
+    }
+
+    private static boolean apply(Strategy strategy, Path source, Path target) throws IOException {
+        switch (strategy) {
+            case HARD_LINK:
+                Files.createLink(target, source);
+                return true;
+            case REFLINK:
+                return reflink(source, target);
+            case COPY:
+            default:
+                Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+                return true;
+        }
+    }
+
+    /**
+     * Java has no API for reflinks, so this uses the systems cp, which will fail rather than do a normal copy when the
+     * filesystem (btrfs, xfs, APFS and so on) doesn't support them.
+     */
+    private static boolean reflink(Path source, Path target) throws IOException {
+        ProcessBuilder processBuilder;
+
+        if (OS.isLinux()) {
+            processBuilder = new ProcessBuilder("cp", "--reflink=always", "--preserve=timestamps", "--",
+                    source.toString(), target.toString());
+        } else if (OS.isMac()) {
+            processBuilder = new ProcessBuilder("cp", "-c", "-p", source.toString(), target.toString());
+        } else {
+            return false;
+        }
+
+        processBuilder.redirectErrorStream(true);
+
+        Process process = processBuilder.start();
+
+        try {
+            // drain the output so it can't fill the pipe and block cp
+            while (process.getInputStream().read() != -1) {
+            }
+
+            if (process.waitFor() == 0) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reflinking " + source, e);
+        }
+
+        Files.deleteIfExists(target);
+        return false;
+    }
+}
@@ -18,19 +18,26 @@
 package com.atlauncher.utils;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-
-import org.apache.commons.lang3.ArrayUtils;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.atlauncher.managers.LogManager;
 import com.google.common.hash.HashCode;
-import com.sangupta.murmur.Murmur2;
 
 public final class Hashing {
     public static final HashCode EMPTY_HASH_CODE = HashCode.fromBytes(new byte[1]);
 
+    private static final int MURMUR_BUFFER_SIZE = 64 * 1024;
+
     public static HashCode md5(String str) {
         if (str == null || str.isEmpty()) {
             return EMPTY_HASH_CODE;
@@ -91,15 +98,63 @@ public final class Hashing {
         }
     }
 
-    // TODO: this is really not efficient or good on memory
+    /**
+     * Gets the CurseForge fingerprint of a file. This streams through the file
+     * twice with a fixed size buffer (once to count the non whitespace bytes which
+     * seed the hash, once to hash them) so it never holds the file in memory.
+     */
     public static long murmur(Path to) throws IOException {
-        byte[] bytes = ArrayUtils
-                .removeAllOccurrences(ArrayUtils.removeAllOccurrences(
-                        ArrayUtils.removeAllOccurrences(
-                                ArrayUtils.removeAllOccurrences(Files.readAllBytes(to), (byte) 9), (byte) 10),
-                        (byte) 13), (byte) 32);
+        ByteBuffer buffer = ByteBuffer.allocate(MURMUR_BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(to, StandardOpenOption.READ)) {
+            long normalizedLength = 0L;
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                normalizedLength += Murmur2Stream.countNonWhitespace(buffer);
+                buffer.clear();
+            }
+
+            Murmur2Stream murmur = new Murmur2Stream(normalizedLength, 1L);
+            channel.position(0L);
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                murmur.update(buffer);
+                buffer.clear();
+            }
 
-        return Murmur2.hash(bytes, bytes.length, 1L);
+            return murmur.finish();
+        }
+    }
+
+    /**
+     * Gets the CurseForge fingerprints of many files at once, hashing them in
+     * parallel. Files which can't be read are logged and left out of the result.
+     */
+    public static Map<Path, Long> murmur(Collection<Path> files) {
+        Map<Path, Long> fingerprints = new ConcurrentHashMap<>();
+
+        files.parallelStream().distinct().forEach(file -> {
+            try {
+                fingerprints.put(file, murmur(file));
+            } catch (IOException e) {
+                LogManager.logStackTrace("Error getting murmur hash of " + file.toAbsolutePath().toString(), e,
+                        false);
+            }
+        });
+
+        return fingerprints;
+    }
+
+    /**
+     * Gets the CurseForge fingerprints of all the files directly inside the given
+     * directory (such as an instances mods folder), hashing them in parallel.
+     */
+    public static Map<Path, Long> murmurDirectory(Path directory) throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            return murmur(list.filter(Files::isRegularFile).collect(Collectors.toList()));
+        }
     }
 
     public static HashCode toHashCode(String hash) {
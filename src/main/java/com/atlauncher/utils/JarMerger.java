@@ -0,0 +1,124 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+/**
+ * Merges jars together by copying each entry's already compressed bytes straight into the output jar, so nothing gets
+ * inflated and deflated again. Anything in META-INF is left out, and when more than one jar has the same entry, the one
+ * from the jar given first is kept.
+ *
+ * The output can be given a key (stored as the jar's comment) so callers can tell if a previously merged jar is still
+ * up to date without rebuilding it.
+ */
+public final class JarMerger {
+    private JarMerger() {
+    }
+
+    /**
+     * Merges the given jars into the output jar. The output is written to a temporary file first and then moved into
+     * place, so a failed merge never leaves a half written jar behind.
+     *
+     * @param output the jar to create
+     * @param key    the key to store in the output jar, or null for none
+     * @param jars   the jars to merge, in order of precedence
+     */
+    public static void merge(File output, String key, File... jars) throws IOException {
+        Path outputPath = output.toPath();
+        Path tempPath = outputPath.resolveSibling(output.getName() + ".tmp");
+
+        try {
+            try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(tempPath.toFile())) {
+                Set<String> entriesAdded = new HashSet<>();
+
+                for (File jar : jars) {
+                    try (ZipFile zipFile = new ZipFile(jar)) {
+                        Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+
+                        while (entries.hasMoreElements()) {
+                            ZipArchiveEntry entry = entries.nextElement();
+
+                            if (entry.getName().contains("META-INF") || !entriesAdded.add(entry.getName())) {
+                                continue;
+                            }
+
+                            try (InputStream rawStream = zipFile.getRawInputStream(entry)) {
+                                zos.addRawArchiveEntry(entry, rawStream);
+                            }
+                        }
+                    }
+                }
+
+                if (key != null) {
+                    zos.setComment(key);
+                }
+            }
+
+            Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Gets the key a jar was merged with. This only reads the end of the jar, so is cheap to call before every launch.
+     *
+     * @return the key, or null if the jar doesn't exist or wasn't merged with one
+     */
+    public static String getKey(File jar) {
+        if (!jar.exists()) {
+            return null;
+        }
+
+        try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(jar)) {
+            return zipFile.getComment();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a key for a merge of the given jars from their hashes.
+     */
+    public static String createKey(File... jars) {
+        StringBuilder key = new StringBuilder();
+
+        for (File jar : jars) {
+            if (key.length() != 0) {
+                key.append(':');
+            }
+
+            key.append(Hashing.sha1(jar.toPath()));
+        }
+
+        return key.toString();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.atlauncher.evnt.LogEvent.LogType;
+
+/**
+ * Works out the type of each line of Minecraft's output, and where the message in it starts. All the markers are
+ * looked for in a single pass over the line, and then checked in order of priority.
+ */
+public final class MinecraftLogClassifier {
+    private static final String[] THREADS = { "Sound Library Loader", "MCO Availability Checker #1", "Client thread",
+            "Server thread", "main" };
+
+    private static final String EVENT_TAG = "<log4j:Event";
+    private static final String MESSAGE_START = "<log4j:Message><![CDATA[";
+    private static final String MESSAGE_END = "]]></log4j:Message>";
+
+    private static final List<Rule> RULES = new ArrayList<>();
+
+    // markers looked for after [INFO] which change its type
+    private static final int CONFLICT;
+    private static final int OVERWRITING;
+
+    private static final AhoCorasick MATCHER;
+
+    // classify is called for every line of output, so each thread reuses the same matches rather than making new ones
+    private static final ThreadLocal<AhoCorasick.Matches> MATCHES;
+
+    static {
+        RULES.add(new Rule("[INFO] [STDERR]", LogType.WARN, false));
+        RULES.add(new Rule("[INFO]", LogType.INFO, false));
+        RULES.add(new Rule("[WARNING]", LogType.WARN, false));
+        RULES.add(new Rule("WARNING:", LogType.WARN, false));
+        RULES.add(new Rule("INFO:", LogType.INFO, false));
+        RULES.add(new Rule("Exception", LogType.ERROR, true));
+        RULES.add(new Rule("[SEVERE]", LogType.ERROR, false));
+
+        for (String thread : THREADS) {
+            RULES.add(new Rule("[" + thread + "/ERROR]", LogType.ERROR, false));
+            RULES.add(new Rule("[" + thread + "/WARN]", LogType.WARN, false));
+            RULES.add(new Rule("[" + thread + "/INFO]", LogType.INFO, false));
+        }
+
+        String[] patterns = new String[RULES.size() + 2];
+        for (int i = 0; i < RULES.size(); i++) {
+            patterns[i] = RULES.get(i).marker;
+        }
+
+        CONFLICT = RULES.size();
+        patterns[CONFLICT] = "CONFLICT";
+        OVERWRITING = RULES.size() + 1;
+        patterns[OVERWRITING] = "overwriting existing item";
+
+        MATCHER = new AhoCorasick(patterns);
+        MATCHES = ThreadLocal.withInitial(MATCHER::newMatches);
+    }
+
+    /**
+     * Classifies a plain line of Minecraft's output.
+     *
+     * @param text the line to classify
+     * @return the type of the line and the message in it
+     */
+    public static Classification classify(String text) {
+        AhoCorasick.Matches matches = MATCHER.match(text, MATCHES.get());
+
+        for (int i = 0; i < RULES.size(); i++) {
+            if (!matches.contains(i)) {
+                continue;
+            }
+
+            Rule rule = RULES.get(i);
+            if (rule.wholeLine) {
+                return new Classification(rule.type, text);
+            }
+
+            int start = matches.indexOf(i);
+            LogType type = rule.type;
+
+            if (rule.marker.equals("[INFO]")) {
+                if (matches.lastIndexOf(CONFLICT) >= start) {
+                    type = LogType.ERROR;
+                } else if (matches.lastIndexOf(OVERWRITING) >= start) {
+                    type = LogType.WARN;
+                }
+            }
+
+            return new Classification(type, start == 0 ? text : text.substring(start));
+        }
+
+        return new Classification(LogType.INFO, text);
+    }
+
+    /**
+     * Classifies a log4j XML event as output by newer versions of Minecraft, reading the thread, level and message
+     * from it in one pass.
+     *
+     * @param event the full XML of the event
+     * @return the type of the event and its message, formatted as [thread/level] message
+     */
+    public static Classification classifyLog4jEvent(String event) {
+        int threadStart = 0;
+        int threadEnd = 0;
+        int levelStart = 0;
+        int levelEnd = 0;
+
+        int i = event.indexOf(EVENT_TAG);
+        if (i != -1) {
+            i += EVENT_TAG.length();
+
+            // read the attributes up to the end of the tag
+            while (i < event.length() && event.charAt(i) != '>') {
+                if (event.charAt(i) == '=' && i + 1 < event.length() && event.charAt(i + 1) == '"') {
+                    int valueStart = i + 2;
+                    int valueEnd = event.indexOf('"', valueStart);
+
+                    if (valueEnd == -1) {
+                        break;
+                    }
+
+                    if (isAttribute(event, i, "thread")) {
+                        threadStart = valueStart;
+                        threadEnd = valueEnd;
+                    } else if (isAttribute(event, i, "level")) {
+                        levelStart = valueStart;
+                        levelEnd = valueEnd;
+                    }
+
+                    i = valueEnd + 1;
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        LogType type = LogType.INFO;
+        if (isLevel(event, levelStart, levelEnd, "ERROR") || isLevel(event, levelStart, levelEnd, "SEVERE")) {
+            type = LogType.ERROR;
+        } else if (isLevel(event, levelStart, levelEnd, "WARN")) {
+            type = LogType.WARN;
+        }
+
+        int messageStart = event.indexOf(MESSAGE_START, Math.max(i, 0));
+        int messageEnd = messageStart == -1 ? -1 : event.indexOf(MESSAGE_END, messageStart + MESSAGE_START.length());
+
+        StringBuilder message = new StringBuilder(event.length());
+        message.append('[').append(event, threadStart, threadEnd).append('/').append(event, levelStart, levelEnd)
+                .append("] ");
+
+        if (messageEnd != -1) {
+            message.append(event, messageStart + MESSAGE_START.length(), messageEnd);
+        }
+
+        return new Classification(type, message.toString());
+    }
+
+    private static boolean isAttribute(String event, int equalsIndex, String name) {
+        int nameStart = equalsIndex - name.length();
+
+        return nameStart > 0 && Character.isWhitespace(event.charAt(nameStart - 1))
+                && event.regionMatches(nameStart, name, 0, name.length());
+    }
+
+    private static boolean isLevel(String event, int start, int end, String level) {
+        return end - start == level.length() && event.regionMatches(true, start, level, 0, level.length());
+    }
+
+    public static final class Classification {
+        public final LogType type;
+        public final String message;
+
+        private Classification(LogType type, String message) {
+            this.type = type;
+            this.message = message;
+        }
+    }
+
+    private static final class Rule {
+        private final String marker;
+        private final LogType type;
+        private final boolean wholeLine;
+
+        private Rule(String marker, LogType type, boolean wholeLine) {
+            this.marker = marker;
+            this.type = type;
+            this.wholeLine = wholeLine;
+        }
+    }
+}
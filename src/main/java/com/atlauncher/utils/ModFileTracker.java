@@ -0,0 +1,292 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.atlauncher.managers.LogManager;
+
+/**
+ * Keeps track of which files are in the mod folders of instances, so they don't need to be listed every time the
+ * mods are checked.
+ *
+ * Each instance's folders are listed once, and from then on changes are picked up from a {@link WatchService} shared by
+ * every instance. Events are only applied when the files are asked for, so there's no thread waiting on them. Events
+ * can arrive a little after the change happened, so anything acted on because of what's returned should still be
+ * checked on disk. Where the only watch service the JDK has polls for changes, the folders are listed every time.
+ */
+public final class ModFileTracker {
+    /**
+     * The folders in an instance which are tracked.
+     */
+    public static final List<String> DIRECTORIES = Collections
+            .unmodifiableList(Arrays.asList("mods", "disabledmods", "resourcepacks", "jarmods"));
+
+    private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+    private static final Map<Path, ModFileTracker> trackers = new HashMap<>();
+    private static final Map<WatchKey, ModFileTracker> trackersByKey = new HashMap<>();
+
+    private static WatchService watchService = null;
+    private static boolean watchServiceUnavailable = false;
+
+    private final Path root;
+    private final Map<String, Set<String>> files = new HashMap<>();
+    private final Map<String, WatchKey> keys = new HashMap<>();
+    private WatchKey rootKey = null;
+
+    private ModFileTracker(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets the names of the files in each of the tracked folders of the instance at the given root.
+     *
+     * @return the file names by the folder they're in, which only has the folders that exist
+     */
+    public static synchronized Map<String, Set<String>> getFiles(Path root) {
+        Path normalizedRoot = root.toAbsolutePath().normalize();
+        ModFileTracker tracker = trackers.get(normalizedRoot);
+
+        if (tracker == null) {
+            tracker = new ModFileTracker(normalizedRoot);
+            tracker.start();
+            trackers.put(normalizedRoot, tracker);
+        } else if (getWatchService() == null) {
+            tracker.scanAll();
+        } else {
+            processEvents();
+            tracker.scanUnwatched();
+        }
+
+        Map<String, Set<String>> copy = new HashMap<>();
+        tracker.files.forEach((directory, names) -> copy.put(directory, new HashSet<>(names)));
+        return copy;
+    }
+
+    /**
+     * Stops tracking the instance at the given root, such as when it's being deleted or moved.
+     */
+    public static synchronized void stopTracking(Path root) {
+        ModFileTracker tracker = trackers.remove(root.toAbsolutePath().normalize());
+
+        if (tracker != null) {
+            tracker.keys.values().forEach(ModFileTracker::cancel);
+            cancel(tracker.rootKey);
+        }
+    }
+
+    private static WatchService getWatchService() {
+        if (watchService == null && !watchServiceUnavailable) {
+            try {
+                WatchService service = FileSystems.getDefault().newWatchService();
+
+                // where the JDK can't watch natively (such as on macOS) it polls every few seconds instead, which is
+                // too late to notice a mod that was just added, so the folders are listed each time there instead
+                if (service.getClass().getName().equals(POLLING_WATCH_SERVICE)) {
+                    LogManager.debug("Only a polling watch service is available, mod folders will be listed each time");
+                    service.close();
+                    watchServiceUnavailable = true;
+                } else {
+                    watchService = service;
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                LogManager.logStackTrace("Can't watch mod folders for changes, they'll be listed each time instead", e,
+                        false);
+                watchServiceUnavailable = true;
+            }
+        }
+
+        return watchService;
+    }
+
+    private static void processEvents() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            ModFileTracker tracker = trackersByKey.get(key);
+            List<WatchEvent<?>> events = key.pollEvents();
+
+            if (tracker != null) {
+                tracker.handleEvents(key, events);
+            }
+
+            if (!key.reset()) {
+                trackersByKey.remove(key);
+
+                if (tracker != null) {
+                    tracker.handleInvalidKey(key);
+                }
+            }
+        }
+    }
+
+    private static void cancel(WatchKey key) {
+        if (key != null) {
+            key.cancel();
+            trackersByKey.remove(key);
+        }
+    }
+
+    private void start() {
+        WatchService service = getWatchService();
+
+        if (service != null && Files.isDirectory(root)) {
+            try {
+                // the folders themselves may be created or deleted, so watch the instance folder for that
+                rootKey = root.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                trackersByKey.put(rootKey, this);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to watch " + root + " for changes", e, false);
+            }
+        }
+
+        scanAll();
+    }
+
+    private void scanAll() {
+        for (String directory : DIRECTORIES) {
+            scan(directory);
+        }
+    }
+
+    /**
+     * Lists any folders that aren't being watched, such as ones which didn't exist last time.
+     */
+    private void scanUnwatched() {
+        for (String directory : DIRECTORIES) {
+            WatchKey key = keys.get(directory);
+
+            if (key == null || !key.isValid()) {
+                scan(directory);
+            }
+        }
+    }
+
+    /**
+     * Lists the given folder from scratch, and starts watching it if it isn't already.
+     */
+    private void scan(String directory) {
+        Path path = root.resolve(directory);
+
+        if (!Files.isDirectory(path)) {
+            files.remove(directory);
+            cancel(keys.remove(directory));
+            return;
+        }
+
+        WatchService service = getWatchService();
+        WatchKey existingKey = keys.get(directory);
+        if (service != null && (existingKey == null || !existingKey.isValid())) {
+            // the folder may have been deleted and made again, in which case the old key no longer works
+            cancel(existingKey);
+
+            try {
+                // registered before listing, so nothing changed in between is missed
+                WatchKey key = path.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                keys.put(directory, key);
+                trackersByKey.put(key, this);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to watch " + path + " for changes", e, false);
+            }
+        }
+
+        try (Stream<Path> stream = Files.list(path)) {
+            files.put(directory, stream.filter(file -> !Files.isDirectory(file))
+                    .map(file -> file.getFileName().toString()).collect(Collectors.toCollection(HashSet::new)));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error listing " + path, e, false);
+            files.remove(directory);
+        }
+    }
+
+    private void handleEvents(WatchKey key, List<WatchEvent<?>> events) {
+        if (key == rootKey) {
+            for (WatchEvent<?> event : events) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    scanAll();
+                } else if (DIRECTORIES.contains(event.context().toString())) {
+                    scan(event.context().toString());
+                }
+            }
+
+            return;
+        }
+
+        String directory = getDirectory(key);
+        if (directory == null) {
+            return;
+        }
+
+        Set<String> names = files.computeIfAbsent(directory, d -> new HashSet<>());
+
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // some events were lost, so the only way to know what's there is to look
+                scan(directory);
+                return;
+            }
+
+            // renames come through as a delete of the old name and a create of the new one
+            String name = event.context().toString();
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                if (!Files.isDirectory(root.resolve(directory).resolve(name))) {
+                    names.add(name);
+                }
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                names.remove(name);
+            }
+        }
+    }
+
+    private void handleInvalidKey(WatchKey key) {
+        if (key == rootKey) {
+            // the instance itself is gone, so start from scratch if it's asked for again
+            stopTracking(root);
+            return;
+        }
+
+        String directory = getDirectory(key);
+        if (directory != null) {
+            keys.remove(directory);
+            files.remove(directory);
+        }
+    }
+
+    private String getDirectory(WatchKey key) {
+        return keys.entrySet().stream().filter(entry -> entry.getValue() == key).map(Map.Entry::getKey).findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.ModMetadata;
+import com.atlauncher.data.modcheck.ModCheckProject;
+import com.atlauncher.data.modrinth.ModrinthProject;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.managers.LogManager;
+import com.google.common.hash.Hasher;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps the metadata of mod files for the whole launcher, so the same jar in many instances is only hashed and read
+ * once, and rescanning mods that haven't changed doesn't read them at all.
+ *
+ * Metadata is stored by the file's SHA-1. Each path it's been seen at is also stored with the file's size and last
+ * modified time, so a file that hasn't changed can be matched to its metadata without hashing it again.
+ */
+public final class ModMetadataCache {
+    // bump this if what's stored changes, so old metadata isn't used
+    private static final int CACHE_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, ModMetadata> metadataByHash = new ConcurrentHashMap<>();
+    private static final Map<String, PathEntry> paths = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded = false;
+    private static volatile boolean dirty = false;
+
+    private ModMetadataCache() {
+    }
+
+    /**
+     * Gets the metadata for the given file, working it out from the file if it's not known or the file has changed.
+     *
+     * @return the metadata, or null if the file couldn't be read
+     */
+    public static ModMetadata get(Path file) {
+        load();
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+
+        String key = file.toAbsolutePath().normalize().toString();
+        PathEntry pathEntry = paths.get(key);
+
+        if (pathEntry != null && pathEntry.size == attributes.size()
+                && pathEntry.lastModified == attributes.lastModifiedTime().toMillis()) {
+            ModMetadata metadata = metadataByHash.get(pathEntry.sha1);
+
+            if (metadata != null) {
+                return metadata;
+            }
+        }
+
+        ModMetadata hashed;
+        try {
+            hashed = hash(file);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error hashing mod file " + file.toAbsolutePath(), e, false);
+            return null;
+        }
+
+        // the same file may already be known from another instance, in which case there's no need to read it
+        ModMetadata metadata = metadataByHash.computeIfAbsent(hashed.sha1, sha1 -> {
+            readMetadata(file, hashed);
+            return hashed;
+        });
+
+        PathEntry newPathEntry = new PathEntry();
+        newPathEntry.sha1 = metadata.sha1;
+        newPathEntry.size = attributes.size();
+        newPathEntry.lastModified = attributes.lastModifiedTime().toMillis();
+        paths.put(key, newPathEntry);
+        dirty = true;
+
+        return metadata;
+    }
+
+    /**
+     * Gets the SHA-1 of the given file, or null if the file couldn't be read.
+     */
+    public static String getSha1(Path file) {
+        ModMetadata metadata = get(file);
+
+        return metadata == null ? null : metadata.sha1;
+    }
+
+    /**
+     * Remembers that the given file has the given SHA-1, such as when it was just put in place from a file that's
+     * already been hashed, so it doesn't need to be hashed itself.
+     */
+    public static void addPath(Path file, String sha1) {
+        load();
+
+        if (!metadataByHash.containsKey(sha1)) {
+            return;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return;
+        }
+
+        PathEntry pathEntry = new PathEntry();
+        pathEntry.sha1 = sha1;
+        pathEntry.size = attributes.size();
+        pathEntry.lastModified = attributes.lastModifiedTime().toMillis();
+        paths.put(file.toAbsolutePath().normalize().toString(), pathEntry);
+        dirty = true;
+    }
+
+    /**
+     * Remembers what the file with the given SHA-1 was found to be on Modrinth.
+     */
+    public static void setModrinth(String sha1, ModrinthProject project, ModrinthVersion version) {
+        ModMetadata metadata = metadataByHash.get(sha1);
+
+        if (metadata != null) {
+            metadata.modrinthProject = project;
+            metadata.modrinthVersion = version;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Remembers that the given file was downloaded from ModCheck.
+     */
+    public static void setModCheck(Path file, ModCheckProject project) {
+        ModMetadata metadata = get(file);
+
+        if (metadata != null) {
+            metadata.modCheckProject = project;
+            dirty = true;
+        }
+    }
+
+    private static ModMetadata hash(Path file) throws IOException {
+        // the file is only read through once for both hashes
+        Hasher sha1 = com.google.common.hash.Hashing.sha1().newHasher();
+        Hasher sha512 = com.google.common.hash.Hashing.sha512().newHasher();
+
+        try (InputStream is = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                sha1.putBytes(buffer, 0, read);
+                sha512.putBytes(buffer, 0, read);
+            }
+        }
+
+        ModMetadata metadata = new ModMetadata();
+        metadata.sha1 = sha1.hash().toString();
+        metadata.sha512 = sha512.hash().toString();
+        return metadata;
+    }
+
+    private static void readMetadata(Path file, ModMetadata metadata) {
+        Map<String, String> files = ArchiveUtils.getFiles(file, "mcmod.info", "fabric.mod.json");
+        metadata.mcMod = Utils.getMCMod(files.get("mcmod.info"));
+        metadata.fabricMod = Utils.getFabricMod(files.get("fabric.mod.json"));
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+
+        if (!Files.exists(FileSystem.MOD_METADATA)) {
+            return;
+        }
+
+        try (FileReader fileReader = new FileReader(FileSystem.MOD_METADATA.toFile())) {
+            CacheFile cacheFile = Gsons.MINECRAFT.fromJson(fileReader, CacheFile.class);
+
+            if (cacheFile != null && cacheFile.version == CACHE_VERSION && cacheFile.metadata != null
+                    && cacheFile.paths != null) {
+                metadataByHash.putAll(cacheFile.metadata);
+                paths.putAll(cacheFile.paths);
+            }
+        } catch (JsonParseException | IOException e) {
+            LogManager.logStackTrace("Failed to read mod metadata cache", e, false);
+        }
+    }
+
+    /**
+     * Drops every path that no longer exists, along with any metadata that's no longer at any path, then saves the
+     * cache if anything was dropped. Every path is checked on disk, so this is done once in the background rather than
+     * on every save.
+     */
+    public static synchronized void prune() {
+        load();
+
+        int pathCount = paths.size();
+        paths.keySet().removeIf(path -> !Files.exists(Paths.get(path)));
+
+        Set<String> hashesInUse = new HashSet<>();
+        paths.values().forEach(pathEntry -> hashesInUse.add(pathEntry.sha1));
+
+        int metadataCount = metadataByHash.size();
+        metadataByHash.keySet().retainAll(hashesInUse);
+
+        if (paths.size() != pathCount || metadataByHash.size() != metadataCount) {
+            LogManager.debug("Dropped " + (pathCount - paths.size()) + " missing paths from the mod metadata cache");
+            dirty = true;
+            save();
+        }
+    }
+
+    public static void pruneInBackground() {
+        Thread thread = new Thread(ModMetadataCache::prune, "ModMetadataCachePruner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Saves the cache if anything has changed since it was last saved.
+     */
+    public static synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+
+        dirty = false;
+
+        CacheFile cacheFile = new CacheFile();
+        cacheFile.version = CACHE_VERSION;
+        cacheFile.metadata = metadataByHash;
+        cacheFile.paths = paths;
+
+        // write to a temporary file and move it into place, so a failed save never leaves a half written cache
+        Path tempFile = FileSystem.MOD_METADATA.resolveSibling(FileSystem.MOD_METADATA.getFileName() + ".tmp");
+        try {
+            try (FileWriter fileWriter = new FileWriter(tempFile.toFile())) {
+                Gsons.MINECRAFT.toJson(cacheFile, fileWriter);
+            }
+
+            Files.move(tempFile, FileSystem.MOD_METADATA, StandardCopyOption.REPLACE_EXISTING);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save mod metadata cache", e, false);
+        }
+    }
+
+    private static class PathEntry {
+        public String sha1;
+        public long size;
+        public long lastModified;
+    }
+
+    private static class CacheFile {
+        public int version;
+        public Map<String, ModMetadata> metadata;
+        public Map<String, PathEntry> paths;
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.managers.LogManager;
+import com.google.common.util.concurrent.Striped;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+
+/**
+ * A single copy of every mod file installed into an instance, stored by its SHA-1, which the files in instances are
+ * reflinked from where the filesystem supports it, so the same jar in many instances only takes up space once.
+ *
+ * The index keeps the size and last modified time of each stored file along with every path it was put at. A path
+ * only counts as still using the stored file while its size and last modified time match, and a stored file that was
+ * changed since it was stored is noticed and made again rather than handed out.
+ *
+ * The store is only used where stored files can be reflinked into the instance. Anywhere else (such as on ext4 or NTFS)
+ * it would cost a second full copy of every mod and keep a third around, so mods are just copied into the instance.
+ *
+ * Stored files are only made, handed out and deleted while holding the lock for their SHA-1, so installs of different
+ * files don't wait on each other. The index itself is only locked for as long as it takes to read or change it.
+ */
+public final class ModStore {
+    // bump this if what's stored in the index changes, so an old index isn't used
+    private static final int INDEX_VERSION = 1;
+
+    // anything in an instance can be edited by the user or the game, and hard links would pass that on to every other
+    // instance (and on Windows, stop the file being replaced while another instance has it open), so they're not used
+    private static final FileMaterializer LINK = FileMaterializer.PRIVATE;
+
+    private static final ModStore STORE = new ModStore(FileSystem.MOD_STORE, FileSystem.MOD_STORE_INDEX,
+            FileSystem.BASE_DIR);
+
+    private final Path directory;
+    private final Path indexPath;
+    private final Path baseDir;
+
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    private final Map<String, Blob> blobs = new HashMap<>();
+    private final Map<String, String> hashesByReference = new HashMap<>();
+
+    private boolean loaded = false;
+    private boolean dirty = false;
+
+    /**
+     * @param directory the folder the files are stored in
+     * @param indexPath where the index is saved
+     * @param baseDir the folder paths are stored relative to, when they're inside it
+     */
+    ModStore(Path directory, Path indexPath, Path baseDir) {
+        this.directory = directory;
+        this.indexPath = indexPath;
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * Puts the source file at the target path, made from the stored copy of it. If the store can't be used the file is
+     * just copied.
+     *
+     * @param source the file to install, such as a mod in the downloads folder
+     * @param target where the file should end up
+     * @return if the file was put in place
+     */
+    public static boolean install(Path source, Path target) {
+        if (!STORE.canReflinkTo(target.getParent())) {
+            return FileUtils.copyFile(source, target, true);
+        }
+
+        // hashing reads the whole file, so it's done before taking any locks
+        String sha1 = ModMetadataCache.getSha1(source);
+
+        if (sha1 != null) {
+            try {
+                STORE.install(source, sha1, target);
+                return true;
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to install " + source + " from the mod store, copying it instead", e,
+                        false);
+            }
+        }
+
+        return FileUtils.copyFile(source, target, true);
+    }
+
+    /**
+     * Copies every file in the source directory into the target directory, keeping the same structure. Files that were
+     * installed from the store and haven't changed since are made from the stored copy, and everything else is copied
+     * with {@link FileMaterializer#PRIVATE}.
+     *
+     * @param source the directory to copy, such as the root of an instance
+     * @param target the directory the files should end up in
+     * @return if every file was put in place
+     */
+    public static boolean cloneDirectory(Path source, Path target) {
+        try {
+            STORE.copyDirectory(source, target);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to clone " + source + " to " + target, e);
+            return false;
+        } finally {
+            STORE.saveIndex();
+        }
+
+        return true;
+    }
+
+    /**
+     * Drops every path that no longer uses its stored file, then deletes the stored files that aren't used by any path
+     * anymore. Only the stored copies are deleted, so this never touches a file in an instance.
+     */
+    public static void collectGarbage() {
+        int removed = STORE.clean();
+
+        if (removed != 0) {
+            LogManager.info("Removed " + removed + " unused files from the mod store");
+        }
+
+        STORE.saveIndex();
+    }
+
+    public static void collectGarbageInBackground() {
+        Thread thread = new Thread(ModStore::collectGarbage, "ModStoreCleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Saves the index if anything has changed since it was last saved.
+     */
+    public static void save() {
+        STORE.saveIndex();
+    }
+
+    void install(Path source, String sha1, Path target) throws IOException {
+        Lock lock = locks.get(sha1);
+        lock.lock();
+
+        try {
+            Path blobPath = store(source, sha1);
+            LINK.materialize(blobPath, target);
+            addReference(sha1, target);
+            ModMetadataCache.addPath(target, sha1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void copyDirectory(Path source, Path target) throws IOException {
+        boolean useStore = canReflinkTo(target);
+
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path targetFile = target.resolve(source.relativize(file).toString());
+
+                if (!useStore || !linkFromStore(file, targetFile)) {
+                    FileMaterializer.PRIVATE.materialize(file, targetFile);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * @return how many files were deleted from the store
+     */
+    synchronized int clean() {
+        load();
+
+        int removed = 0;
+
+        Iterator<Map.Entry<String, Blob>> iterator = blobs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Blob> entry = iterator.next();
+            Blob blob = entry.getValue();
+
+            // a file that's being installed right now is left for next time
+            Lock lock = locks.get(entry.getKey());
+            if (!lock.tryLock()) {
+                continue;
+            }
+
+            try {
+                blob.references.removeIf(reference -> !isUnchanged(resolveReference(reference), blob));
+
+                if (blob.references.isEmpty()) {
+                    FileUtils.delete(getBlobPath(entry.getKey()));
+                    iterator.remove();
+                    removed++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        hashesByReference.clear();
+        blobs.forEach((sha1, blob) -> blob.references.forEach(reference -> hashesByReference.put(reference, sha1)));
+
+        // anything else in the store is either left over from a copy that never finished or was lost from the index
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path subdirectory : directories) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(subdirectory)) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        Lock lock = locks.get(name.endsWith(".tmp") ? name.substring(0, name.length() - 4) : name);
+
+                        if (blobs.containsKey(name) || !lock.tryLock()) {
+                            continue;
+                        }
+
+                        try {
+                            FileUtils.delete(file);
+                            removed++;
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to clean up the mod store", e, false);
+        }
+
+        dirty = true;
+        return removed;
+    }
+
+    /**
+     * Makes sure there's an unchanged stored copy of the source file. Must be called while holding the lock for the
+     * SHA-1.
+     */
+    private Path store(Path source, String sha1) throws IOException {
+        Path blobPath = getBlobPath(sha1);
+        Blob blob = getBlob(sha1);
+
+        if (blob != null && isUnchanged(blobPath, blob)) {
+            return blobPath;
+        }
+
+        // the stored file is missing or was changed since it was stored, so it's made again from the source. The
+        // source is never linked, so nothing done to the downloads folder can change the stored file
+        Path tempFile = blobPath.resolveSibling(sha1 + ".tmp");
+        FileMaterializer.PRIVATE.materialize(source, tempFile);
+        Files.move(tempFile, blobPath, StandardCopyOption.REPLACE_EXISTING);
+
+        BasicFileAttributes attributes = Files.readAttributes(blobPath, BasicFileAttributes.class);
+
+        Blob newBlob = new Blob();
+        newBlob.size = attributes.size();
+        newBlob.lastModified = attributes.lastModifiedTime().toMillis();
+        newBlob.references = blob == null ? new HashSet<>() : blob.references;
+
+        synchronized (this) {
+            blobs.put(sha1, newBlob);
+            dirty = true;
+        }
+
+        return blobPath;
+    }
+
+    private boolean linkFromStore(Path file, Path target) {
+        String sha1;
+        synchronized (this) {
+            load();
+            sha1 = hashesByReference.get(getReference(file));
+        }
+
+        if (sha1 == null) {
+            return false;
+        }
+
+        Lock lock = locks.get(sha1);
+        lock.lock();
+
+        try {
+            Blob blob = getBlob(sha1);
+
+            // the file must still be the one that came from the store, and not something put there since
+            if (blob == null || !isUnchanged(getBlobPath(sha1), blob) || !isUnchanged(file, blob)) {
+                return false;
+            }
+
+            LINK.materialize(getBlobPath(sha1), target);
+            addReference(sha1, target);
+            ModMetadataCache.addPath(target, sha1);
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private synchronized Blob getBlob(String sha1) {
+        load();
+
+        return blobs.get(sha1);
+    }
+
+    private synchronized void addReference(String sha1, Path file) {
+        String reference = getReference(file);
+        String previous = hashesByReference.put(reference, sha1);
+
+        if (previous != null && !previous.equals(sha1) && blobs.containsKey(previous)) {
+            blobs.get(previous).references.remove(reference);
+        }
+
+        blobs.get(sha1).references.add(reference);
+        dirty = true;
+    }
+
+    private static boolean isUnchanged(Path file, Blob blob) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            return attributes.isRegularFile() && attributes.size() == blob.size
+                    && attributes.lastModifiedTime().toMillis() == blob.lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    boolean canReflinkTo(Path targetDirectory) {
+        return FileMaterializer.canReflink(directory, targetDirectory);
+    }
+
+    Path getBlobPath(String sha1) {
+        return directory.resolve(sha1.substring(0, 2)).resolve(sha1);
+    }
+
+    /**
+     * Paths inside the launcher folder are stored relative to it, so moving the launcher doesn't lose them.
+     */
+    private String getReference(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        Path base = baseDir.toAbsolutePath().normalize();
+
+        if (path.startsWith(base)) {
+            return base.relativize(path).toString().replace('\\', '/');
+        }
+
+        return path.toString();
+    }
+
+    private Path resolveReference(String reference) {
+        return baseDir.resolve(reference);
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+
+        try (FileReader fileReader = new FileReader(indexPath.toFile())) {
+            IndexFile indexFile = Gsons.DEFAULT_SLIM.fromJson(fileReader, IndexFile.class);
+
+            if (indexFile != null && indexFile.version == INDEX_VERSION && indexFile.blobs != null) {
+                indexFile.blobs.forEach((sha1, blob) -> {
+                    if (blob.references == null) {
+                        blob.references = new HashSet<>();
+                    }
+
+                    blobs.put(sha1, blob);
+                    blob.references.forEach(reference -> hashesByReference.put(reference, sha1));
+                });
+            }
+        } catch (JsonParseException | IOException e) {
+            LogManager.logStackTrace("Failed to read mod store index", e, false);
+        }
+    }
+
+    synchronized void saveIndex() {
+        if (!dirty) {
+            return;
+        }
+
+        dirty = false;
+
+        IndexFile indexFile = new IndexFile();
+        indexFile.version = INDEX_VERSION;
+        indexFile.blobs = blobs;
+
+        // write to a temporary file and move it into place, so a failed save never leaves a half written index
+        Path tempFile = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            try (FileWriter fileWriter = new FileWriter(tempFile.toFile())) {
+                Gsons.DEFAULT_SLIM.toJson(indexFile, fileWriter);
+            }
+
+            Files.move(tempFile, indexPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save mod store index", e, false);
+        }
+    }
+
+    private static class Blob {
+        public long size;
+        public long lastModified;
+        public Set<String> references;
+    }
+
+    private static class IndexFile {
+        public int version;
+        public Map<String, Blob> blobs;
+    }
+}
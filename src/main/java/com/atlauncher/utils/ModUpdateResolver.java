@@ -0,0 +1,182 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import com.atlauncher.App;
+import com.atlauncher.data.DisableableMod;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.ModPlatform;
+import com.atlauncher.data.ModUpdatePlan;
+import com.atlauncher.data.modcheck.ModCheckManager;
+import com.atlauncher.data.modcheck.ModCheckProject;
+import com.atlauncher.data.modrinth.ModrinthFile;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.managers.LogManager;
+
+/**
+ * Works out which mods have updates, for any number of mods across any number of instances at once.
+ *
+ * Modrinth mods are checked with Modrinth's batch update lookup, with one set of requests for all the instances that
+ * share a Minecraft version and loader, so the same mod in many instances is only looked up once. ModCheck mods are
+ * checked against the mod list, which is already in memory.
+ */
+public final class ModUpdateResolver {
+    private ModUpdateResolver() {
+    }
+
+    /**
+     * Finds updates for every mod in the given instances.
+     */
+    public static ModUpdatePlan resolve(Collection<Instance> instances) {
+        Map<Instance, List<DisableableMod>> modsByInstance = new LinkedHashMap<>();
+        for (Instance instance : instances) {
+            modsByInstance.put(instance, instance.launcher.mods);
+        }
+
+        return resolve(modsByInstance);
+    }
+
+    /**
+     * Finds updates for the given mods in an instance.
+     */
+    public static ModUpdatePlan resolve(Instance instance, Collection<DisableableMod> mods) {
+        Map<Instance, Collection<DisableableMod>> modsByInstance = new HashMap<>();
+        modsByInstance.put(instance, mods);
+
+        return resolve(modsByInstance);
+    }
+
+    /**
+     * Finds updates for the given mods in each instance.
+     */
+    public static ModUpdatePlan resolve(Map<Instance, ? extends Collection<DisableableMod>> modsByInstance) {
+        List<ModUpdatePlan.Update> updates = new ArrayList<>();
+
+        // the installed mods to check on Modrinth, by the instances Minecraft version and loaders, then by file hash
+        Map<List<Object>, Map<String, List<Pair<Instance, DisableableMod>>>> modrinthMods = new LinkedHashMap<>();
+
+        modsByInstance.forEach((instance, mods) -> {
+            for (DisableableMod mod : mods) {
+                if (mod.isFromModrinth() && App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
+                    String sha1 = getSha1(instance, mod);
+
+                    if (sha1 != null) {
+                        List<String> loaders = ModrinthApi.getLoaders(instance.launcher.loaderVersion);
+
+                        modrinthMods.computeIfAbsent(Arrays.asList(instance.id, loaders), k -> new HashMap<>())
+                                .computeIfAbsent(sha1, k -> new ArrayList<>())
+                                .add(new Pair<>(instance, mod));
+                    }
+                } else if (mod.isFromModCheck()) {
+                    ModCheckProject newProject = ModCheckManager.getUpdatedProject(instance.getMinecraftVersion(),
+                            mod.modCheckProject);
+
+                    if (newProject != null && !newProject.getModFile().getVersion()
+                            .equals(mod.modCheckProject.getModFile().getVersion())) {
+                        updates.add(new ModUpdatePlan.Update(instance, mod, newProject));
+                    }
+                }
+            }
+        });
+
+        // start every lookup before waiting on any of them
+        Map<List<Object>, CompletableFuture<Map<String, ModrinthVersion>>> lookups = new LinkedHashMap<>();
+        modrinthMods.forEach((key, modsByHash) -> {
+            @SuppressWarnings("unchecked")
+            List<String> loaders = (List<String>) key.get(1);
+
+            lookups.put(key, ModrinthApi.getLatestVersionsFromSha1Hashes(modsByHash.keySet(), loaders,
+                    Arrays.asList((String) key.get(0))));
+        });
+
+        lookups.forEach((key, lookup) -> {
+            Map<String, ModrinthVersion> latestVersions;
+            try {
+                latestVersions = lookup.join();
+            } catch (CompletionException e) {
+                LogManager.logStackTrace("Error checking for mod updates on Modrinth", e);
+                return;
+            }
+
+            updates.addAll(getModrinthUpdates(modrinthMods.get(key), latestVersions));
+        });
+
+        LogManager.debug("Found " + updates.size() + " mod updates in "
+                + modsByInstance.keySet().stream().map(i -> i.launcher.name).collect(Collectors.joining(", ")));
+
+        return new ModUpdatePlan(updates);
+    }
+
+    /**
+     * Gets the updates for installed Modrinth mods from the latest versions found for their files.
+     *
+     * @param modsByHash the installed mods, by the SHA-1 of their file
+     * @param latestVersions the latest version for each SHA-1 that has one
+     */
+    static List<ModUpdatePlan.Update> getModrinthUpdates(Map<String, List<Pair<Instance, DisableableMod>>> modsByHash,
+            Map<String, ModrinthVersion> latestVersions) {
+        List<ModUpdatePlan.Update> updates = new ArrayList<>();
+
+        modsByHash.forEach((sha1, candidates) -> {
+            ModrinthVersion latest = latestVersions.get(sha1);
+
+            if (latest == null || latest.files == null || latest.files.isEmpty()) {
+                return;
+            }
+
+            for (Pair<Instance, DisableableMod> candidate : candidates) {
+                DisableableMod mod = candidate.right();
+
+                if (!latest.id.equals(mod.modrinthVersion.id) && mod.isNewerModrinthVersion(latest)) {
+                    updates.add(new ModUpdatePlan.Update(candidate.left(), mod, mod.modrinthProject, latest));
+                }
+            }
+        });
+
+        return updates;
+    }
+
+    /**
+     * Gets the hash of the installed file, taking it from the Modrinth version it was installed from where possible so
+     * the file doesn't need to be read.
+     */
+    static String getSha1(Instance instance, DisableableMod mod) {
+        if (mod.modrinthVersion.files != null) {
+            for (ModrinthFile file : mod.modrinthVersion.files) {
+                if (file.filename != null && file.filename.equals(mod.file) && file.hashes != null
+                        && file.hashes.containsKey("sha1")) {
+                    return file.hashes.get("sha1");
+                }
+            }
+        }
+
+        return ModMetadataCache
+                .getSha1((mod.isDisabled() ? mod.getDisabledFile(instance) : mod.getFile(instance)).toPath());
+    }
+}
@@ -21,19 +21,30 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
 import com.atlauncher.data.modrinth.ModrinthCategory;
+import com.atlauncher.data.modrinth.ModrinthFile;
 import com.atlauncher.data.modrinth.ModrinthProject;
 import com.atlauncher.data.modrinth.ModrinthProjectType;
 import com.atlauncher.data.modrinth.ModrinthSearchResult;
@@ -41,16 +52,39 @@ import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Download;
 import com.atlauncher.network.DownloadException;
+import com.google.common.collect.Lists;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.CacheControl;
 import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 
 /**
  * Various utility methods for interacting with the Modrinth API.
  */
 public class ModrinthApi {
+    // how many hashes/ids to send to Modrinth in one request
+    private static final int HASH_BATCH_SIZE = 50;
+    private static final int PROJECT_BATCH_SIZE = 100;
+
+    private static final Map<String, CompletableFuture<ModrinthProject>> projectsInFlight = new ConcurrentHashMap<>();
+
+    // hashing and lookups are kept on their own threads, so lookups never wait behind files still to be hashed
+    private static final ExecutorService hashingExecutor = createExecutor("ModrinthHashing",
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService lookupExecutor = createExecutor("ModrinthLookup", 4);
+
+    private static ExecutorService createExecutor(String name, int threads) {
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     public static ModrinthSearchResult searchModrinth(List<String> gameVersions, String query, int page, String index,
             List<String> categories, ModrinthProjectType projectType) {
         try {
@@ -122,10 +156,38 @@ public class ModrinthApi {
     }
 
     public static ModrinthProject getProject(String projectId) {
-        return Download.build()
-                .setUrl(String.format("%s/project/%s", Constants.MODRINTH_API_URL, projectId.replace("local-", "")))
-                .cached(new CacheControl.Builder().maxStale(10, TimeUnit.MINUTES).build())
-                .asClass(ModrinthProject.class);
+        String id = projectId.replace("local-", "");
+
+        ModrinthProject cachedProject = ModrinthCache.getProject(id);
+        if (cachedProject != null) {
+            return cachedProject;
+        }
+
+        // if the same project is already being fetched, wait for that rather than fetching it again
+        CompletableFuture<ModrinthProject> future = new CompletableFuture<>();
+        CompletableFuture<ModrinthProject> inFlight = projectsInFlight.putIfAbsent(id, future);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+
+        try {
+            ModrinthProject project = Download.build()
+                    .setUrl(String.format("%s/project/%s", Constants.MODRINTH_API_URL, id))
+                    .cached(new CacheControl.Builder().maxStale(10, TimeUnit.MINUTES).build())
+                    .asClass(ModrinthProject.class);
+
+            if (project != null) {
+                ModrinthCache.putProject(project);
+            }
+
+            future.complete(project);
+            return project;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            projectsInFlight.remove(id, future);
+        }
     }
 
     public static List<ModrinthVersion> getVersions(String projectId) {
@@ -154,18 +216,7 @@ public class ModrinthApi {
                 queryParamsString += "&";
             }
 
-            List<String> loaders = new ArrayList<>();
-
-            if (loaderVersion.isForge()) {
-                loaders.add("forge");
-            } else if (loaderVersion.isFabric()) {
-                loaders.add("fabric");
-            } else if (loaderVersion.isQuilt()) {
-                loaders.add("fabric");
-                loaders.add("quilt");
-            }
-
-            queryParamsString += String.format("loaders=%s", Gsons.DEFAULT_SLIM.toJson(loaders));
+            queryParamsString += String.format("loaders=%s", Gsons.DEFAULT_SLIM.toJson(getLoaders(loaderVersion)));
         }
 
         return Download.build()
@@ -174,6 +225,48 @@ public class ModrinthApi {
                 .cached(new CacheControl.Builder().maxStale(10, TimeUnit.MINUTES).build()).asType(type);
     }
 
+    /**
+     * Gets the Modrinth loaders whose mods can be used with the given loader.
+     */
+    public static List<String> getLoaders(LoaderVersion loaderVersion) {
+        List<String> loaders = new ArrayList<>();
+
+        if (loaderVersion == null) {
+            return loaders;
+        }
+
+        if (loaderVersion.isForge()) {
+            loaders.add("forge");
+        } else if (loaderVersion.isFabric()) {
+            loaders.add("fabric");
+        } else if (loaderVersion.isQuilt()) {
+            loaders.add("fabric");
+            loaders.add("quilt");
+        }
+
+        return loaders;
+    }
+
+    /**
+     * Gets the download for the given file into the downloads folder.
+     */
+    public static Download getDownload(ModrinthFile file, OkHttpClient httpClient) {
+        Download download = Download.build().setUrl(file.url).downloadTo(FileSystem.DOWNLOADS.resolve(file.filename))
+                .withHttpClient(httpClient);
+
+        if (file.hashes != null && file.hashes.containsKey("sha512")) {
+            download = download.hash(file.hashes.get("sha512"));
+        } else if (file.hashes != null && file.hashes.containsKey("sha1")) {
+            download = download.hash(file.hashes.get("sha1"));
+        }
+
+        if (file.size != null && file.size != 0) {
+            download = download.size(file.size);
+        }
+
+        return download;
+    }
+
     public static List<ModrinthCategory> getCategories() {
         java.lang.reflect.Type type = new TypeToken<List<ModrinthCategory>>() {
         }.getType();
@@ -225,10 +318,44 @@ public class ModrinthApi {
     }
 
     private static Map<String, ModrinthVersion> getVersionsFromHashes(String[] hashes, String algorithm) {
-        if (hashes.length == 0) {
-            return new HashMap<>();
+        Map<String, ModrinthVersion> versions = new HashMap<>();
+        List<String> hashesToFetch = new ArrayList<>();
+
+        for (String hash : new LinkedHashSet<>(Arrays.asList(hashes))) {
+            if (ModrinthCache.hasVersion(algorithm, hash)) {
+                ModrinthVersion version = ModrinthCache.getVersion(algorithm, hash);
+
+                if (version != null) {
+                    versions.put(hash, version);
+                }
+            } else {
+                hashesToFetch.add(hash);
+            }
         }
 
+        for (List<String> batch : Lists.partition(hashesToFetch, HASH_BATCH_SIZE)) {
+            Map<String, ModrinthVersion> fetched = fetchVersionsFromHashes(batch, algorithm);
+
+            if (fetched == null) {
+                continue;
+            }
+
+            for (String hash : batch) {
+                ModrinthVersion version = fetched.get(hash);
+                ModrinthCache.putVersion(algorithm, hash, version);
+
+                if (version != null) {
+                    versions.put(hash, version);
+                }
+            }
+        }
+
+        ModrinthCache.save();
+
+        return versions;
+    }
+
+    private static Map<String, ModrinthVersion> fetchVersionsFromHashes(List<String> hashes, String algorithm) {
         try {
             Map<String, Object> body = new HashMap<>();
             body.put("hashes", hashes);
@@ -243,33 +370,192 @@ public class ModrinthApi {
                             MediaType.get("application/json; charset=utf-8")))
                     .asTypeWithThrow(type);
         } catch (Exception e) {
-            return new HashMap<>();
+            return null;
+        }
+    }
+
+    /**
+     * Gets the latest version for the given loaders and Minecraft versions of the projects the files with the given
+     * hashes are from. The hashes are sent in batches, which are all requested at the same time.
+     *
+     * @param loaders the loaders the versions must support, or an empty list for versions of any loader
+     * @return a future with the latest version for each hash that has one
+     */
+    public static CompletableFuture<Map<String, ModrinthVersion>> getLatestVersionsFromSha1Hashes(
+            Collection<String> hashes, List<String> loaders, List<String> gameVersions) {
+        List<CompletableFuture<Map<String, ModrinthVersion>>> batches = Lists
+                .partition(new ArrayList<>(new LinkedHashSet<>(hashes)), HASH_BATCH_SIZE).stream()
+                .map(batch -> CompletableFuture.supplyAsync(
+                        () -> fetchLatestVersionsFromHashes(batch, "sha1", loaders, gameVersions), lookupExecutor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApply(v -> {
+            Map<String, ModrinthVersion> versions = new HashMap<>();
+
+            for (CompletableFuture<Map<String, ModrinthVersion>> batch : batches) {
+                Map<String, ModrinthVersion> fetched = batch.join();
+
+                if (fetched != null) {
+                    versions.putAll(fetched);
+                }
+            }
+
+            return versions;
+        });
+    }
+
+    private static Map<String, ModrinthVersion> fetchLatestVersionsFromHashes(List<String> hashes, String algorithm,
+            List<String> loaders, List<String> gameVersions) {
+        try {
+            Map<String, Object> body = new HashMap<>();
+            body.put("hashes", hashes);
+            body.put("algorithm", algorithm);
+            // an empty list matches no versions at all, so for instances without a loader it's left out altogether
+            if (loaders != null && !loaders.isEmpty()) {
+                body.put("loaders", loaders);
+            }
+            body.put("game_versions", gameVersions);
+
+            java.lang.reflect.Type type = new TypeToken<Map<String, ModrinthVersion>>() {
+            }.getType();
+
+            return Download.build()
+                    .setUrl(String.format("%s/version_files/update", Constants.MODRINTH_API_URL))
+                    .post(RequestBody.create(Gsons.DEFAULT_SLIM.toJson(body),
+                            MediaType.get("application/json; charset=utf-8")))
+                    .asTypeWithThrow(type);
+        } catch (Exception e) {
+            LogManager.logStackTrace("Error checking for updates on Modrinth", e, false);
+            return null;
         }
     }
 
     public static List<ModrinthProject> getProjects(String[] projectIds) {
-        java.lang.reflect.Type type = new TypeToken<List<ModrinthProject>>() {
-        }.getType();
+        List<ModrinthProject> projects = new ArrayList<>();
 
-        return Download.build()
-                .setUrl(String.format("%s/projects?ids=%s", Constants.MODRINTH_API_URL,
-                        Gsons.DEFAULT_SLIM.toJson(projectIds)))
-                .cached(new CacheControl.Builder().maxStale(10, TimeUnit.MINUTES).build())
-                .asType(type);
+        for (List<String> batch : Lists.partition(Arrays.asList(projectIds), PROJECT_BATCH_SIZE)) {
+            java.lang.reflect.Type type = new TypeToken<List<ModrinthProject>>() {
+            }.getType();
+
+            List<ModrinthProject> fetched = Download.build()
+                    .setUrl(String.format("%s/projects?ids=%s", Constants.MODRINTH_API_URL,
+                            Gsons.DEFAULT_SLIM.toJson(batch)))
+                    .cached(new CacheControl.Builder().maxStale(10, TimeUnit.MINUTES).build())
+                    .asType(type);
+
+            if (fetched == null) {
+                return null;
+            }
+
+            projects.addAll(fetched);
+        }
+
+        return projects;
     }
 
     public static Map<String, ModrinthProject> getProjectsAsMap(String[] projectIds) {
         try {
-            List<ModrinthProject> projects = getProjects(projectIds);
+            Map<String, ModrinthProject> projects = new HashMap<>();
+            List<String> projectIdsToFetch = new ArrayList<>();
 
-            if (projects != null) {
-                return projects.stream().distinct()
-                        .collect(Collectors.toMap(p -> p.id, p -> p, (existing, replacement) -> existing));
+            for (String projectId : new LinkedHashSet<>(Arrays.asList(projectIds))) {
+                ModrinthProject project = ModrinthCache.getProject(projectId);
+
+                if (project != null) {
+                    projects.put(projectId, project);
+                } else {
+                    projectIdsToFetch.add(projectId);
+                }
             }
+
+            if (projectIdsToFetch.size() != 0) {
+                List<ModrinthProject> fetched = getProjects(projectIdsToFetch.toArray(new String[0]));
+
+                if (fetched == null) {
+                    return null;
+                }
+
+                for (ModrinthProject project : fetched) {
+                    ModrinthCache.putProject(project);
+                    projects.putIfAbsent(project.id, project);
+                }
+
+                ModrinthCache.save();
+            }
+
+            return projects;
         } catch (Throwable t) {
             LogManager.logStackTrace("Error trying to get Modrinth projects as map", t);
         }
 
         return null;
     }
+
+    /**
+     * Finds which of the given files are on Modrinth, and what project and version each is.
+     *
+     * Files are hashed in batches on a few threads, and each batch is looked up on Modrinth as soon as it's been
+     * hashed, so later batches are being hashed while earlier ones are being looked up. Files that have been looked up
+     * recently aren't looked up again.
+     *
+     * @param files the files to look for
+     * @return the project and version for each file found on Modrinth
+     */
+    public static Map<Path, Pair<ModrinthProject, ModrinthVersion>> findFiles(Collection<Path> files) {
+        Map<Path, String> sha1s = new ConcurrentHashMap<>();
+
+        List<CompletableFuture<Map<String, ModrinthVersion>>> batches = Lists
+                .partition(new ArrayList<>(new LinkedHashSet<>(files)), HASH_BATCH_SIZE).stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> {
+                    List<String> hashes = new ArrayList<>();
+
+                    for (Path file : batch) {
+                        String sha1 = ModMetadataCache.getSha1(file);
+
+                        if (sha1 != null) {
+                            sha1s.put(file, sha1);
+                            hashes.add(sha1);
+                        }
+                    }
+
+                    return hashes;
+                }, hashingExecutor).thenApplyAsync(
+                        hashes -> getVersionsFromSha1Hashes(hashes.toArray(new String[0])), lookupExecutor))
+                .collect(Collectors.toList());
+
+        Map<String, ModrinthVersion> versions = new HashMap<>();
+        for (CompletableFuture<Map<String, ModrinthVersion>> batch : batches) {
+            try {
+                versions.putAll(batch.join());
+            } catch (CompletionException e) {
+                LogManager.logStackTrace("Error looking up files on Modrinth", e);
+            }
+        }
+
+        Map<Path, Pair<ModrinthProject, ModrinthVersion>> found = new HashMap<>();
+
+        if (versions.size() != 0) {
+            Map<String, ModrinthProject> projects = getProjectsAsMap(
+                    versions.values().stream().map(mv -> mv.projectId).toArray(String[]::new));
+
+            if (projects != null) {
+                for (Map.Entry<Path, String> entry : sha1s.entrySet()) {
+                    ModrinthVersion version = versions.get(entry.getValue());
+                    ModrinthProject project = version == null ? null : projects.get(version.projectId);
+
+                    if (project != null) {
+                        found.put(entry.getKey(), new Pair<>(project, version));
+                        ModMetadataCache.setModrinth(entry.getValue(), project, version);
+
+                        LogManager.debug(String.format("Found matching mod from Modrinth called %s with file %s",
+                                project.title, version.name));
+                    }
+                }
+            }
+        }
+
+        ModMetadataCache.save();
+
+        return found;
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.modrinth.ModrinthProject;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.managers.LogManager;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps Modrinth projects, and which version each file hash is, between launches, so looking up the same mods again
+ * doesn't need to ask Modrinth until what's stored is too old.
+ *
+ * Hashes that aren't on Modrinth are stored too, for a shorter time, so mods that aren't on Modrinth aren't looked up
+ * every time.
+ */
+final class ModrinthCache {
+    // bump this if what's stored changes, so old entries aren't used
+    private static final int CACHE_VERSION = 1;
+
+    private static final long PROJECT_TTL = TimeUnit.HOURS.toMillis(1);
+    private static final long VERSION_TTL = TimeUnit.DAYS.toMillis(1);
+    private static final long MISSING_VERSION_TTL = TimeUnit.HOURS.toMillis(1);
+
+    private static final Map<String, Entry<ModrinthProject>> projects = new ConcurrentHashMap<>();
+    private static final Map<String, Entry<ModrinthVersion>> versionsByHash = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded = false;
+    private static volatile boolean dirty = false;
+
+    private ModrinthCache() {
+    }
+
+    /**
+     * Gets the stored project with the given id, or null if it's not stored or is too old.
+     */
+    static ModrinthProject getProject(String id) {
+        load();
+
+        Entry<ModrinthProject> entry = projects.get(id);
+
+        return entry == null || entry.isExpired(PROJECT_TTL) ? null : entry.value;
+    }
+
+    static void putProject(ModrinthProject project) {
+        projects.put(project.id, new Entry<>(project));
+        dirty = true;
+    }
+
+    /**
+     * Checks if it's known which version the given hash is, including if it's known to not be on Modrinth.
+     */
+    static boolean hasVersion(String algorithm, String hash) {
+        load();
+
+        Entry<ModrinthVersion> entry = versionsByHash.get(algorithm + ":" + hash);
+
+        return entry != null && !entry.isExpired(entry.value == null ? MISSING_VERSION_TTL : VERSION_TTL);
+    }
+
+    /**
+     * Gets the version the given hash is, or null if it's not on Modrinth or not known.
+     */
+    static ModrinthVersion getVersion(String algorithm, String hash) {
+        return hasVersion(algorithm, hash) ? versionsByHash.get(algorithm + ":" + hash).value : null;
+    }
+
+    /**
+     * Stores the version the given hash is, or null if it's not on Modrinth.
+     */
+    static void putVersion(String algorithm, String hash, ModrinthVersion version) {
+        versionsByHash.put(algorithm + ":" + hash, new Entry<>(version));
+        dirty = true;
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+
+        if (!Files.exists(FileSystem.MODRINTH_CACHE)) {
+            return;
+        }
+
+        try (FileReader fileReader = new FileReader(FileSystem.MODRINTH_CACHE.toFile())) {
+            CacheFile cacheFile = Gsons.DEFAULT_SLIM.fromJson(fileReader, CacheFile.class);
+
+            if (cacheFile != null && cacheFile.version == CACHE_VERSION && cacheFile.projects != null
+                    && cacheFile.versionsByHash != null) {
+                projects.putAll(cacheFile.projects);
+                versionsByHash.putAll(cacheFile.versionsByHash);
+            }
+        } catch (JsonParseException | IOException e) {
+            LogManager.logStackTrace("Failed to read Modrinth cache", e, false);
+        }
+    }
+
+    /**
+     * Saves the cache if anything has changed since it was last saved, dropping anything that's too old to be used.
+     */
+    static synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+
+        dirty = false;
+
+        projects.values().removeIf(entry -> entry.isExpired(PROJECT_TTL));
+        versionsByHash.values()
+                .removeIf(entry -> entry.isExpired(entry.value == null ? MISSING_VERSION_TTL : VERSION_TTL));
+
+        CacheFile cacheFile = new CacheFile();
+        cacheFile.version = CACHE_VERSION;
+        cacheFile.projects = projects;
+        cacheFile.versionsByHash = versionsByHash;
+
+        Path tempFile = FileSystem.MODRINTH_CACHE.resolveSibling(FileSystem.MODRINTH_CACHE.getFileName() + ".tmp");
+        try {
+            try (FileWriter fileWriter = new FileWriter(tempFile.toFile())) {
+                Gsons.DEFAULT_SLIM.toJson(cacheFile, fileWriter);
+            }
+
+            Files.move(tempFile, FileSystem.MODRINTH_CACHE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save Modrinth cache", e, false);
+        }
+    }
+
+    private static class Entry<T> {
+        public T value;
+        public long fetched;
+
+        Entry(T value) {
+            this.value = value;
+            this.fetched = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long ttl) {
+            return System.currentTimeMillis() - fetched > ttl;
+        }
+    }
+
+    private static class CacheFile {
+        public int version;
+        public Map<String, Entry<ModrinthProject>> projects;
+        public Map<String, Entry<ModrinthVersion>> versionsByHash;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental version of the Murmur2 hash used by CurseForge for file
+ * fingerprints. Whitespace bytes (tab, newline, carriage return and space) are
+ * skipped as they're fed in, rather than being stripped out of a copy of the
+ * whole file first.
+ *
+ * Murmur2 is seeded with the length of the data being hashed, so the number of
+ * non whitespace bytes must be known before hashing starts (see
+ * {@link #countNonWhitespace(ByteBuffer)}).
+ */
+public final class Murmur2Stream {
+    private static final long UINT_MASK = 0xFFFFFFFFL;
+    private static final long M = 0x5bd1e995L;
+    private static final int R = 24;
+
+    private long h;
+    private long pending = 0L;
+    private int pendingBytes = 0;
+
+    public Murmur2Stream(long normalizedLength, long seed) {
+        this.h = ((seed & UINT_MASK) ^ (normalizedLength & UINT_MASK)) & UINT_MASK;
+    }
+
+    public static boolean isWhitespace(byte b) {
+        return b == 9 || b == 10 || b == 13 || b == 32;
+    }
+
+    /**
+     * Counts the non whitespace bytes remaining in the buffer without consuming
+     * them.
+     */
+    public static long countNonWhitespace(ByteBuffer buffer) {
+        long count = 0L;
+
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (!isWhitespace(buffer.get(i))) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Feeds all the remaining bytes in the buffer into the hash, skipping
+     * whitespace.
+     */
+    public void update(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            if (isWhitespace(b)) {
+                continue;
+            }
+
+            pending |= (b & 0xFFL) << (pendingBytes * 8);
+
+            if (++pendingBytes == 4) {
+                long k = (pending * M) & UINT_MASK;
+                k ^= (k >>> R) & UINT_MASK;
+                k = (k * M) & UINT_MASK;
+
+                h = (h * M) & UINT_MASK;
+                h = (h ^ k) & UINT_MASK;
+
+                pending = 0L;
+                pendingBytes = 0;
+            }
+        }
+    }
+
+    /**
+     * Mixes in any remaining bytes and returns the final hash. The number of bytes
+     * fed in must match the length given to the constructor.
+     */
+    public long finish() {
+        if (pendingBytes > 0) {
+            h ^= pending & UINT_MASK;
+            h = (h * M) & UINT_MASK;
+        }
+
+        h ^= (h >>> 13) & UINT_MASK;
+        h = (h * M) & UINT_MASK;
+        h ^= (h >>> 15) & UINT_MASK;
+
+        return h;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+
+import org.zeroturnaround.zip.NameMapper;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.minecraft.ExtractRule;
+import com.atlauncher.managers.LogManager;
+
+/**
+ * Keeps extracted copies of native library jars, keyed by the jars SHA-1 and the
+ * extract rules applied to it. Since native jars never change, each one only
+ * needs to be extracted once, and launches just link the already extracted
+ * files into the natives directory.
+ */
+public final class NativesCache {
+    // bump this if the way natives are extracted changes, so old extractions aren't used
+    private static final int CACHE_VERSION = 1;
+
+    /**
+     * Puts the extracted contents of the given native jar into the natives
+     * directory, extracting it into the cache first if it hasn't been already.
+     *
+     * @param nativeJar   the native jar to extract
+     * @param sha1        the SHA-1 of the native jar, or null if unknown
+     * @param extractRule the extract rules for the library, or null
+     * @param nativesDir  the directory the natives should end up in
+     * @return if the natives were put in place successfully
+     */
+    public static boolean extract(Path nativeJar, String sha1, ExtractRule extractRule, Path nativesDir) {
+        Path cachedDir = getCachedDirectory(nativeJar, sha1, extractRule);
+
+        if (cachedDir != null) {
+            try {
+                linkInto(cachedDir, nativesDir);
+                return true;
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to use cached natives from " + cachedDir + ", extracting instead", e,
+                        false);
+            }
+        }
+
+        return ArchiveUtils.extract(nativeJar, nativesDir, getNameMapper(extractRule));
+    }
+
+    private static Path getCachedDirectory(Path nativeJar, String sha1, ExtractRule extractRule) {
+        if (sha1 == null || sha1.isEmpty()) {
+            sha1 = Hashing.sha1(nativeJar).toString();
+        }
+
+        String rulesKey = CACHE_VERSION + "|"
+                + (extractRule == null || extractRule.exclude == null ? "" : String.join("|", extractRule.exclude));
+        Path cachedDir = FileSystem.NATIVES_CACHE
+                .resolve(sha1.toLowerCase() + "-" + Hashing.md5(rulesKey).toString().substring(0, 8));
+
+        if (Files.isDirectory(cachedDir)) {
+            return cachedDir;
+        }
+
+        // extract to a temporary folder and move it into place once done, so a
+        // half extracted cache entry is never used
+        Path tempDir = FileSystem.NATIVES_CACHE.resolve(cachedDir.getFileName().toString() + "-"
+                + UUID.randomUUID().toString().replace("-", ""));
+
+        try {
+            Files.createDirectories(tempDir);
+
+            if (!ArchiveUtils.extract(nativeJar, tempDir, getNameMapper(extractRule))) {
+                FileUtils.deleteDirectoryQuietly(tempDir);
+                return null;
+            }
+
+            Files.move(tempDir, cachedDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // another launch extracted it at the same time
+            FileUtils.deleteDirectoryQuietly(tempDir);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to cache natives from " + nativeJar, e, false);
+            FileUtils.deleteDirectoryQuietly(tempDir);
+        }
+
+        return Files.isDirectory(cachedDir) ? cachedDir : null;
+    }
+
+    private static void linkInto(Path cachedDir, Path nativesDir) throws IOException {
+        Files.walkFileTree(cachedDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                FileMaterializer.SHARED.materialize(file, nativesDir.resolve(cachedDir.relativize(file).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static NameMapper getNameMapper(ExtractRule extractRule) {
+        return name -> {
+            if (extractRule != null && extractRule.shouldExclude(name)) {
+                return null;
+            }
+
+            // keep META-INF folder as per normal
+            if (name.startsWith("META-INF")) {
+                return name;
+            }
+
+            // don't extract folders
+            if (name.endsWith("/")) {
+                return null;
+            }
+
+            // if it has a / then extract just to root
+            if (name.contains("/")) {
+                return name.substring(name.lastIndexOf("/") + 1);
+            }
+
+            return name;
+        };
+    }
+}
@@ -53,14 +53,10 @@ import java.security.Key;
 import java.util.Deque;
 import java.util.EnumSet;
 import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
-import java.util.jar.JarOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -830,64 +826,8 @@ public class Utils {
     }
 
     public static boolean combineJars(File mainJar, File jarToAdd, File outputJar) {
-        try (FileInputStream is = new FileInputStream(mainJar);
-                JarInputStream jis = new JarInputStream(is);
-                JarFile jarFile = new JarFile(mainJar);
-
-                FileInputStream is2 = new FileInputStream(jarToAdd);
-                JarInputStream jis2 = new JarInputStream(is2);
-                JarFile jarFile2 = new JarFile(jarToAdd);
-
-                FileOutputStream fos = new FileOutputStream(outputJar);
-                JarOutputStream jos = new JarOutputStream(fos)) {
-            Set<String> entriesAdded = new HashSet<>();
-            JarEntry entry;
-            while ((entry = jis2.getNextJarEntry()) != null) {
-                if (entry.getName().contains("META-INF")) {
-                    continue;
-                }
-
-                InputStream jfis = jarFile2.getInputStream(entry);
-
-                JarEntry newEntry = new JarEntry(entry.getName());
-                jos.putNextEntry(newEntry);
-                entriesAdded.add(entry.getName());
-
-                byte[] buffer = new byte[8192];
-
-                int r;
-                while ((r = jis2.read(buffer, 0, buffer.length)) >= 0) {
-                    jos.write(buffer, 0, r);
-                }
-
-                jfis.close();
-                jos.flush();
-                jos.closeEntry();
-            }
-
-            while ((entry = jis.getNextJarEntry()) != null) {
-                if (entry.getName().contains("META-INF") || entriesAdded.contains(entry.getName())) {
-                    continue;
-                }
-
-                InputStream jfis = jarFile.getInputStream(entry);
-
-                JarEntry newEntry = new JarEntry(entry.getName());
-                jos.putNextEntry(newEntry);
-                entriesAdded.add(entry.getName());
-
-                byte[] buffer = new byte[8192];
-
-                int r;
-                while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
-                    jos.write(buffer, 0, r);
-                }
-
-                jfis.close();
-                jos.flush();
-                jos.closeEntry();
-            }
-
+        try {
+            JarMerger.merge(outputJar, null, jarToAdd, mainJar);
         } catch (Exception e) {
             LogManager.logStackTrace(e);
 
@@ -904,33 +844,8 @@ public class Utils {
      * @return true, if successful
      */
     public static boolean stripMetaInf(File minecraftJar, File outputJar) {
-        try (FileInputStream is = new FileInputStream(minecraftJar);
-                JarInputStream jis = new JarInputStream(is);
-                FileOutputStream fos = new FileOutputStream(outputJar);
-                JarOutputStream jos = new JarOutputStream(fos);
-                JarFile jarFile = new JarFile(minecraftJar)) {
-            JarEntry entry;
-            while ((entry = jis.getNextJarEntry()) != null) {
-                if (entry.getName().contains("META-INF")) {
-                    continue;
-                }
-
-                InputStream jfis = jarFile.getInputStream(entry);
-
-                JarEntry newEntry = new JarEntry(entry.getName());
-                jos.putNextEntry(newEntry);
-
-                byte[] buffer = new byte[8192];
-
-                int r;
-                while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
-                    jos.write(buffer, 0, r);
-                }
-
-                jfis.close();
-                jos.flush();
-                jos.closeEntry();
-            }
+        try {
+            JarMerger.merge(outputJar, null, minecraftJar);
         } catch (Exception e) {
             LogManager.logStackTrace(e);
 
@@ -1444,11 +1359,15 @@ public class Utils {
     }
 
     public static MCMod getMCModForFile(File file) {
+        return getMCMod(ArchiveUtils.getFile(file.toPath(), "mcmod.info"));
+    }
+
+    public static MCMod getMCMod(String mcmodInfo) {
         try {
             java.lang.reflect.Type type = new TypeToken<List<MCMod>>() {
             }.getType();
 
-            List<MCMod> mods = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "mcmod.info"), type);
+            List<MCMod> mods = Gsons.MINECRAFT.fromJson(mcmodInfo, type);
 
             if (mods.size() != 0 && mods.get(0) != null) {
                 return mods.get(0);
@@ -1461,9 +1380,12 @@ public class Utils {
     }
 
     public static FabricMod getFabricModForFile(File file) {
+        return getFabricMod(ArchiveUtils.getFile(file.toPath(), "fabric.mod.json"));
+    }
+
+    public static FabricMod getFabricMod(String fabricModJson) {
         try {
-            FabricMod mod = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "fabric.mod.json"),
-                    FabricMod.class);
+            FabricMod mod = Gsons.MINECRAFT.fromJson(fabricModJson, FabricMod.class);
 
             if (mod != null) {
                 return mod;
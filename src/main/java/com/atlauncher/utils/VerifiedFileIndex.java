@@ -0,0 +1,216 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.managers.LogManager;
+import com.google.gson.JsonIOException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Persistent index of files whose hashes have already been verified. Files are
+ * keyed by their path and are only trusted while their size, modified time and
+ * file key are unchanged, so launches don't need to rehash thousands of assets
+ * and libraries that haven't been touched since they were last checked.
+ */
+public final class VerifiedFileIndex {
+    private static final Type indexType = new TypeToken<Map<String, VerifiedFile>>() {
+    }.getType();
+
+    private static volatile Map<String, VerifiedFile> index = null;
+    private static volatile boolean dirty = false;
+
+    private static Map<String, VerifiedFile> getIndex() {
+        if (index == null) {
+            synchronized (VerifiedFileIndex.class) {
+                if (index == null) {
+                    index = load();
+                }
+            }
+        }
+
+        return index;
+    }
+
+    private static Map<String, VerifiedFile> load() {
+        Map<String, VerifiedFile> loaded = new ConcurrentHashMap<>();
+
+        if (Files.exists(FileSystem.VERIFIED_FILES_INDEX)) {
+            try (FileReader fileReader = new FileReader(FileSystem.VERIFIED_FILES_INDEX.toFile())) {
+                Map<String, VerifiedFile> saved = Gsons.DEFAULT_SLIM.fromJson(fileReader, indexType);
+
+                if (saved != null) {
+                    saved.forEach((key, file) -> {
+                        if (key != null && file != null && file.hashes != null) {
+                            loaded.put(key, file);
+                        }
+                    });
+                }
+            } catch (Exception e) {
+                LogManager.logStackTrace("Error loading verified file index, starting fresh", e, false);
+                loaded.clear();
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Checks if the given file has previously been verified to have the given hash
+     * and hasn't changed on disk since.
+     *
+     * @param file      the file to check
+     * @param algorithm the hashing algorithm the hash is for (md5, sha1, murmur...)
+     * @param hash      the expected hash
+     * @return true if the file is known to match the hash, false if it needs to be
+     *         rehashed
+     */
+    public static boolean isVerified(Path file, String algorithm, String hash) {
+        if (App.deepVerify || hash == null) {
+            return false;
+        }
+
+        String key = getKey(file);
+        VerifiedFile verifiedFile = getIndex().get(key);
+
+        if (verifiedFile == null) {
+            return false;
+        }
+
+        BasicFileAttributes attributes = readAttributes(file);
+
+        if (attributes == null || !verifiedFile.matches(attributes)) {
+            getIndex().remove(key, verifiedFile);
+            dirty = true;
+            return false;
+        }
+
+        return hash.equalsIgnoreCase(verifiedFile.hashes.get(algorithm));
+    }
+
+    /**
+     * Records that the given file has been hashed and matched the given hash.
+     */
+    public static void markVerified(Path file, String algorithm, String hash) {
+        if (hash == null) {
+            return;
+        }
+
+        BasicFileAttributes attributes = readAttributes(file);
+
+        if (attributes == null) {
+            return;
+        }
+
+        getIndex().compute(getKey(file), (key, existing) -> {
+            VerifiedFile verifiedFile = new VerifiedFile(attributes);
+
+            if (existing != null && existing.matches(attributes)) {
+                verifiedFile.hashes.putAll(existing.hashes);
+            }
+
+            verifiedFile.hashes.put(algorithm, hash.toLowerCase());
+
+            return verifiedFile;
+        });
+        dirty = true;
+    }
+
+    /**
+     * Removes any record of the given file, forcing it to be rehashed next time.
+     */
+    public static void invalidate(Path file) {
+        if (getIndex().remove(getKey(file)) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Saves the index to disk if anything has changed since it was last saved.
+     */
+    public static synchronized void save() {
+        if (!dirty || index == null) {
+            return;
+        }
+
+        dirty = false;
+
+        try (FileWriter fileWriter = new FileWriter(FileSystem.VERIFIED_FILES_INDEX.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(new HashMap<>(index), indexType, fileWriter);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Error saving verified file index", e, false);
+        }
+    }
+
+    private static String getKey(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+
+        // store paths inside the launcher relatively so moving the launcher keeps
+        // the index valid
+        if (absolute.startsWith(FileSystem.BASE_DIR)) {
+            return FileSystem.BASE_DIR.relativize(absolute).toString().replace('\\', '/');
+        }
+
+        return absolute.toString();
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            return attributes.isRegularFile() ? attributes : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static final class VerifiedFile {
+        public long size;
+        public long modified;
+        public String fileKey;
+        public Map<String, String> hashes = new HashMap<>();
+
+        private VerifiedFile(BasicFileAttributes attributes) {
+            this.size = attributes.size();
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.fileKey = attributes.fileKey() == null ? null : attributes.fileKey().toString();
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            if (size != attributes.size() || modified != attributes.lastModifiedTime().toMillis()) {
+                return false;
+            }
+
+            return fileKey == null || attributes.fileKey() == null
+                    || fileKey.equals(attributes.fileKey().toString());
+        }
+    }
+}
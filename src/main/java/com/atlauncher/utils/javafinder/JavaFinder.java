@@ -138,9 +138,14 @@ public class JavaFinder {
             javaPaths = new SoftReference<>(javaExecs);
         }
 
-        PerformanceManager.end();
-        return javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java))).map(JavaInfo::new)
+        List<String> existingJavaExecs = javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java)))
                 .collect(Collectors.toList());
+
+        // get the details of any new installations all at once, rather than one after the other
+        JavaInstallations.probeAll(existingJavaExecs);
+
+        PerformanceManager.end();
+        return existingJavaExecs.stream().map(JavaInfo::new).collect(Collectors.toList());
     }
 
     // Inspired by
@@ -0,0 +1,317 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils.javafinder;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.Java;
+import com.atlauncher.utils.Utils;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Persistent registry of the version and bitness of Java installations, keyed by the path to the executable and only
+ * trusted while its modified time and size are unchanged.
+ *
+ * Installations are read from the JDK's release file when there is one, and otherwise by running java -version,
+ * which is slow enough (a few hundred milliseconds) that it should only ever be done once per installation.
+ */
+public final class JavaInstallations {
+    private static final Type registryType = new TypeToken<Map<String, JavaInstallation>>() {
+    }.getType();
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(java|openjdk) version \"([^\"]*)\"");
+    private static final Pattern RELEASE_PATTERN = Pattern.compile("^(\\w+)=\"?([^\"]*)\"?$");
+
+    private static final int MAX_PARALLEL_PROBES = 8;
+
+    private static volatile Map<String, JavaInstallation> registry = null;
+    private static volatile boolean dirty = false;
+
+    public static class JavaInstallation {
+        public String path;
+        public long modified;
+        public long size;
+        public String version;
+        public boolean is64bits;
+
+        public boolean isKnown() {
+            return version != null && !version.equals("Unknown");
+        }
+    }
+
+    private static Map<String, JavaInstallation> getRegistry() {
+        if (registry == null) {
+            synchronized (JavaInstallations.class) {
+                if (registry == null) {
+                    registry = load();
+                }
+            }
+        }
+
+        return registry;
+    }
+
+    private static Map<String, JavaInstallation> load() {
+        Map<String, JavaInstallation> loaded = new ConcurrentHashMap<>();
+
+        if (Files.exists(FileSystem.JAVA_INSTALLATIONS)) {
+            try (FileReader fileReader = new FileReader(FileSystem.JAVA_INSTALLATIONS.toFile())) {
+                Map<String, JavaInstallation> saved = Gsons.DEFAULT_SLIM.fromJson(fileReader, registryType);
+
+                if (saved != null) {
+                    saved.forEach((key, installation) -> {
+                        if (key != null && installation != null && installation.isKnown()) {
+                            loaded.put(key, installation);
+                        }
+                    });
+                }
+            } catch (Exception e) {
+                LogManager.logStackTrace("Error loading Java installations, starting fresh", e, false);
+                loaded.clear();
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Saves the registry to disk if anything has changed since it was last saved.
+     */
+    public static synchronized void save() {
+        if (!dirty || registry == null) {
+            return;
+        }
+
+        dirty = false;
+
+        try (FileWriter fileWriter = new FileWriter(FileSystem.JAVA_INSTALLATIONS.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(new HashMap<>(registry), registryType, fileWriter);
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Error saving Java installations", e, false);
+        }
+    }
+
+    /**
+     * Gets the details of the Java installation with the given executable, only running it if it's not already known
+     * and has no release file.
+     *
+     * @param executablePath the path to the java executable
+     * @return the details of the installation, with a version of "Unknown" if they couldn't be found
+     */
+    public static JavaInstallation get(String executablePath) {
+        JavaInstallation installation = getWithoutProbing(executablePath);
+
+        if (installation == null) {
+            installation = probe(executablePath);
+            remember(installation);
+        }
+
+        save();
+        return installation;
+    }
+
+    /**
+     * Makes sure that all the given executables are known, running the ones which aren't in parallel.
+     */
+    public static void probeAll(Collection<String> executablePaths) {
+        List<String> unknown = executablePaths.stream().distinct()
+                .filter(path -> getWithoutProbing(path) == null).collect(Collectors.toList());
+
+        if (!unknown.isEmpty()) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(unknown.size(), MAX_PARALLEL_PROBES),
+                    new ThreadFactoryBuilder().setNameFormat("JavaProbe-%d").setDaemon(true).build());
+
+            try {
+                List<Future<JavaInstallation>> probes = unknown.stream()
+                        .map(path -> executor.submit(() -> probe(path))).collect(Collectors.toList());
+
+                for (Future<JavaInstallation> probe : probes) {
+                    try {
+                        remember(probe.get());
+                    } catch (Exception e) {
+                        LogManager.logStackTrace("Failed to get details of Java installation", e, false);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        save();
+    }
+
+    /**
+     * Finds the installed Javas in the background, so that anything needing them later doesn't have to wait for them
+     * to be run.
+     *
+     * @param callback called with the installed Javas once found, or null
+     */
+    public static void refreshInBackground(Consumer<List<JavaInfo>> callback) {
+        Thread thread = new Thread(() -> {
+            if (App.settings != null && App.settings.javaPath != null) {
+                get(Java.getPathToJavaExecutable(Paths.get(App.settings.javaPath)));
+            }
+
+            List<JavaInfo> javas = Java.getInstalledJavas();
+
+            if (callback != null) {
+                callback.accept(javas);
+            }
+        }, "JavaInstallationsRefresh");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static JavaInstallation getWithoutProbing(String executablePath) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(Paths.get(executablePath), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+
+        JavaInstallation installation = getRegistry().get(executablePath);
+
+        if (installation != null && installation.modified == attributes.lastModifiedTime().toMillis()
+                && installation.size == attributes.size()) {
+            return installation;
+        }
+
+        installation = readReleaseFile(executablePath, attributes);
+
+        if (installation != null) {
+            remember(installation);
+        }
+
+        return installation;
+    }
+
+    private static void remember(JavaInstallation installation) {
+        // unknown results aren't kept, so they're tried again next time
+        if (installation.isKnown()) {
+            getRegistry().put(installation.path, installation);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Reads the details from the release file in the root of the installation, which all modern JDKs and JREs have.
+     */
+    private static JavaInstallation readReleaseFile(String executablePath, BasicFileAttributes attributes) {
+        try {
+            Path root = Paths.get(executablePath).toRealPath().getParent().getParent();
+            Path release = root.resolve("release");
+
+            if (!Files.isRegularFile(release)) {
+                return null;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (String line : Files.readAllLines(release, StandardCharsets.UTF_8)) {
+                Matcher matcher = RELEASE_PATTERN.matcher(line.trim());
+
+                if (matcher.matches()) {
+                    values.put(matcher.group(1), matcher.group(2));
+                }
+            }
+
+            if (!values.containsKey("JAVA_VERSION") || !values.containsKey("OS_ARCH")) {
+                return null;
+            }
+
+            JavaInstallation installation = newInstallation(executablePath, attributes);
+            installation.version = values.get("JAVA_VERSION");
+            installation.is64bits = values.get("OS_ARCH").contains("64");
+
+            LogManager.debug(String.format("Got version \"%s\" from release file for Java at path \"%s\"",
+                    installation.version, executablePath));
+
+            return installation;
+        } catch (IOException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static JavaInstallation probe(String executablePath) {
+        JavaInstallation installation;
+        try {
+            installation = newInstallation(executablePath,
+                    Files.readAttributes(Paths.get(executablePath), BasicFileAttributes.class));
+        } catch (IOException e) {
+            installation = new JavaInstallation();
+            installation.path = executablePath;
+        }
+
+        long start = System.nanoTime();
+        String output = Utils.runProcess(executablePath, "-version");
+
+        Matcher matcher = VERSION_PATTERN.matcher(output);
+        String[] tokens = output.split("\"");
+
+        if (matcher.find()) {
+            installation.version = matcher.group(2);
+        } else if (tokens.length >= 2) {
+            installation.version = tokens[1];
+        } else {
+            installation.version = "Unknown";
+        }
+
+        installation.is64bits = output.toUpperCase().contains("64-BIT");
+
+        LogManager.debug(String.format("Got version \"%s\" for Java at path \"%s\" in %dms", installation.version,
+                executablePath, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+        return installation;
+    }
+
+    private static JavaInstallation newInstallation(String executablePath, BasicFileAttributes attributes) {
+        JavaInstallation installation = new JavaInstallation();
+        installation.path = executablePath;
+        installation.modified = attributes.lastModifiedTime().toMillis();
+        installation.size = attributes.size();
+
+        return installation;
+    }
+}
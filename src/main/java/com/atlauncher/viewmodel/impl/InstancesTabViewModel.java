@@ -17,6 +17,7 @@
  */
 package com.atlauncher.viewmodel.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -38,7 +39,7 @@ import com.atlauncher.viewmodel.base.IInstancesTabViewModel;
  */
 public class InstancesTabViewModel implements IInstancesTabViewModel, InstanceManager.Listener {
 
-    private List<Instance> instances = InstanceManager.getInstancesSorted();
+    private List<Instance> instances = getInstancesIfLoaded();
     private Pattern searchPattern = null;
     private InstanceSortingStrategy sortingStrategy = App.settings.defaultInstanceSorting;
     private Consumer<List<Instance>> consumer = null;
@@ -83,9 +84,17 @@ public class InstancesTabViewModel implements IInstancesTabViewModel, InstanceMa
             consumer.accept(stream.collect(Collectors.toList()));
     }
 
+    /**
+     * Gets the instances without waiting for them to load, so the tab can show the cached summaries in the meantime.
+     * Once they've loaded, the instances changed event will fire again.
+     */
+    private static List<Instance> getInstancesIfLoaded() {
+        return InstanceManager.isLoaded() ? InstanceManager.getInstancesSorted() : new ArrayList<>();
+    }
+
     @Override
     public void onInstancesChanged() {
-        instances = InstanceManager.getInstancesSorted();
+        instances = getInstancesIfLoaded();
         post();
     }
 }
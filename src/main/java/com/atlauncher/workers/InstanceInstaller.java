@@ -31,7 +31,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,7 +61,6 @@ import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.AssetIndex;
 import com.atlauncher.data.minecraft.Download;
 import com.atlauncher.data.minecraft.Downloads;
-import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.JavaRuntime;
 import com.atlauncher.data.minecraft.JavaRuntimeManifest;
 import com.atlauncher.data.minecraft.JavaRuntimeManifestFileType;
@@ -70,15 +68,12 @@ import com.atlauncher.data.minecraft.JavaRuntimes;
 import com.atlauncher.data.minecraft.LWJGLLibrary;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LoggingFile;
-import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.data.minecraft.MinecraftVersion;
 import com.atlauncher.data.minecraft.MojangAssetIndex;
 import com.atlauncher.data.minecraft.MojangDownload;
 import com.atlauncher.data.minecraft.VersionManifestVersion;
 import com.atlauncher.data.minecraft.loaders.Loader;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
-import com.atlauncher.data.modrinth.ModrinthProject;
-import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.data.multimc.MultiMCComponent;
 import com.atlauncher.data.multimc.MultiMCManifest;
 import com.atlauncher.exceptions.LocalException;
@@ -88,10 +83,13 @@ import com.atlauncher.managers.LWJGLManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
 import com.atlauncher.network.DownloadPool;
+import com.atlauncher.network.DownloadProgress;
 import com.atlauncher.utils.ArchiveUtils;
+import com.atlauncher.utils.FileMaterializer;
 import com.atlauncher.utils.FileUtils;
-import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.Java;
+import com.atlauncher.utils.ModMetadataCache;
+import com.atlauncher.utils.ModStore;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
@@ -102,8 +100,8 @@ import okhttp3.OkHttpClient;
 public class InstanceInstaller extends SwingWorker<Boolean, Void> implements NetworkProgressable {
     protected double percent = 0.0; // Percent done installing
     protected double subPercent = 0.0; // Percent done sub installing
-    protected double totalBytes = 0; // Total number of bytes to download
-    protected double downloadedBytes = 0; // Total number of bytes downloaded
+    private final DownloadProgress downloadProgress = new DownloadProgress(
+            progress -> fireSubProgress(progress.getPercent(), progress.getLabel()));
 
     public Instance instance = null;
     public final String name;
@@ -280,6 +278,8 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             success(false);
             cancel(true);
             LogManager.logStackTrace(e);
+        } finally {
+            downloadProgress.stop();
         }
 
         return success(false);
@@ -568,23 +568,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         DisableableMod mod = new DisableableMod();
 
         mod.optional = true;
-        mod.name = p.getFileName().toString();
-        mod.version = "Unknown";
-        mod.description = null;
-
-        MCMod mcMod = Utils.getMCModForFile(p.toFile());
-        if (mcMod != null) {
-            mod.name = Optional.ofNullable(mcMod.name).orElse(p.getFileName().toString());
-            mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
-            mod.description = Optional.ofNullable(mcMod.description).orElse(null);
-        } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(p.toFile());
-            if (fabricMod != null) {
-                mod.name = Optional.ofNullable(fabricMod.name).orElse(p.getFileName().toString());
-                mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
-                mod.description = Optional.ofNullable(fabricMod.description).orElse(null);
-            }
-        }
+        mod.readMetadataFromFile(p.toFile());
 
         mod.file = p.getFileName().toString();
         mod.type = t;
@@ -669,6 +653,8 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
 
         checkModsOnModrinth();
+        ModMetadataCache.save();
+        ModStore.save();
         if (isCancelled()) {
             return false;
         }
@@ -896,7 +882,6 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         fireTask(GetText.tr("Organising Resources"));
         fireSubProgressUnknown();
-        this.totalBytes = this.downloadedBytes = 0;
 
         MojangAssetIndex assetIndex = this.minecraftVersion.assetIndex;
 
@@ -936,6 +921,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             fireTask(GetText.tr("Organising Resources"));
             fireSubProgressUnknown();
 
+            // an instance's resources folder can be changed by the game or the user, so it must not share the files
+            // in the objects folder, while the legacy folder is only ever read
+            FileMaterializer materializer = index.mapToResources ? FileMaterializer.PRIVATE : FileMaterializer.SHARED;
+
             index.objects.forEach((key, object) -> {
                 String filename = object.hash.substring(0, 2) + "/" + object.hash;
 
@@ -944,7 +933,11 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                         : FileSystem.RESOURCES_VIRTUAL_LEGACY.resolve(key);
 
                 if (!Files.exists(assetPath)) {
-                    FileUtils.copyFile(downloadedFile, assetPath, true);
+                    try {
+                        materializer.materialize(downloadedFile, assetPath);
+                    } catch (IOException e) {
+                        LogManager.logStackTrace("Failed to put asset " + key + " in place", e);
+                    }
                 }
             });
         }
@@ -956,8 +949,6 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         addPercent(5);
         fireTask(GetText.tr("Downloading Minecraft"));
         fireSubProgressUnknown();
-        totalBytes = 0;
-        downloadedBytes = 0;
 
         MojangDownload mojangDownload = this.minecraftVersion.downloads.client;
 
@@ -1418,7 +1409,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             com.atlauncher.network.Download configsDownload = com.atlauncher.network.Download.build()
                     .setUrl(String.format("%s/%s", Constants.DOWNLOAD_SERVER, path)).downloadTo(configs.toPath())
                     .size(this.packVersion.configs.filesize).hash(this.packVersion.configs.sha1)
-                    .withInstanceInstaller(this).withHttpClient(Network.createProgressClient(this));
+                    .withInstanceInstaller(this).withHttpClient(Network.createProgressClient(this)).chunked();
 
             this.setTotalBytes(configsDownload.getFilesize());
             configsDownload.downloadFile();
@@ -1466,53 +1457,21 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         fireTask(GetText.tr("Checking Mods On {0}", "Modrinth"));
         fireSubProgressUnknown();
 
-        Map<String, DisableableMod> sha1Hashes = new HashMap<>();
+        Map<Path, DisableableMod> modsToFind = new HashMap<>();
 
         this.modsInstalled.stream().filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
-                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null).forEach(dm -> {
-                    try {
-                        sha1Hashes.put(Hashing.sha1(dm.getFile(root, this.packVersion.minecraft).toPath()).toString(),
-                                dm);
-                    } catch (Throwable t) {
-                        LogManager.logStackTrace(t);
-                    }
-                });
-
-        if (sha1Hashes.size() != 0) {
-            Set<String> keys = sha1Hashes.keySet();
-            Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                    .getVersionsFromSha1Hashes(keys.toArray(new String[keys.size()]));
-
-            if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                        .toArray(String[]::new);
-
-                if (projectIdsFound.length != 0) {
-                    Map<String, ModrinthProject> foundProjects = ModrinthApi.getProjectsAsMap(projectIdsFound);
-
-                    if (foundProjects != null) {
-                        for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                            ModrinthVersion version = entry.getValue();
-                            ModrinthProject project = foundProjects.get(version.projectId);
-
-                            if (project != null) {
-                                DisableableMod dm = sha1Hashes.get(entry.getKey());
+                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null)
+                .forEach(dm -> modsToFind.put(dm.getFile(root, this.packVersion.minecraft).toPath(), dm));
 
-                                // add Modrinth information
-                                dm.modrinthProject = project;
-                                dm.modrinthVersion = version;
-                                dm.name = project.title;
-                                dm.description = project.description;
+        ModrinthApi.findFiles(modsToFind.keySet()).forEach((path, found) -> {
+            DisableableMod dm = modsToFind.get(path);
 
-                                LogManager
-                                        .debug(String.format("Found matching mod from Modrinth called %s with file %s",
-                                                project.title, version.name));
-                            }
-                        }
-                    }
-                }
-            }
-        }
+            // add Modrinth information
+            dm.modrinthProject = found.left();
+            dm.modrinthVersion = found.right();
+            dm.name = found.left().title;
+            dm.description = found.left().description;
+        });
     }
 
     public List<Mod> sortMods(List<Mod> original) {
@@ -1937,6 +1896,8 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     }
 
     public void fireSubProgressUnknown() {
+        // make sure a late progress update from a previous download doesn't replace this
+        downloadProgress.stop();
         firePropertyChange("subprogressint", null, null);
     }
 
@@ -1970,40 +1931,21 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
     @Override
     public void setTotalBytes(long bytes) {
-        this.downloadedBytes = 0L;
-        this.totalBytes = bytes;
-        this.updateProgressBar();
+        downloadProgress.reset(bytes);
     }
 
     @Override
     public void addDownloadedBytes(long bytes) {
-        this.downloadedBytes += bytes;
-        this.updateProgressBar();
+        downloadProgress.addDownloaded(bytes);
     }
 
     @Override
     public void addBytesToDownload(long bytes) {
-        this.totalBytes += bytes;
-        this.updateProgressBar();
-    }
-
-    private void updateProgressBar() {
-        double progress;
-        if (this.totalBytes > 0) {
-            progress = (this.downloadedBytes / this.totalBytes) * 100.0;
-        } else {
-            progress = 0.0;
-        }
-        double done = this.downloadedBytes / 1024.0 / 1024.0;
-        double toDo = this.totalBytes / 1024.0 / 1024.0;
-        if (done > toDo) {
-            fireSubProgress(100.0, String.format("%.2f MB", done));
-        } else {
-            fireSubProgress(progress, String.format("%.2f MB / %.2f MB", done, toDo));
-        }
+        downloadProgress.addTotal(bytes);
     }
 
     private void hideSubProgressBar() {
+        downloadProgress.stop();
         fireSubProgress(-1);
     }
 }
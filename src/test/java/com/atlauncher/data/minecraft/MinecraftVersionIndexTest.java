@@ -0,0 +1,71 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class MinecraftVersionIndexTest {
+    private static VersionManifestVersion version(String id, VersionManifestVersionType type, String releaseTime) {
+        VersionManifestVersion version = new VersionManifestVersion();
+        version.id = id;
+        version.type = type;
+        version.releaseTime = releaseTime;
+        return version;
+    }
+
+    private static final MinecraftVersionIndex INDEX = new MinecraftVersionIndex(Arrays.asList(
+            version("1.1", VersionManifestVersionType.RELEASE, "2012-01-12T22:00:00+00:00"),
+            version("1.19.2", VersionManifestVersionType.RELEASE, "2022-08-05T11:57:05+00:00"),
+            version("22w24a", VersionManifestVersionType.SNAPSHOT, "2022-06-15T16:24:06+00:00"),
+            version("1.19", VersionManifestVersionType.RELEASE, "2022-06-07T09:42:18+00:00"),
+            version("1.10", VersionManifestVersionType.RELEASE, "2016-06-08T13:06:18+00:00"),
+            version("b1.7.3", VersionManifestVersionType.OLD_BETA, "2011-07-07T22:00:00+00:00")));
+
+    private static List<String> ids(List<VersionManifestVersion> versions) {
+        return versions.stream().map(v -> v.id).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testVersionsAreSortedNewestFirst() {
+        assertEquals(Arrays.asList("1.19.2", "22w24a", "1.19", "1.10", "1.1", "b1.7.3"), ids(INDEX.getVersions()));
+    }
+
+    @Test
+    public void testVersionsAreGroupedByType() {
+        assertEquals(Arrays.asList("1.19.2", "1.19", "1.10", "1.1"),
+                ids(INDEX.getVersions(VersionManifestVersionType.RELEASE)));
+        assertEquals(Arrays.asList("22w24a"), ids(INDEX.getVersions(VersionManifestVersionType.SNAPSHOT)));
+        assertTrue(INDEX.getVersions(VersionManifestVersionType.OLD_ALPHA).isEmpty());
+    }
+
+    @Test
+    public void testReleasesAreGroupedByMajorVersion() {
+        assertEquals("1.19", MinecraftVersionIndex.getMajorVersion("1.19.2"));
+        assertEquals("1.19", MinecraftVersionIndex.getMajorVersion("1.19"));
+
+        assertEquals(Arrays.asList("1.19.2", "1.19"), ids(INDEX.getReleasesForMajorVersion("1.19")));
+        assertEquals(Arrays.asList("1.1"), ids(INDEX.getReleasesForMajorVersion("1.1")));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.modcheck;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.pistacium.modcheck.mod.ModFile;
+import com.pistacium.modcheck.mod.ModInfo;
+import com.pistacium.modcheck.mod.RuleIndicator;
+
+import org.junit.jupiter.api.Test;
+
+public class ModCheckIndexTest {
+    private static final RuleIndicator RULE = new RuleIndicator("linux", "rsg", true);
+
+    private static final ModCheckIndex INDEX = new ModCheckIndex(Arrays.asList(
+            createMod("SpeedRunIGT", "1.16.1", "1.15.2"), createMod("Sodium", "1.16.1"),
+            createMod("SpeedRunIGT", "1.14.4")), RULE);
+
+    private static ModInfo createMod(String name, String... versions) {
+        StringBuilder files = new StringBuilder();
+        for (String version : versions) {
+            if (files.length() != 0) {
+                files.append(',');
+            }
+
+            files.append("{\"version\":\"").append(name).append('-').append(version)
+                    .append("\",\"game_versions\":[\"").append(version).append("\"]}");
+        }
+
+        return ModCheckManager.GSON.fromJson("{\"name\":\"" + name + "\",\"files\":[" + files + "]}", ModInfo.class);
+    }
+
+    @Test
+    public void testGetModByName() {
+        assertSame(INDEX.getMods().get(1), INDEX.getMod("Sodium"));
+        assertNull(INDEX.getMod("Unknown"));
+    }
+
+    @Test
+    public void testFirstModWithNameIsUsed() {
+        assertSame(INDEX.getMods().get(0), INDEX.getMod("SpeedRunIGT"));
+        assertNull(INDEX.getFile("1.14.4", "SpeedRunIGT"));
+    }
+
+    @Test
+    public void testGetFileForVersion() {
+        assertEquals("SpeedRunIGT-1.15.2", INDEX.getFile("1.15.2", "SpeedRunIGT").getVersion());
+        assertEquals("Sodium-1.16.1", INDEX.getFile("1.16.1", "Sodium").getVersion());
+        assertNull(INDEX.getFile("1.15.2", "Sodium"));
+        assertNull(INDEX.getFile("1.16.1", "Unknown"));
+    }
+
+    @Test
+    public void testFilesAreInModOrderAndOnlyWorkedOutOnce() {
+        List<ModFile> files = INDEX.getFiles("1.16.1");
+
+        assertEquals(3, files.size());
+        assertEquals("SpeedRunIGT-1.16.1", files.get(0).getVersion());
+        assertEquals("Sodium-1.16.1", files.get(1).getVersion());
+        assertNull(files.get(2));
+        assertSame(files, INDEX.getFiles("1.16.1"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceLauncher;
+import com.atlauncher.data.minecraft.Arguments;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LaunchPlanTest {
+    private static final Map<String, String> VALUES = new HashMap<String, String>() {
+        {
+            put("natives_directory", "/tmp/natives");
+            put("classpath", "a.jar:b.jar");
+            put("classpath_separator", ":");
+            put("auth_player_name", "Steve");
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testLiteralArgumentIsUnchanged() {
+        assertEquals("-Xss1M", LaunchPlan.ArgumentTemplate.parse("-Xss1M").render(VALUES));
+    }
+
+    @Test
+    public void testPlaceholdersAreReplaced() {
+        assertEquals("-Djava.library.path=/tmp/natives",
+                LaunchPlan.ArgumentTemplate.parse("-Djava.library.path=${natives_directory}").render(VALUES));
+        assertEquals("a.jar:b.jar:x", LaunchPlan.ArgumentTemplate.parse("${classpath}${classpath_separator}x")
+                .render(VALUES));
+        assertEquals("Steve", LaunchPlan.ArgumentTemplate.parse("${auth_player_name}").render(VALUES));
+    }
+
+    @Test
+    public void testUnknownPlaceholdersAreLeftAlone() {
+        assertEquals("${clientid}-${unknown", LaunchPlan.ArgumentTemplate.parse("${clientid}-${unknown")
+                .render(VALUES));
+        assertEquals("${resolution_width}x/tmp/natives",
+                LaunchPlan.ArgumentTemplate.parse("${resolution_width}x${natives_directory}").render(VALUES));
+    }
+
+    @Test
+    public void testRenamedInstanceGetsNewPlan() throws IOException {
+        Path oldRoot = tempDir.resolve("Old");
+        Files.createDirectories(oldRoot.resolve("jarmods"));
+        Files.createFile(oldRoot.resolve("jarmods/jarmod.jar"));
+
+        Instance instance = new Instance(new MinecraftVersion());
+        instance.id = "1.16.1";
+        instance.libraries = new ArrayList<>();
+        instance.arguments = new Arguments();
+        instance.launcher = new InstanceLauncher();
+        instance.ROOT = oldRoot;
+
+        assertTrue(LaunchPlan.get(instance).classpath.contains(oldRoot.toAbsolutePath().toString()));
+
+        // moving the folder keeps the modified times of everything in it, like renaming an instance does
+        Path newRoot = Files.move(oldRoot, tempDir.resolve("New"));
+        instance.ROOT = newRoot;
+
+        String classpath = LaunchPlan.get(instance).classpath;
+        assertTrue(classpath.contains(newRoot.resolve("jarmods/jarmod.jar").toAbsolutePath().toString()));
+        assertFalse(classpath.contains(oldRoot.toAbsolutePath().toString()));
+    }
+}
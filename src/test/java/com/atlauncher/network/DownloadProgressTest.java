@@ -0,0 +1,76 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class DownloadProgressTest {
+    @Test
+    public void testThatBytesFromManyThreadsAreAllCounted() throws InterruptedException {
+        DownloadProgress progress = new DownloadProgress(p -> {
+        });
+        progress.reset(8 * 100_000);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    progress.addDownloaded(1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        progress.stop();
+
+        assertEquals(8 * 100_000, progress.getDownloaded());
+        assertEquals(100.0, progress.getPercent());
+    }
+
+    @Test
+    public void testThatSpeedAndTimeLeftAreWorkedOut() {
+        AtomicInteger updates = new AtomicInteger(0);
+        DownloadProgress progress = new DownloadProgress(p -> updates.incrementAndGet());
+        // not reset, so the ticker isn't started and only the updates here happen
+        progress.addTotal(10 * 1024 * 1024);
+        progress.update(0);
+        int updatesBefore = updates.get();
+
+        progress.addDownloaded(1024 * 1024);
+        progress.update(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(1024 * 1024, progress.getBytesPerSecond(), 0.001);
+        assertEquals(9, progress.getSecondsLeft());
+        assertEquals("1.00 MB / 10.00 MB (1.00 MB/s, 0:09)", progress.getLabel());
+
+        // nothing changed, so the listener isn't called again
+        progress.update(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(updatesBefore + 1, updates.get());
+    }
+}
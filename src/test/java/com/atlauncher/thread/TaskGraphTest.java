@@ -0,0 +1,80 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskGraphTest {
+    @Test
+    public void testTasksRunAfterTheirDependencies() {
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        new TaskGraph("Test").add("a", () -> ran.add("a")).add("b", () -> ran.add("b"), "a")
+                .add("c", () -> ran.add("c"), "a", "b").run();
+
+        assertEquals(3, ran.size());
+        assertTrue(ran.indexOf("a") < ran.indexOf("b"));
+        assertTrue(ran.indexOf("b") < ran.indexOf("c"));
+    }
+
+    @Test
+    public void testIndependentTasksRunAtTheSameTime() {
+        // each task waits for the other to start, so this only finishes if they run at the same time
+        CountDownLatch started = new CountDownLatch(2);
+        List<Boolean> bothStarted = new CopyOnWriteArrayList<>();
+        Runnable task = () -> {
+            started.countDown();
+            try {
+                bothStarted.add(started.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                bothStarted.add(false);
+            }
+        };
+
+        new TaskGraph("Test").add("a", task).add("b", task).run();
+
+        assertEquals(2, bothStarted.size());
+        assertTrue(bothStarted.get(0) && bothStarted.get(1));
+    }
+
+    @Test
+    public void testFailingTaskDoesntStopDependentTasks() {
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        new TaskGraph("Test").add("a", () -> {
+            throw new IllegalStateException("failed");
+        }).add("b", () -> ran.add("b"), "a").run();
+
+        assertEquals(1, ran.size());
+    }
+
+    @Test
+    public void testUnknownDependencyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskGraph("Test").add("a", () -> {
+        }, "b"));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AhoCorasickTest {
+    @Test
+    public void testMatchFindsFirstAndLastOccurrences() {
+        AhoCorasick matcher = new AhoCorasick("he", "she", "his");
+        AhoCorasick.Matches matches = matcher.match("ushers and she");
+
+        assertTrue(matches.contains(0));
+        assertEquals(2, matches.indexOf(0));
+        assertEquals(12, matches.lastIndexOf(0));
+        assertEquals(1, matches.indexOf(1));
+        assertFalse(matches.contains(2));
+    }
+
+    @Test
+    public void testMatchClearsReusedMatches() {
+        AhoCorasick matcher = new AhoCorasick("he", "she");
+        AhoCorasick.Matches matches = matcher.match("she", matcher.newMatches());
+
+        assertSame(matches, matcher.match("the", matches));
+        assertEquals(1, matches.indexOf(0));
+        assertFalse(matches.contains(1));
+    }
+
+    @Test
+    public void testReplaceReturnsSameStringWhenNothingMatches() {
+        String text = "[main/INFO]: Setting user: Player";
+
+        assertSame(text, new AhoCorasick("secret").replace(text, new String[] { "**" }));
+    }
+
+    @Test
+    public void testReplaceReplacesEveryOccurrence() {
+        AhoCorasick censor = new AhoCorasick("Steve", "abc-123");
+
+        assertEquals("**NAME** (**UUID**) joined as **NAME**", censor.replace("Steve (abc-123) joined as Steve",
+                new String[] { "**NAME**", "**UUID**" }));
+    }
+
+    @Test
+    public void testReplacePrefersLongestOverlappingMatch() {
+        AhoCorasick censor = new AhoCorasick("abc", "abc123", "123");
+
+        assertEquals("[long] and [short]", censor.replace("abc123 and abc", new String[] { "[short]", "[long]",
+                "[digits]" }));
+    }
+
+    @Test
+    public void testReplaceIgnoresNonAsciiText() {
+        AhoCorasick censor = new AhoCorasick("Steve");
+
+        assertEquals("\u00e9\u00e9 ** \u00e9", censor.replace("\u00e9\u00e9 Steve \u00e9", new String[] { "**" }));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchiveReaderTest {
+    @TempDir
+    Path tempDir;
+
+    private Path createJar() throws IOException {
+        Path jar = tempDir.resolve("mod.jar");
+
+        try (OutputStream os = Files.newOutputStream(jar); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (int i = 0; i < 100; i++) {
+                zos.putNextEntry(new ZipEntry("com/example/Class" + i + ".class"));
+                zos.write(new byte[1024]);
+                zos.closeEntry();
+            }
+
+            zos.putNextEntry(new ZipEntry("assets/"));
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry("fabric.mod.json"));
+            zos.write("{\"name\":\"Caf\u00e9\"}".getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+
+        return jar;
+    }
+
+    @Test
+    public void testThatEntriesCanBeLookedUp() throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(createJar())) {
+            assertTrue(reader.contains("fabric.mod.json"));
+            assertFalse(reader.contains("mcmod.info"));
+            assertEquals("{\"name\":\"Caf\u00e9\"}", reader.getString("fabric.mod.json"));
+            assertNull(reader.getString("mcmod.info"));
+            assertNull(reader.getBytes("assets/"));
+        }
+    }
+
+    @Test
+    public void testThatMissingEntriesAreLeftOutOfBatchLookups() throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(createJar())) {
+            Map<String, String> contents = reader.getStrings("mcmod.info", "fabric.mod.json");
+
+            assertEquals(1, contents.size());
+            assertEquals("{\"name\":\"Caf\u00e9\"}", contents.get("fabric.mod.json"));
+        }
+    }
+}
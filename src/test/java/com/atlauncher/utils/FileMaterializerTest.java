@@ -0,0 +1,78 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileMaterializerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testThatSharedMaterializeHasSameContents() throws IOException {
+        Path source = Files.write(tempDir.resolve("source"), new byte[] { 1, 2, 3 });
+        Path target = tempDir.resolve("nested/target");
+
+        FileMaterializer.Strategy strategy = FileMaterializer.SHARED.materialize(source, target);
+
+        assertTrue(FileMaterializer.SHARED.getStrategies().contains(strategy));
+        assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testThatPrivateMaterializeDoesntShareChanges() throws IOException {
+        Path source = Files.write(tempDir.resolve("source"), new byte[] { 1, 2, 3 });
+        Path target = tempDir.resolve("target");
+
+        FileMaterializer.PRIVATE.materialize(source, target);
+        Files.write(target, new byte[] { 4, 5, 6 });
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(source));
+    }
+
+    @Test
+    public void testThatSmallFilesAreCopiedRatherThanReflinked() throws IOException {
+        Path source = Files.write(tempDir.resolve("source"), new byte[] { 1, 2, 3 });
+
+        assertEquals(FileMaterializer.Strategy.COPY, FileMaterializer.PRIVATE.materialize(source,
+                tempDir.resolve("target")));
+    }
+
+    @Test
+    public void testThatMaterializeDirectoryKeepsStructure() throws IOException {
+        Path source = tempDir.resolve("source");
+        Files.createDirectories(source.resolve("a/b"));
+        Files.write(source.resolve("a/b/c.txt"), new byte[] { 1 });
+        Files.write(source.resolve("d.txt"), new byte[] { 2 });
+
+        Path target = tempDir.resolve("target");
+
+        assertTrue(FileMaterializer.PRIVATE.materializeDirectory(source, target));
+        assertArrayEquals(new byte[] { 1 }, Files.readAllBytes(target.resolve("a/b/c.txt")));
+        assertArrayEquals(new byte[] { 2 }, Files.readAllBytes(target.resolve("d.txt")));
+    }
+}
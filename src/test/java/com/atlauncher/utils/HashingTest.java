@@ -0,0 +1,65 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.jupiter.api.Test;
+
+import com.sangupta.murmur.Murmur2;
+
+public class HashingTest {
+    private static long expectedMurmur(byte[] bytes) {
+        byte[] stripped = ArrayUtils.removeAllOccurrences(ArrayUtils.removeAllOccurrences(
+                ArrayUtils.removeAllOccurrences(ArrayUtils.removeAllOccurrences(bytes, (byte) 9), (byte) 10),
+                (byte) 13), (byte) 32);
+
+        return Murmur2.hash(stripped, stripped.length, 1L);
+    }
+
+    @Test
+    public void testThatStreamingMurmurMatchesMurmur2() throws IOException {
+        Random random = new Random(1234L);
+
+        // cover all the tail lengths, and sizes larger than the read buffer
+        for (int size : new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 1000, 65535, 65536, 65537, 200003 }) {
+            byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+
+            // sprinkle in the whitespace that gets stripped
+            for (int i = 0; i < size; i += 7) {
+                bytes[i] = new byte[] { 9, 10, 13, 32 }[i % 4];
+            }
+
+            Path file = Files.createTempFile("murmur", ".jar");
+            try {
+                Files.write(file, bytes);
+
+                assertEquals(expectedMurmur(bytes), Hashing.murmur(file), "size " + size);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
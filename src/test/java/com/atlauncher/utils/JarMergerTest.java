@@ -0,0 +1,118 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JarMergerTest {
+    @TempDir
+    Path tempDir;
+
+    private File createJar(String name, String... entries) throws IOException {
+        Path jar = tempDir.resolve(name);
+
+        try (OutputStream os = Files.newOutputStream(jar); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zos.putNextEntry(new ZipEntry(entries[i]));
+                zos.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+
+        return jar.toFile();
+    }
+
+    private String readEntry(ZipFile zipFile, String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            byte[] bytes = new byte[(int) entry.getSize()];
+            int read = 0;
+            while (read < bytes.length) {
+                read += is.read(bytes, read, bytes.length - read);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testThatFirstJarWinsAndMetaInfIsStripped() throws IOException {
+        File modpack = createJar("modpack.jar", "a.class", "modded", "META-INF/MANIFEST.MF", "modpack");
+        File minecraft = createJar("minecraft.jar", "a.class", "vanilla", "b.class", "untouched",
+                "META-INF/MOJANG.SF", "signature");
+        File output = tempDir.resolve("output.jar").toFile();
+
+        JarMerger.merge(output, null, modpack, minecraft);
+
+        try (ZipFile zipFile = new ZipFile(output)) {
+            assertEquals("modded", readEntry(zipFile, "a.class"));
+            assertEquals("untouched", readEntry(zipFile, "b.class"));
+            assertNull(zipFile.getEntry("META-INF/MANIFEST.MF"));
+            assertNull(zipFile.getEntry("META-INF/MOJANG.SF"));
+            assertEquals(2, zipFile.size());
+        }
+    }
+
+    @Test
+    public void testThatKeyIsStoredInJar() throws IOException {
+        File minecraft = createJar("minecraft.jar", "a.class", "vanilla");
+        File output = tempDir.resolve("output.jar").toFile();
+
+        assertNull(JarMerger.getKey(output));
+
+        String key = JarMerger.createKey(minecraft);
+        JarMerger.merge(output, key, minecraft);
+
+        assertEquals(key, JarMerger.getKey(output));
+    }
+
+    @Test
+    public void testThatEntriesAreCopiedWithoutRecompressing() throws IOException {
+        File minecraft = createJar("minecraft.jar", "a.class", "vanilla vanilla vanilla vanilla");
+        File output = tempDir.resolve("output.jar").toFile();
+
+        JarMerger.merge(output, null, minecraft);
+
+        try (ZipFile input = new ZipFile(minecraft); ZipFile merged = new ZipFile(output)) {
+            ZipEntry inputEntry = input.getEntry("a.class");
+            ZipEntry mergedEntry = merged.getEntry("a.class");
+
+            assertEquals(inputEntry.getCompressedSize(), mergedEntry.getCompressedSize());
+            assertEquals(inputEntry.getCrc(), mergedEntry.getCrc());
+        }
+    }
+}
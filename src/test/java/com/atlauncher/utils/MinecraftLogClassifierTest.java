@@ -0,0 +1,147 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.atlauncher.evnt.LogEvent.LogType;
+
+public class MinecraftLogClassifierTest {
+    private static final String[] LINES = { "[12:00:00] [main/INFO]: Loading Minecraft",
+            "[12:00:00] [Client thread/WARN]: Missing sound", "[12:00:00] [Server thread/ERROR]: Oh no",
+            "2013-01-01 12:00:00 [INFO] [STDERR] java.lang.NullPointerException",
+            "2013-01-01 12:00:00 [INFO] CONFLICT @ 123", "CONFLICT before 2013-01-01 12:00:00 [INFO] fine",
+            "2013-01-01 12:00:00 [INFO] overwriting existing item at id 5", "2013-01-01 12:00:00 [WARNING] careful",
+            "WARNING: something", "Jan 01, 2013 INFO: something", "java.lang.RuntimeException: broken",
+            "2013-01-01 12:00:00 [SEVERE] broken", "[Sound Library Loader/ERROR]: no sound",
+            "[MCO Availability Checker #1/INFO]: checking", "[main/INFO] [STDERR]: both", "plain text",
+            "ünïcödé [main/WARN]: after non ascii", "", "[main/INF", "[main/DEBUG]: debug" };
+
+    private static final Pattern LOG4J_THREAD_REGEX = Pattern.compile("<log4j:Event.*?thread=\"(.*?)\".*?>");
+    private static final Pattern LOG4J_LEVEL_REGEX = Pattern.compile("<log4j:Event.*?level=\"(.*?)\".*?>");
+    private static final Pattern LOG4J_MESSAGE_REGEX = Pattern
+            .compile("<log4j:Message><!\\[CDATA\\[(.*?)\\]\\]></log4j:Message>");
+
+    /**
+     * How lines were classified before, with one scan per marker.
+     */
+    private static Object[] legacyClassify(String text) {
+        String[] markers = { "[INFO] [STDERR]", "[INFO]", "[WARNING]", "WARNING:", "INFO:", "Exception", "[SEVERE]",
+                "[Sound Library Loader/ERROR]", "[Sound Library Loader/WARN]", "[Sound Library Loader/INFO]",
+                "[MCO Availability Checker #1/ERROR]", "[MCO Availability Checker #1/WARN]",
+                "[MCO Availability Checker #1/INFO]", "[Client thread/ERROR]", "[Client thread/WARN]",
+                "[Client thread/INFO]", "[Server thread/ERROR]", "[Server thread/WARN]", "[Server thread/INFO]",
+                "[main/ERROR]", "[main/WARN]", "[main/INFO]" };
+        LogType[] types = { LogType.WARN, LogType.INFO, LogType.WARN, LogType.WARN, LogType.INFO, LogType.ERROR,
+                LogType.ERROR, LogType.ERROR, LogType.WARN, LogType.INFO, LogType.ERROR, LogType.WARN, LogType.INFO,
+                LogType.ERROR, LogType.WARN, LogType.INFO, LogType.ERROR, LogType.WARN, LogType.INFO, LogType.ERROR,
+                LogType.WARN, LogType.INFO };
+
+        for (int i = 0; i < markers.length; i++) {
+            if (text.contains(markers[i])) {
+                if (markers[i].equals("Exception")) {
+                    return new Object[] { types[i], text };
+                }
+
+                String message = text.substring(text.indexOf(markers[i]));
+                LogType type = types[i];
+
+                if (markers[i].equals("[INFO]")) {
+                    if (message.contains("CONFLICT")) {
+                        type = LogType.ERROR;
+                    } else if (message.contains("overwriting existing item")) {
+                        type = LogType.WARN;
+                    }
+                }
+
+                return new Object[] { type, message };
+            }
+        }
+
+        return new Object[] { LogType.INFO, text };
+    }
+
+    private static Object[] legacyClassifyLog4jEvent(String string) {
+        String thread = "";
+        String message = "";
+        String levelString = "";
+        LogType level = LogType.INFO;
+
+        Matcher threadMatcher = LOG4J_THREAD_REGEX.matcher(string);
+        if (threadMatcher.find()) {
+            thread = threadMatcher.group(1);
+        }
+
+        Matcher levelMatcher = LOG4J_LEVEL_REGEX.matcher(string);
+        if (levelMatcher.find()) {
+            levelString = levelMatcher.group(1);
+
+            if (levelString.equalsIgnoreCase("ERROR") || levelString.equalsIgnoreCase("SEVERE")) {
+                level = LogType.ERROR;
+            } else if (levelString.equalsIgnoreCase("WARN")) {
+                level = LogType.WARN;
+            }
+        }
+
+        Matcher messageMatcher = LOG4J_MESSAGE_REGEX.matcher(string);
+        if (messageMatcher.find()) {
+            message = messageMatcher.group(1);
+        }
+
+        return new Object[] { level, String.format("[%s/%s] %s", thread, levelString, message) };
+    }
+
+    private static String log4jEvent(String thread, String level, String message) {
+        return "<log4j:Event logger=\"net.minecraft.client.Minecraft\" timestamp=\"1672531200000\" level=\"" + level
+                + "\" thread=\"" + thread + "\">  <log4j:Message><![CDATA[" + message
+                + "]]></log4j:Message></log4j:Event>";
+    }
+
+    @Test
+    public void testThatClassifyMatchesChainedChecks() {
+        for (String line : LINES) {
+            MinecraftLogClassifier.Classification classification = MinecraftLogClassifier.classify(line);
+            Object[] expected = legacyClassify(line);
+
+            assertEquals(expected[0], classification.type, line);
+            assertEquals(expected[1], classification.message, line);
+        }
+    }
+
+    @Test
+    public void testThatLog4jEventsMatchRegexes() {
+        String[] events = { log4jEvent("Render thread", "INFO", "Setting user: Player"),
+                log4jEvent("main", "WARN", "Something odd"), log4jEvent("Worker-1", "error", "Broken"),
+                log4jEvent("Server thread", "SEVERE", ""), log4jEvent("main", "DEBUG", "thread=\"fake\""),
+                "<log4j:Event logger=\"a\"><log4j:Message><![CDATA[no level]]></log4j:Message></log4j:Event>",
+                "<log4j:Event level=\"INFO\" thread=\"main\"></log4j:Event>" };
+
+        for (String event : events) {
+            MinecraftLogClassifier.Classification classification = MinecraftLogClassifier.classifyLog4jEvent(event);
+            Object[] expected = legacyClassifyLog4jEvent(event);
+
+            assertEquals(expected[0], classification.type, event);
+            assertEquals(expected[1], classification.message, event);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ModFileTrackerTest {
+    // watch events are delivered asynchronously, so give them a while to come through
+    private static final long TIMEOUT_MS = 10000L;
+
+    @TempDir
+    Path tempDir;
+
+    private Map<String, Set<String>> waitFor(Predicate<Map<String, Set<String>>> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        Map<String, Set<String>> files = ModFileTracker.getFiles(tempDir);
+
+        while (!condition.test(files) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            files = ModFileTracker.getFiles(tempDir);
+        }
+
+        return files;
+    }
+
+    @Test
+    public void testListsExistingFiles() throws IOException {
+        Files.createDirectories(tempDir.resolve("mods/subfolder"));
+        Files.createFile(tempDir.resolve("mods/a.jar"));
+        Files.createDirectories(tempDir.resolve("resourcepacks"));
+        Files.createFile(tempDir.resolve("resourcepacks/pack.zip"));
+
+        Map<String, Set<String>> files = ModFileTracker.getFiles(tempDir);
+
+        assertEquals(Collections.singleton("a.jar"), files.get("mods"));
+        assertEquals(Collections.singleton("pack.zip"), files.get("resourcepacks"));
+        assertFalse(files.containsKey("disabledmods"));
+
+        ModFileTracker.stopTracking(tempDir);
+    }
+
+    @Test
+    public void testPicksUpChanges() throws IOException, InterruptedException {
+        Files.createDirectories(tempDir.resolve("mods"));
+        Files.createFile(tempDir.resolve("mods/a.jar"));
+        Files.createFile(tempDir.resolve("mods/b.jar"));
+        ModFileTracker.getFiles(tempDir);
+
+        Files.createFile(tempDir.resolve("mods/c.jar"));
+        Files.delete(tempDir.resolve("mods/a.jar"));
+        Files.move(tempDir.resolve("mods/b.jar"), tempDir.resolve("mods/d.jar"));
+
+        Set<String> expected = new HashSet<>();
+        expected.add("c.jar");
+        expected.add("d.jar");
+
+        Map<String, Set<String>> files = waitFor(f -> expected.equals(f.get("mods")));
+        assertEquals(expected, files.get("mods"));
+
+        ModFileTracker.stopTracking(tempDir);
+    }
+
+    @Test
+    public void testPicksUpNewFolders() throws IOException, InterruptedException {
+        assertTrue(ModFileTracker.getFiles(tempDir).isEmpty());
+
+        Files.createDirectories(tempDir.resolve("disabledmods"));
+        Files.createFile(tempDir.resolve("disabledmods/a.jar"));
+
+        Map<String, Set<String>> files = waitFor(f -> f.containsKey("disabledmods"));
+        assertEquals(Collections.singleton("a.jar"), files.get("disabledmods"));
+
+        ModFileTracker.stopTracking(tempDir);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ModStoreTest {
+    private static final String SHA1 = "0123456789abcdef0123456789abcdef01234567";
+    private static final byte[] CONTENTS = new byte[] { 1, 2, 3 };
+
+    @TempDir
+    Path tempDir;
+
+    private ModStore createStore() {
+        Path directory = tempDir.resolve("modstore");
+        return new ModStore(directory, directory.resolve("index.json"), tempDir);
+    }
+
+    private Path createSource() throws IOException {
+        Files.createDirectories(tempDir.resolve("downloads"));
+        return Files.write(tempDir.resolve("downloads/mod.jar"), CONTENTS);
+    }
+
+    private static void change(Path file) throws IOException {
+        Files.write(file, new byte[] { 4, 5, 6, 7 });
+        // make sure it doesn't look unchanged on filesystems with coarse modified times
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+    }
+
+    @Test
+    public void testInstalledFilesDontShareChanges() throws IOException {
+        ModStore store = createStore();
+        Path source = createSource();
+        Path first = tempDir.resolve("instances/first/mods/mod.jar");
+        Path second = tempDir.resolve("instances/second/mods/mod.jar");
+
+        store.install(source, SHA1, first);
+        store.install(source, SHA1, second);
+        change(first);
+
+        assertArrayEquals(CONTENTS, Files.readAllBytes(second));
+        assertArrayEquals(CONTENTS, Files.readAllBytes(store.getBlobPath(SHA1)));
+    }
+
+    @Test
+    public void testChangedStoredFileIsMadeAgain() throws IOException {
+        ModStore store = createStore();
+        Path source = createSource();
+
+        store.install(source, SHA1, tempDir.resolve("instances/first/mods/mod.jar"));
+        change(store.getBlobPath(SHA1));
+
+        Path second = tempDir.resolve("instances/second/mods/mod.jar");
+        store.install(source, SHA1, second);
+
+        assertArrayEquals(CONTENTS, Files.readAllBytes(second));
+        assertArrayEquals(CONTENTS, Files.readAllBytes(store.getBlobPath(SHA1)));
+    }
+
+    @Test
+    public void testCleanKeepsFilesInUse() throws IOException {
+        ModStore store = createStore();
+        store.install(createSource(), SHA1, tempDir.resolve("instances/first/mods/mod.jar"));
+
+        assertEquals(0, store.clean());
+        assertTrue(Files.exists(store.getBlobPath(SHA1)));
+    }
+
+    @Test
+    public void testCleanRemovesStaleReferences() throws IOException {
+        ModStore store = createStore();
+        Path first = tempDir.resolve("instances/first/mods/mod.jar");
+        Path second = tempDir.resolve("instances/second/mods/mod.jar");
+
+        store.install(createSource(), SHA1, first);
+        store.install(createSource(), SHA1, second);
+
+        // one path changed and the other was deleted, so neither uses the stored file anymore
+        change(first);
+        Files.delete(second);
+
+        assertEquals(1, store.clean());
+        assertFalse(Files.exists(store.getBlobPath(SHA1)));
+        assertArrayEquals(new byte[] { 4, 5, 6, 7 }, Files.readAllBytes(first));
+    }
+
+    @Test
+    public void testCleanRemovesLeftoverFiles() throws IOException {
+        ModStore store = createStore();
+        store.install(createSource(), SHA1, tempDir.resolve("instances/first/mods/mod.jar"));
+
+        Path leftover = Files.write(store.getBlobPath(SHA1).resolveSibling(SHA1 + ".tmp"), CONTENTS);
+        Path unknown = store.getBlobPath("ff" + SHA1.substring(2));
+        Files.createDirectories(unknown.getParent());
+        Files.write(unknown, CONTENTS);
+
+        assertEquals(2, store.clean());
+        assertFalse(Files.exists(leftover));
+        assertFalse(Files.exists(unknown));
+        assertTrue(Files.exists(store.getBlobPath(SHA1)));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MCSR Ranked Launcher - https://github.com/RedLime/MCSR-Ranked-Launcher
+ * Copyright (C) 2023 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.atlauncher.data.DisableableMod;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.ModUpdatePlan;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.data.modrinth.ModrinthFile;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+
+import org.junit.jupiter.api.Test;
+
+public class ModUpdateResolverTest {
+    private static ModrinthVersion createVersion(String id, String datePublished, String filename, String sha1) {
+        ModrinthFile file = new ModrinthFile();
+        file.filename = filename;
+        file.url = "https://cdn.modrinth.com/" + filename;
+        file.primary = true;
+        file.hashes = Collections.singletonMap("sha1", sha1);
+
+        ModrinthVersion version = new ModrinthVersion();
+        version.id = id;
+        version.datePublished = datePublished;
+        version.files = new ArrayList<>(Collections.singletonList(file));
+        return version;
+    }
+
+    private static DisableableMod createMod(ModrinthVersion version) {
+        DisableableMod mod = new DisableableMod();
+        mod.file = version.files.get(0).filename;
+        mod.modrinthVersion = version;
+        return mod;
+    }
+
+    private static Instance createInstance() {
+        return new Instance(new MinecraftVersion());
+    }
+
+    @Test
+    public void testNewerVersionIsAnUpdateForEveryInstance() {
+        DisableableMod first = createMod(createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        DisableableMod second = createMod(createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        Instance firstInstance = createInstance();
+        Instance secondInstance = createInstance();
+        ModrinthVersion latest = createVersion("b", "2023-02-01T00:00:00Z", "mod-2.jar", "2222");
+
+        List<ModUpdatePlan.Update> updates = ModUpdateResolver.getModrinthUpdates(
+                Collections.singletonMap("1111",
+                        Arrays.asList(new Pair<>(firstInstance, first), new Pair<>(secondInstance, second))),
+                Collections.singletonMap("1111", latest));
+
+        assertEquals(2, updates.size());
+        assertSame(firstInstance, updates.get(0).instance);
+        assertSame(first, updates.get(0).mod);
+        assertSame(secondInstance, updates.get(1).instance);
+        assertSame(latest, updates.get(1).modrinthVersion);
+    }
+
+    @Test
+    public void testSameOrOlderVersionIsNotAnUpdate() {
+        DisableableMod mod = createMod(createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        DisableableMod otherMod = createMod(createVersion("c", "2023-03-01T00:00:00Z", "other-3.jar", "3333"));
+
+        Map<String, List<Pair<Instance, DisableableMod>>> modsByHash = new HashMap<>();
+        modsByHash.put("1111", Collections.singletonList(new Pair<>(createInstance(), mod)));
+        modsByHash.put("3333", Collections.singletonList(new Pair<>(createInstance(), otherMod)));
+
+        Map<String, ModrinthVersion> latestVersions = new HashMap<>();
+        latestVersions.put("1111", createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        latestVersions.put("3333", createVersion("d", "2023-02-01T00:00:00Z", "other-2.jar", "4444"));
+
+        assertTrue(ModUpdateResolver.getModrinthUpdates(modsByHash, latestVersions).isEmpty());
+    }
+
+    @Test
+    public void testModsWithoutALatestVersionAreSkipped() {
+        DisableableMod mod = createMod(createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        ModrinthVersion latestWithoutFiles = createVersion("b", "2023-02-01T00:00:00Z", "mod-2.jar", "2222");
+        latestWithoutFiles.files.clear();
+
+        Map<String, List<Pair<Instance, DisableableMod>>> modsByHash = new HashMap<>();
+        modsByHash.put("1111", Collections.singletonList(new Pair<>(createInstance(), mod)));
+        modsByHash.put("5555", Collections.singletonList(new Pair<>(createInstance(), mod)));
+
+        assertTrue(ModUpdateResolver
+                .getModrinthUpdates(modsByHash, Collections.singletonMap("1111", latestWithoutFiles)).isEmpty());
+    }
+
+    @Test
+    public void testSha1IsTakenFromInstalledVersion() {
+        DisableableMod mod = createMod(createVersion("a", "2023-01-01T00:00:00Z", "mod-1.jar", "1111"));
+        mod.modrinthVersion.files.add(0, createVersion("a", "2023-01-01T00:00:00Z", "mod-1-sources.jar", "6666")
+                .files.get(0));
+
+        assertEquals("1111", ModUpdateResolver.getSha1(createInstance(), mod));
+    }
+}